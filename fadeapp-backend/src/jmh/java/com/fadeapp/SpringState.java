@@ -0,0 +1,55 @@
+package com.fadeapp;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Contexto de Spring compartido por los benchmarks que pasan por servicios y repositorios:
+ * perfil "test" (H2 en memoria, sin MySQL), Tomcat en un puerto libre (SecurityConfig
+ * necesita el contexto web) y el log en WARN para que no se mezcle con las mediciones.
+ */
+@State(Scope.Benchmark)
+public class SpringState {
+
+    private ConfigurableApplicationContext context;
+    private TestData data;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(FadeappBackendApplication.class)
+                .profiles("test")
+                .web(WebApplicationType.SERVLET)
+                .properties(
+                        "server.port=0",
+                        "management.server.port=0",
+                        "logging.level.root=WARN",
+                        "logging.level.com.fadeapp=WARN",
+                        // H2 se cierra al salir de la JVM antes que el contexto; el aviso no aporta
+                        "logging.level.org.springframework.beans.factory.support.DisposableBeanAdapter=ERROR",
+                        "spring.jpa.properties.hibernate.generate_statistics=false")
+                .run();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    // 🔹 Datos de prueba compartidos con las pruebas (ver TestData)
+    public TestData data() {
+        if (data == null) {
+            data = context.getAutowireCapableBeanFactory().createBean(TestData.class);
+        }
+        return data;
+    }
+}
@@ -0,0 +1,154 @@
+package com.fadeapp.dto;
+
+import com.fadeapp.model.Appointment;
+import com.fadeapp.model.Barber;
+import com.fadeapp.model.Barbershop;
+import com.fadeapp.model.Client;
+import com.fadeapp.model.EntityService;
+import com.fadeapp.model.Schedule;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialización JSON de una barbería y de sus citas: el grafo de entidades completo
+ * (barberos con horarios y citas, servicios) frente a los DTO que devuelven los endpoints.
+ * No necesita base de datos: el grafo se arma en memoria.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JsonSerializationBenchmark {
+
+    private static final int SERVICES = 10;
+    private static final int SCHEDULES_PER_BARBER = 6;
+
+    @Param({"5", "20"})
+    public int barbers;
+
+    @Param({"20"})
+    public int appointmentsPerBarber;
+
+    // Igual que el ObjectMapper de Spring Boot: fechas ISO en lugar de números
+    private final ObjectMapper mapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private Barbershop barbershop;
+    private List<Appointment> appointments;
+    private BarbershopDetailDto detail;
+    private List<AppointmentDto> appointmentDtos;
+
+    @Setup
+    public void setUp() {
+        barbershop = new Barbershop(1L, "Fade Central", "Calle 10 # 5-20", "Bogotá", "shop@fadeapp.test",
+                "secret", LocalTime.of(8, 0), LocalTime.of(20, 0), null, 4.65, -74.05, true, "BARBERSHOP", 0,
+                new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+        Client client = new Client(1L, "Ana", "Gómez", "ana@fadeapp.test", "secret", "3001234567", "Bogotá",
+                true, "CLIENT", new ArrayList<>());
+
+        for (long s = 1; s <= SERVICES; s++) {
+            barbershop.getServices().add(new EntityService(s, "Servicio " + s, 25000.0, 30, true, 0, barbershop));
+        }
+
+        appointments = new ArrayList<>();
+        LocalDateTime start = LocalDate.now().plusDays(1).atTime(8, 0);
+        long appointmentId = 1;
+        for (long b = 1; b <= barbers; b++) {
+            Barber barber = new Barber();
+            barber.setId(b);
+            barber.setName("Barbero " + b);
+            barber.setEmail("barber" + b + "@fadeapp.test");
+            barber.setBarbershop(barbershop);
+            barber.setSchedules(new ArrayList<>());
+            barber.setAppointments(new ArrayList<>());
+            for (int d = 0; d < SCHEDULES_PER_BARBER; d++) {
+                Schedule schedule = new Schedule();
+                schedule.setId(b * 100 + d);
+                schedule.setDay(LocalDate.now().plusDays(d).getDayOfWeek().name());
+                schedule.setStartTime(LocalTime.of(8, 0));
+                schedule.setEndTime(LocalTime.of(18, 0));
+                schedule.setBarber(barber);
+                barber.getSchedules().add(schedule);
+            }
+            for (int a = 0; a < appointmentsPerBarber; a++) {
+                EntityService service = barbershop.getServices().get(a % SERVICES);
+                Appointment appointment = new Appointment(appointmentId++, start.plusMinutes(30L * a),
+                        start.plusMinutes(30L * a + 30), client, barbershop, service, barber, "PENDING");
+                barber.getAppointments().add(appointment);
+                barbershop.getAppointments().add(appointment);
+                appointments.add(appointment);
+            }
+            barbershop.getBarbers().add(barber);
+        }
+
+        detail = new BarbershopDetailDto(toDto(barbershop),
+                barbershop.getServices().stream().map(JsonSerializationBenchmark::toDto).toList(),
+                barbershop.getBarbers().stream().map(JsonSerializationBenchmark::toDto).toList());
+        appointmentDtos = appointments.stream().map(JsonSerializationBenchmark::toDto).toList();
+    }
+
+    // 🔹 Barbería como entidad: arrastra barberos, sus horarios y todas las citas
+    @Benchmark
+    public byte[] barbershopEntityGraph() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(barbershop);
+    }
+
+    // 🔹 Barbería como la devuelve GET /api/barbershops/{id}
+    @Benchmark
+    public byte[] barbershopDetailDto() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(detail);
+    }
+
+    @Benchmark
+    public byte[] appointmentEntities() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(appointments);
+    }
+
+    @Benchmark
+    public byte[] appointmentDtos() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(appointmentDtos);
+    }
+
+    private static BarbershopDto toDto(Barbershop shop) {
+        return new BarbershopDto(shop.getId(), shop.getName(), shop.getAddress(), shop.getCity(), shop.getEmail(),
+                shop.getOpeningTime(), shop.getClosingTime(), shop.getImageUrl(), shop.getLatitude(),
+                shop.getLongitude(), shop.isStatus(), shop.getVersion());
+    }
+
+    private static ServiceDto toDto(EntityService service) {
+        return new ServiceDto(service.getId(), service.getName(), service.getPrice(), service.getDuration(),
+                service.isStatus(), service.getVersion());
+    }
+
+    private static BarberDto toDto(Barber barber) {
+        return new BarberDto(barber.getId(), barber.getName(), barber.getEmail(), barber.getImageUrl(),
+                barber.getSpecialty(), barber.isStatus(), barber.getBarbershop().getId(), barber.getVersion());
+    }
+
+    private static AppointmentDto toDto(Appointment appointment) {
+        Client client = appointment.getClient();
+        return new AppointmentDto(appointment.getId(), appointment.getDate(), appointment.getEndDate(),
+                appointment.getStatus(),
+                new AppointmentDto.Ref(client.getId(), client.getFirstName() + " " + client.getLastName()),
+                new AppointmentDto.Ref(appointment.getBarber().getId(), appointment.getBarber().getName()),
+                new AppointmentDto.Ref(appointment.getBarbershop().getId(), appointment.getBarbershop().getName()),
+                toDto(appointment.getService()));
+    }
+}
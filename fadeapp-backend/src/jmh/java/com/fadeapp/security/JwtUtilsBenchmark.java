@@ -0,0 +1,80 @@
+package com.fadeapp.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de autenticar una petición con JWT: el flujo anterior (tres análisis completos
+ * reconstruyendo la clave y el parser) frente a la verificación única con y sin caché.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtUtilsBenchmark {
+
+    private static final String SECRET_KEY = "ZmFkZWFwcF9zZWNyZXRfa2V5XzIwMjVfZmFkZWFwcF9zZWN1cmU=";
+
+    private JwtUtils jwtUtils;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtils = new JwtUtils();
+        token = jwtUtils.generateToken("cliente@fadeapp.com", "CLIENT");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtils.generateToken("cliente@fadeapp.com", "CLIENT");
+    }
+
+    // 🔹 Antes: extractEmail en el filtro + extractEmail y extractExpiration en isTokenValid
+    @Benchmark
+    public boolean legacyTriplePass() {
+        String email = legacyClaims(token).getSubject();
+        String validated = legacyClaims(token).getSubject();
+        Date expiration = legacyClaims(token).getExpiration();
+        return validated.equals(email) && !expiration.before(new Date());
+    }
+
+    // 🔹 Ahora, primera petición con el token: una verificación con parser precompilado
+    @Benchmark
+    public VerifiedToken verifyUncached() {
+        return jwtUtils.parseAndVerify(token);
+    }
+
+    // 🔹 Ahora, peticiones siguientes con el mismo token: acierto en la LRU
+    @Benchmark
+    public VerifiedToken verifyCached() {
+        return jwtUtils.verify(token);
+    }
+
+    // 🔹 Validación del filtro: token vigente y del mismo usuario
+    @Benchmark
+    public boolean isTokenValid() {
+        return jwtUtils.isTokenValid(token, "cliente@fadeapp.com");
+    }
+
+    private static Claims legacyClaims(String token) {
+        byte[] keyBytes = Decoders.BASE64.decode(SECRET_KEY);
+        Key key = Keys.hmacShaKeyFor(keyBytes);
+        return Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
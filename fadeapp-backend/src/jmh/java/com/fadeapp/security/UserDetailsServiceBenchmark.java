@@ -0,0 +1,53 @@
+package com.fadeapp.security;
+
+import com.fadeapp.SpringState;
+import com.fadeapp.model.Client;
+import com.fadeapp.service.AccountService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolver el usuario de una petición autenticada: acierto en PrincipalCache
+ * frente a la consulta por correo en la tabla de cuentas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UserDetailsServiceBenchmark {
+
+    private UserDetailsServiceImpl userDetailsService;
+    private PrincipalCache principalCache;
+    private String email;
+
+    @Setup(Level.Trial)
+    public void setUp(SpringState spring) {
+        userDetailsService = spring.bean(UserDetailsServiceImpl.class);
+        principalCache = spring.bean(PrincipalCache.class);
+
+        Client client = spring.data().seedClient();
+        spring.bean(AccountService.class).syncClient(client);
+        email = client.getEmail();
+    }
+
+    // 🔹 Peticiones siguientes con el mismo usuario
+    @Benchmark
+    public UserDetails loadCached() {
+        return userDetailsService.loadUserByUsername(email);
+    }
+
+    // 🔹 Primera petición (o tras invalidar la cuenta): una consulta indexada
+    @Benchmark
+    public UserDetails loadFromDatabase() {
+        principalCache.evict(email);
+        return userDetailsService.loadUserByUsername(email);
+    }
+}
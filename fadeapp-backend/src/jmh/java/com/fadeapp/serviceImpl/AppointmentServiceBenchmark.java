@@ -0,0 +1,105 @@
+package com.fadeapp.serviceImpl;
+
+import com.fadeapp.SpringState;
+import com.fadeapp.model.Appointment;
+import com.fadeapp.model.Barber;
+import com.fadeapp.model.Barbershop;
+import com.fadeapp.model.Client;
+import com.fadeapp.model.EntityService;
+import com.fadeapp.service.AppointmentService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reserva de citas con AppointmentServiceImpl.createAppointment: una reserva que choca con
+ * otra (todas las validaciones y el rechazo) y una reserva válida seguida de su borrado,
+ * para que la base de datos no crezca entre iteraciones.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AppointmentServiceBenchmark {
+
+    // Horario de la barbería sembrada: 8:00 a 20:00, citas de 30 minutos
+    private static final int SLOTS_PER_DAY = 24;
+
+    private AppointmentService appointmentService;
+    private Long clientId;
+    private Long barberId;
+    private Long barbershopId;
+    private Long serviceId;
+    private LocalDateTime booked;
+    private LocalDate firstFreeDay;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp(SpringState spring) {
+        appointmentService = spring.bean(AppointmentService.class);
+
+        Barbershop shop = spring.data().seedBarbershop();
+        Barber barber = spring.data().seedBarber(shop);
+        EntityService service = spring.data().seedService(shop);
+        Client client = spring.data().seedClient();
+        clientId = client.getId();
+        barberId = barber.getId();
+        barbershopId = shop.getId();
+        serviceId = service.getId();
+
+        booked = LocalDate.now().plusDays(1).atTime(10, 0);
+        appointmentService.createAppointment(request(booked));
+        firstFreeDay = LocalDate.now().plusDays(2);
+    }
+
+    // 🔹 Validación completa hasta el cruce con la cita existente (la transacción se revierte)
+    @Benchmark
+    public String createRejectedByConflict() {
+        try {
+            appointmentService.createAppointment(request(booked.plusMinutes(15)));
+        } catch (RuntimeException e) {
+            return e.getMessage();
+        }
+        throw new IllegalStateException("La cita debía rechazarse");
+    }
+
+    // 🔹 Camino de escritura: reservar un turno libre y borrarlo. Cada iteración usa un turno
+    // distinto para no depender de que el mapa de disponibilidad ya haya liberado el anterior
+    @Benchmark
+    public Long createAndDelete() {
+        int slot = next++;
+        LocalDateTime start = firstFreeDay.plusDays(slot / SLOTS_PER_DAY)
+                .atTime(8, 0)
+                .plusMinutes(30L * (slot % SLOTS_PER_DAY));
+        Appointment created = appointmentService.createAppointment(request(start));
+        appointmentService.deleteAppointment(created.getId());
+        return created.getId();
+    }
+
+    private Appointment request(LocalDateTime date) {
+        Client client = new Client();
+        client.setId(clientId);
+        Barber barber = new Barber();
+        barber.setId(barberId);
+        Barbershop barbershop = new Barbershop();
+        barbershop.setId(barbershopId);
+        EntityService service = new EntityService();
+        service.setId(serviceId);
+
+        Appointment appointment = new Appointment();
+        appointment.setDate(date);
+        appointment.setClient(client);
+        appointment.setBarber(barber);
+        appointment.setBarbershop(barbershop);
+        appointment.setService(service);
+        return appointment;
+    }
+}
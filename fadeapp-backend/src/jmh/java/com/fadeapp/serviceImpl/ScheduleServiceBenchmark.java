@@ -0,0 +1,100 @@
+package com.fadeapp.serviceImpl;
+
+import com.fadeapp.SpringState;
+import com.fadeapp.dto.ScheduleDto;
+import com.fadeapp.model.Barber;
+import com.fadeapp.model.Barbershop;
+import com.fadeapp.model.Schedule;
+import com.fadeapp.model.ScheduleDay;
+import com.fadeapp.repository.ScheduleRepository;
+import com.fadeapp.service.ScheduleService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validación de superposición al crear un horario para un barbero que ya tiene
+ * "schedules" horarios: el camino completo de ScheduleServiceImpl.createSchedule
+ * (rechazado, sin escribir nada) y solo el índice de intervalos en memoria.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ScheduleServiceBenchmark {
+
+    private static final LocalTime START = LocalTime.of(9, 0);
+    private static final LocalTime END = LocalTime.of(18, 0);
+
+    @Param({"10", "100"})
+    public int schedules;
+
+    private ScheduleService scheduleService;
+    private Barber barber;
+    private List<ScheduleDto> existing;
+    private String firstDay;
+
+    @Setup(Level.Trial)
+    public void setUp(SpringState spring) {
+        scheduleService = spring.bean(ScheduleService.class);
+        ScheduleRepository scheduleRepository = spring.bean(ScheduleRepository.class);
+
+        Barbershop shop = spring.data().seedBarbershop();
+        barber = spring.data().seedBarber(shop);
+
+        // Un horario por fecha, de 9:00 a 18:00
+        List<Schedule> seeded = new ArrayList<>();
+        LocalDate date = LocalDate.now().plusDays(1);
+        firstDay = date.toString();
+        for (int i = 0; i < schedules; i++) {
+            Schedule schedule = new Schedule();
+            schedule.setBarber(barber);
+            schedule.setDay(date.plusDays(i).toString());
+            schedule.setStartTime(START);
+            schedule.setEndTime(END);
+            seeded.add(schedule);
+        }
+        scheduleRepository.saveAll(seeded);
+        existing = scheduleRepository.findDtosByBarberId(barber.getId());
+    }
+
+    // 🔹 Servicio completo: barbero, horarios existentes, índice y rechazo (la transacción se revierte)
+    @Benchmark
+    public String createScheduleRejected() {
+        Schedule candidate = new Schedule();
+        candidate.setBarber(reference(barber.getId()));
+        candidate.setDay(firstDay);
+        candidate.setStartTime(LocalTime.of(10, 0));
+        candidate.setEndTime(LocalTime.of(11, 0));
+        try {
+            scheduleService.createSchedule(candidate);
+        } catch (RuntimeException e) {
+            return e.getMessage();
+        }
+        throw new IllegalStateException("El horario debía rechazarse");
+    }
+
+    // 🔹 Solo memoria: construir el índice con los horarios ya leídos y consultar un cruce
+    @Benchmark
+    public boolean intervalIndex() {
+        return ScheduleIntervals.of(existing, null)
+                .overlaps(ScheduleDay.parse(firstDay), LocalTime.of(10, 0), LocalTime.of(11, 0));
+    }
+
+    private static Barber reference(Long id) {
+        Barber barber = new Barber();
+        barber.setId(id);
+        return barber;
+    }
+}
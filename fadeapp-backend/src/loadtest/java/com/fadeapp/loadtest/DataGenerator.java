@@ -0,0 +1,217 @@
+package com.fadeapp.loadtest;
+
+import com.fadeapp.dto.WeeklyScheduleRequest;
+import com.fadeapp.model.Account;
+import com.fadeapp.model.Barber;
+import com.fadeapp.model.Barbershop;
+import com.fadeapp.model.Client;
+import com.fadeapp.model.EntityService;
+import com.fadeapp.repository.AccountRepository;
+import com.fadeapp.repository.BarberRepository;
+import com.fadeapp.repository.BarbershopRepository;
+import com.fadeapp.repository.ClientRepository;
+import com.fadeapp.repository.ServiceRepository;
+import com.fadeapp.service.ScheduleService;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Siembra un catálogo sintético: barberías con servicios, barberos con turnos de lunes a sábado,
+ * clientes con cuenta para iniciar sesión y un año de citas (más dos semanas futuras a medio
+ * reservar). Las entidades pasan por los repositorios; las citas, que son cientos de miles,
+ * se insertan por lotes JDBC.
+ */
+class DataGenerator {
+
+    static final String PASSWORD = "loadtest";
+    static final LocalTime OPENING = LocalTime.of(9, 0);
+    static final LocalTime CLOSING = LocalTime.of(19, 0);
+    static final int SLOT_MINUTES = 30;
+
+    // Días reservables hacia adelante y fracción de turnos futuros ya ocupados
+    static final int FUTURE_DAYS = 14;
+    private static final double FUTURE_OCCUPANCY = 0.3;
+
+    private static final String[] CITIES = {"Bogotá", "Medellín", "Cali", "Barranquilla", "Bucaramanga"};
+    private static final String[] NAMES = {"Fade", "Classic", "Navaja", "Barba", "Estilo", "Corte", "Urbano", "Real"};
+    private static final String[] SERVICES = {"Corte clásico", "Barba", "Corte y barba", "Cejas", "Diseño"};
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String INSERT_APPOINTMENT = "INSERT INTO appointment "
+            + "(date, end_date, client_id, barbershop_id, service_id, barber_id, status) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    record Shop(Long id, String name, List<Long> barberIds, List<Long> serviceIds) {
+    }
+
+    record Seed(List<Shop> shops, List<String> clientEmails, int appointments) {
+    }
+
+    private final LoadTestOptions options;
+    private final BarbershopRepository barbershopRepository;
+    private final BarberRepository barberRepository;
+    private final ServiceRepository serviceRepository;
+    private final ClientRepository clientRepository;
+    private final AccountRepository accountRepository;
+    private final ScheduleService scheduleService;
+    private final JdbcTemplate jdbcTemplate;
+    private final SplittableRandom random;
+
+    DataGenerator(LoadTestOptions options, BarbershopRepository barbershopRepository, BarberRepository barberRepository,
+                  ServiceRepository serviceRepository, ClientRepository clientRepository,
+                  AccountRepository accountRepository, ScheduleService scheduleService, JdbcTemplate jdbcTemplate) {
+        this.options = options;
+        this.barbershopRepository = barbershopRepository;
+        this.barberRepository = barberRepository;
+        this.serviceRepository = serviceRepository;
+        this.clientRepository = clientRepository;
+        this.accountRepository = accountRepository;
+        this.scheduleService = scheduleService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.random = new SplittableRandom(options.seed());
+    }
+
+    Seed generate() {
+        List<Shop> shops = new ArrayList<>();
+        for (int s = 0; s < options.barbershops(); s++) {
+            shops.add(seedShop(s));
+        }
+        weeklySchedules(shops);
+
+        List<Long> clientIds = new ArrayList<>();
+        List<String> emails = new ArrayList<>();
+        seedClients(clientIds, emails);
+
+        int appointments = seedAppointments(shops, clientIds);
+        return new Seed(shops, emails, appointments);
+    }
+
+    private Shop seedShop(int index) {
+        Barbershop shop = new Barbershop();
+        shop.setName(NAMES[index % NAMES.length] + " " + (index + 1));
+        shop.setAddress("Calle " + (index + 1) + " # 10-20");
+        shop.setCity(CITIES[index % CITIES.length]);
+        shop.setEmail("shop" + index + "@loadtest.fadeapp");
+        shop.setPassword(PASSWORD);
+        shop.setOpeningTime(OPENING);
+        shop.setClosingTime(CLOSING);
+        shop.setLatitude(4.6 + random.nextDouble(-0.1, 0.1));
+        shop.setLongitude(-74.08 + random.nextDouble(-0.1, 0.1));
+        shop = barbershopRepository.save(shop);
+
+        List<EntityService> services = new ArrayList<>();
+        for (int i = 0; i < options.servicesPerShop(); i++) {
+            EntityService service = new EntityService();
+            service.setName(SERVICES[i % SERVICES.length]);
+            service.setPrice(20000.0 + 5000 * i);
+            service.setDuration(SLOT_MINUTES);
+            service.setBarbershop(shop);
+            services.add(service);
+        }
+        List<Barber> barbers = new ArrayList<>();
+        for (int i = 0; i < options.barbersPerShop(); i++) {
+            Barber barber = new Barber();
+            barber.setName("Barbero " + (index + 1) + "-" + (i + 1));
+            barber.setEmail("barber" + index + "-" + i + "@loadtest.fadeapp");
+            barber.setBarbershop(shop);
+            barbers.add(barber);
+        }
+        return new Shop(shop.getId(), shop.getName(),
+                barberRepository.saveAll(barbers).stream().map(Barber::getId).toList(),
+                serviceRepository.saveAll(services).stream().map(EntityService::getId).toList());
+    }
+
+    // 🔹 Lunes a sábado en horario de la barbería con almuerzo, en una sola plantilla
+    private void weeklySchedules(List<Shop> shops) {
+        WeeklyScheduleRequest request = new WeeklyScheduleRequest();
+        request.setBarberIds(shops.stream().flatMap(shop -> shop.barberIds().stream()).toList());
+        request.setDays(List.of("Lunes", "Martes", "Miércoles", "Jueves", "Viernes", "Sábado"));
+        request.setStartTime(OPENING);
+        request.setEndTime(CLOSING);
+        request.setBreaks(List.of(new WeeklyScheduleRequest.TimeRange(LocalTime.of(13, 0), LocalTime.of(14, 0))));
+        scheduleService.createWeeklySchedules(request);
+    }
+
+    // 🔹 Todos comparten contraseña: un solo hash BCrypt para no tardar minutos sembrando
+    private void seedClients(List<Long> ids, List<String> emails) {
+        String hash = new BCryptPasswordEncoder().encode(PASSWORD);
+        List<Client> clients = new ArrayList<>();
+        for (int i = 0; i < options.clients(); i++) {
+            Client client = new Client();
+            client.setFirstName("Cliente");
+            client.setLastName(String.valueOf(i + 1));
+            client.setEmail("client" + i + "@loadtest.fadeapp");
+            client.setPassword(hash);
+            client.setPhone("300" + (1000000 + i));
+            client.setCity(CITIES[i % CITIES.length]);
+            clients.add(client);
+        }
+        List<Account> accounts = new ArrayList<>();
+        for (Client client : clientRepository.saveAll(clients)) {
+            ids.add(client.getId());
+            emails.add(client.getEmail());
+            accounts.add(new Account(null, client.getEmail(), Account.CLIENT, client.getId(), hash, true));
+        }
+        accountRepository.saveAll(accounts);
+    }
+
+    /**
+     * Historial de "historyDays" días (completadas, con un 10 % canceladas) y las próximas dos
+     * semanas ocupadas en parte, para que las reservas de la prueba también encuentren cruces.
+     */
+    private int seedAppointments(List<Shop> shops, List<Long> clientIds) {
+        LocalDate today = LocalDate.now();
+        int slotsPerDay = (int) (Duration.between(OPENING, CLOSING).toMinutes() / SLOT_MINUTES);
+        int perDay = Math.min(options.appointmentsPerDay(), slotsPerDay);
+
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        int total = 0;
+        for (Shop shop : shops) {
+            for (Long barberId : shop.barberIds()) {
+                for (int d = -options.historyDays(); d < FUTURE_DAYS; d++) {
+                    LocalDate day = today.plusDays(d);
+                    // Los domingos no abre y hoy se deja libre (sus primeras horas ya pasaron)
+                    if (day.getDayOfWeek() == DayOfWeek.SUNDAY || d == 0) {
+                        continue;
+                    }
+                    boolean past = d < 0;
+                    for (int slot = 0; slot < slotsPerDay; slot++) {
+                        boolean booked = past ? random.nextInt(slotsPerDay) < perDay : random.nextDouble() < FUTURE_OCCUPANCY;
+                        if (!booked) {
+                            continue;
+                        }
+                        LocalDateTime start = day.atTime(OPENING).plusMinutes((long) slot * SLOT_MINUTES);
+                        String status = !past ? "PENDING" : (random.nextInt(10) == 0 ? "CANCELLED" : "COMPLETED");
+                        batch.add(new Object[]{
+                                Timestamp.valueOf(start), Timestamp.valueOf(start.plusMinutes(SLOT_MINUTES)),
+                                clientIds.get(random.nextInt(clientIds.size())), shop.id(),
+                                shop.serviceIds().get(random.nextInt(shop.serviceIds().size())), barberId, status});
+                        if (batch.size() == BATCH_SIZE) {
+                            total += flush(batch);
+                        }
+                    }
+                }
+            }
+        }
+        return total + flush(batch);
+    }
+
+    private int flush(List<Object[]> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(INSERT_APPOINTMENT, batch);
+        int size = batch.size();
+        batch.clear();
+        return size;
+    }
+}
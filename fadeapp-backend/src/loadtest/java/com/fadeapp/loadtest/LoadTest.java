@@ -0,0 +1,253 @@
+package com.fadeapp.loadtest;
+
+import com.fadeapp.FadeappBackendApplication;
+import com.fadeapp.cache.BarbershopCatalogCache;
+import com.fadeapp.loadtest.DataGenerator.Seed;
+import com.fadeapp.loadtest.TrafficMix.Endpoint;
+import com.fadeapp.repository.AccountRepository;
+import com.fadeapp.repository.BarberRepository;
+import com.fadeapp.repository.BarbershopRepository;
+import com.fadeapp.repository.ClientRepository;
+import com.fadeapp.repository.ServiceRepository;
+import com.fadeapp.service.BarbershopNearbyService;
+import com.fadeapp.service.BarbershopSearchService;
+import com.fadeapp.service.ScheduleService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Executors;
+
+/**
+ * Prueba de carga de punta a punta: levanta la aplicación completa en un puerto libre, siembra
+ * datos sintéticos y reproduce una mezcla de tráfico con usuarios virtuales contra los
+ * controladores reales. Informa por endpoint throughput, p50/p95/p99 y sentencias SQL por petición.
+ * <p>
+ * Por defecto usa el perfil "test" (H2 en memoria); con -Dspring.profiles.active=... y la
+ * configuración de una base local se mide contra MySQL. El generador de carga comparte la
+ * máquina con el servidor: las cifras sirven para comparar ejecuciones, no como capacidad absoluta.
+ */
+public final class LoadTest {
+
+    private static final String[] DEFAULTS = {
+            "spring.profiles.default=test",
+            "server.port=0",
+            "management.server.port=0",
+            "logging.level.root=WARN",
+            "logging.level.com.fadeapp=WARN",
+            // logback-spring.xml fija INFO en estos paquetes: un log por petición falsearía la medición
+            "logging.level.com.fadeapp.controller=WARN",
+            "logging.level.com.fadeapp.security=WARN",
+            "logging.level.org.springframework.beans.factory.support.DisposableBeanAdapter=ERROR",
+            "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN",
+    };
+
+    private final ConfigurableApplicationContext context;
+    private final LoadTestOptions options;
+
+    private LoadTest(ConfigurableApplicationContext context) {
+        this.context = context;
+        this.options = LoadTestOptions.from(context.getEnvironment());
+    }
+
+    public static void main(String[] args) throws Exception {
+        // DevTools reiniciaría la aplicación en otro class loader; aquí solo estorba
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(FadeappBackendApplication.class)
+                .properties(DEFAULTS)
+                .run(args);
+        try {
+            new LoadTest(context).run();
+        } finally {
+            context.close();
+        }
+        // 🔹 Peticiones que seguían en curso al terminar la medición no deben retener la JVM
+        System.exit(0);
+    }
+
+    private void run() throws Exception {
+        printSetup();
+
+        long start = System.nanoTime();
+        Seed seed = seed();
+        System.out.printf(Locale.ROOT, "Datos: %d barberías, %d barberos, %d clientes, %d citas en %.1f s%n",
+                seed.shops().size(), seed.shops().stream().mapToInt(shop -> shop.barberIds().size()).sum(),
+                seed.clientEmails().size(), seed.appointments(), (System.nanoTime() - start) / 1e9);
+
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        String baseUrl = "http://localhost:" + port;
+        ObjectMapper mapper = context.getBean(ObjectMapper.class);
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient http = HttpClient.newBuilder()
+                    .executor(executor)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+
+            Map<Endpoint, Double> sql = calibrate(new VirtualUser(http, mapper, baseUrl, seed.shops(),
+                    seed.clientEmails().get(0), options.seed()));
+            Map<Endpoint, Samples> results = load(http, mapper, baseUrl, seed);
+            report(results, sql);
+        }
+    }
+
+    private void printSetup() {
+        DataSource dataSource = context.getBean(DataSource.class);
+        String pool = (dataSource instanceof HikariDataSource hikari)
+                ? String.valueOf(hikari.getMaximumPoolSize()) : "?";
+        System.out.printf(Locale.ROOT, "Perfiles %s, hilos %s, pool de conexiones %s%n",
+                String.join(",", context.getEnvironment().getActiveProfiles().length > 0
+                        ? context.getEnvironment().getActiveProfiles()
+                        : context.getEnvironment().getDefaultProfiles()),
+                Threading.VIRTUAL.isActive(context.getEnvironment()) ? "virtuales" : "de plataforma", pool);
+        System.out.printf(Locale.ROOT, "Usuarios %d, calentamiento %ds, medición %ds, espera %dms, mezcla %s%n",
+                options.users(), options.warmup().toSeconds(), options.duration().toSeconds(),
+                options.thinkTime().toMillis(), options.mix());
+    }
+
+    private Seed seed() {
+        Seed seed = new DataGenerator(options,
+                context.getBean(BarbershopRepository.class),
+                context.getBean(BarberRepository.class),
+                context.getBean(ServiceRepository.class),
+                context.getBean(ClientRepository.class),
+                context.getBean(AccountRepository.class),
+                context.getBean(ScheduleService.class),
+                context.getBean(JdbcTemplate.class)).generate();
+
+        // Los índices en memoria se construyeron al arrancar, con la base vacía
+        context.getBean(BarbershopSearchService.class).rebuild();
+        context.getBean(BarbershopNearbyService.class).rebuild();
+        context.getBean(BarbershopCatalogCache.class).clear();
+        return seed;
+    }
+
+    /**
+     * Sentencias SQL por petición de cada endpoint, medidas en una pasada secuencial (sin
+     * concurrencia las estadísticas globales de Hibernate se pueden atribuir a cada petición).
+     * Dos llamadas previas dejan las cachés calientes: se mide el estado estable.
+     */
+    private Map<Endpoint, Double> calibrate(VirtualUser user) {
+        Statistics statistics = context.getBean(EntityManagerFactory.class)
+                .unwrap(SessionFactory.class).getStatistics();
+        boolean enabled = statistics.isStatisticsEnabled();
+        statistics.setStatisticsEnabled(true);
+
+        Map<Endpoint, Double> sql = new EnumMap<>(Endpoint.class);
+        try {
+            for (Endpoint endpoint : options.mix().endpoints()) {
+                user.call(endpoint, false);
+                user.call(endpoint, false);
+                long statements = 0;
+                for (int i = 0; i < options.calibrationRequests(); i++) {
+                    // La cancelación necesita una cita propia; esa reserva no se cuenta
+                    if (endpoint == Endpoint.CANCEL) {
+                        user.call(Endpoint.BOOK, false);
+                    }
+                    long before = statistics.getPrepareStatementCount();
+                    user.call(endpoint, false);
+                    statements += statistics.getPrepareStatementCount() - before;
+                }
+                sql.put(endpoint, (double) statements / options.calibrationRequests());
+            }
+        } finally {
+            statistics.setStatisticsEnabled(enabled);
+        }
+        return sql;
+    }
+
+    // 🔹 Carga cerrada: cada usuario virtual encadena peticiones hasta que termina la medición
+    private Map<Endpoint, Samples> load(HttpClient http, ObjectMapper mapper, String baseUrl, Seed seed)
+            throws InterruptedException {
+        int users = Math.min(options.users(), seed.clientEmails().size());
+        long measureFrom = System.nanoTime() + options.warmup().toNanos();
+        long measureUntil = measureFrom + options.duration().toNanos();
+
+        List<VirtualUser> virtualUsers = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            VirtualUser user = new VirtualUser(http, mapper, baseUrl, seed.shops(),
+                    seed.clientEmails().get(i), options.seed() + i);
+            SplittableRandom random = new SplittableRandom(options.seed() * 31 + i);
+            virtualUsers.add(user);
+            threads.add(Thread.ofVirtual().name("loadtest-user-" + i).start(() -> {
+                user.call(Endpoint.LOGIN, false);
+                long now;
+                while ((now = System.nanoTime()) < measureUntil) {
+                    user.call(options.mix().pick(random), now >= measureFrom);
+                    if (!options.thinkTime().isZero()) {
+                        try {
+                            Thread.sleep(options.thinkTime());
+                        } catch (InterruptedException e) {
+                            return;
+                        }
+                    }
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Map<Endpoint, Samples> merged = new EnumMap<>(Endpoint.class);
+        for (VirtualUser user : virtualUsers) {
+            user.samples().forEach((endpoint, samples) ->
+                    merged.computeIfAbsent(endpoint, e -> new Samples()).merge(samples));
+        }
+        return merged;
+    }
+
+    private void report(Map<Endpoint, Samples> results, Map<Endpoint, Double> sql) throws IOException {
+        double seconds = options.duration().toNanos() / 1e9;
+        String header = String.format(Locale.ROOT, "%-36s %8s %8s %7s %8s %6s %9s %9s %9s %7s",
+                "endpoint", "requests", "req/s", "ok", "rejected", "errors", "p50 ms", "p95 ms", "p99 ms", "sql/req");
+        System.out.println();
+        System.out.println(header);
+
+        Path path = Path.of(options.report());
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        Samples total = new Samples();
+        try (PrintWriter csv = new PrintWriter(Files.newBufferedWriter(path))) {
+            csv.println("endpoint,route,requests,req_per_s,ok,rejected,errors,p50_ms,p95_ms,p99_ms,sql_per_request");
+            for (Map.Entry<Endpoint, Samples> entry : results.entrySet()) {
+                Endpoint endpoint = entry.getKey();
+                Samples samples = entry.getValue();
+                total.merge(samples);
+                double[] p = samples.percentilesMillis(50, 95, 99);
+                double statements = sql.getOrDefault(endpoint, Double.NaN);
+                System.out.printf(Locale.ROOT, "%-36s %8d %8.1f %7d %8d %6d %9.1f %9.1f %9.1f %7.1f%n",
+                        endpoint.route, samples.count(), samples.count() / seconds, samples.ok, samples.rejected,
+                        samples.errors, p[0], p[1], p[2], statements);
+                csv.printf(Locale.ROOT, "%s,%s,%d,%.1f,%d,%d,%d,%.2f,%.2f,%.2f,%.2f%n",
+                        endpoint.name(), endpoint.route, samples.count(), samples.count() / seconds, samples.ok,
+                        samples.rejected, samples.errors, p[0], p[1], p[2], statements);
+            }
+        }
+        double[] p = total.percentilesMillis(50, 95, 99);
+        System.out.printf(Locale.ROOT, "%-36s %8d %8.1f %7d %8d %6d %9.1f %9.1f %9.1f%n",
+                "total", total.count(), total.count() / seconds, total.ok, total.rejected, total.errors,
+                p[0], p[1], p[2]);
+        System.out.println("Informe: " + path.toAbsolutePath());
+    }
+}
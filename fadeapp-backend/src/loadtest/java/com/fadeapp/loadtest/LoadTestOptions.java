@@ -0,0 +1,46 @@
+package com.fadeapp.loadtest;
+
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+
+/**
+ * Parámetros de la prueba, leídos como propiedades "loadtest.*" (p. ej. -Dloadtest.users=200).
+ * Los valores por defecto corresponden a una ciudad mediana un sábado por la mañana.
+ */
+record LoadTestOptions(
+        int barbershops,
+        int barbersPerShop,
+        int servicesPerShop,
+        int clients,
+        int appointmentsPerDay,
+        int historyDays,
+        int users,
+        Duration warmup,
+        Duration duration,
+        Duration thinkTime,
+        TrafficMix mix,
+        int calibrationRequests,
+        String report,
+        long seed
+) {
+
+    static LoadTestOptions from(Environment env) {
+        return new LoadTestOptions(
+                env.getProperty("loadtest.barbershops", Integer.class, 20),
+                env.getProperty("loadtest.barbers-per-shop", Integer.class, 4),
+                env.getProperty("loadtest.services-per-shop", Integer.class, 3),
+                env.getProperty("loadtest.clients", Integer.class, 500),
+                env.getProperty("loadtest.appointments-per-day", Integer.class, 12),
+                env.getProperty("loadtest.history-days", Integer.class, 365),
+                env.getProperty("loadtest.users", Integer.class, 50),
+                env.getProperty("loadtest.warmup", Duration.class, Duration.ofSeconds(10)),
+                env.getProperty("loadtest.duration", Duration.class, Duration.ofSeconds(30)),
+                env.getProperty("loadtest.think-time", Duration.class, Duration.ZERO),
+                TrafficMix.parse(env.getProperty("loadtest.mix", TrafficMix.DEFAULT)),
+                env.getProperty("loadtest.calibration-requests", Integer.class, 20),
+                env.getProperty("loadtest.report", "target/loadtest-report.csv"),
+                env.getProperty("loadtest.seed", Long.class, 42L)
+        );
+    }
+}
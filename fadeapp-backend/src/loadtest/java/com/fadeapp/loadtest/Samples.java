@@ -0,0 +1,63 @@
+package com.fadeapp.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Latencias (en microsegundos) y resultados de un endpoint. Cada usuario virtual tiene las suyas,
+ * así que no hay contención mientras se mide; se juntan al final con {@link #merge}.
+ */
+final class Samples {
+
+    private long[] latencies = new long[1024];
+    private int size;
+    int ok;
+    int rejected;
+    int errors;
+
+    void record(long micros, int status) {
+        if (size == latencies.length) {
+            latencies = Arrays.copyOf(latencies, size * 2);
+        }
+        latencies[size++] = micros;
+        if (status >= 200 && status < 300) {
+            ok++;
+        } else if (status >= 400 && status < 500) {
+            // Rechazos de negocio (cruce de citas, credenciales...): la API respondió bien
+            rejected++;
+        } else {
+            errors++;
+        }
+    }
+
+    void merge(Samples other) {
+        for (int i = 0; i < other.size; i++) {
+            if (size == latencies.length) {
+                latencies = Arrays.copyOf(latencies, Math.max(size * 2, size + other.size));
+            }
+            latencies[size++] = other.latencies[i];
+        }
+        ok += other.ok;
+        rejected += other.rejected;
+        errors += other.errors;
+    }
+
+    int count() {
+        return size;
+    }
+
+    // 🔹 Percentil por rango más cercano, en milisegundos
+    double[] percentilesMillis(double... percentiles) {
+        long[] sorted = Arrays.copyOf(latencies, size);
+        Arrays.sort(sorted);
+        double[] result = new double[percentiles.length];
+        for (int i = 0; i < percentiles.length; i++) {
+            if (size == 0) {
+                result[i] = Double.NaN;
+                continue;
+            }
+            int rank = (int) Math.ceil(percentiles[i] / 100.0 * size) - 1;
+            result[i] = sorted[Math.max(0, Math.min(rank, size - 1))] / 1000.0;
+        }
+        return result;
+    }
+}
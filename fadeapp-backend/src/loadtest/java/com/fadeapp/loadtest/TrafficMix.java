@@ -0,0 +1,83 @@
+package com.fadeapp.loadtest;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Reparto del tráfico entre endpoints, como "list:10,detail:20,search:10,login:5,me:25,book:20,cancel:10".
+ * Los pesos son relativos; un endpoint que no aparece no recibe tráfico.
+ */
+final class TrafficMix {
+
+    static final String DEFAULT = "list:10,detail:20,search:10,login:5,me:25,book:20,cancel:10";
+
+    enum Endpoint {
+        LIST("GET /api/barbershops"),
+        DETAIL("GET /api/barbershops/{id}"),
+        SEARCH("GET /api/barbershops/search"),
+        LOGIN("POST /api/auth/login"),
+        ME("GET /api/appointments/me"),
+        BOOK("POST /api/appointments"),
+        CANCEL("PUT /api/appointments/{id}/status");
+
+        final String route;
+
+        Endpoint(String route) {
+            this.route = route;
+        }
+    }
+
+    private final Map<Endpoint, Integer> weights;
+    private final Endpoint[] endpoints;
+    private final int[] cumulative;
+
+    private TrafficMix(Map<Endpoint, Integer> weights) {
+        this.weights = weights;
+        this.endpoints = weights.keySet().toArray(Endpoint[]::new);
+        this.cumulative = new int[endpoints.length];
+        int sum = 0;
+        for (int i = 0; i < endpoints.length; i++) {
+            sum += weights.get(endpoints[i]);
+            cumulative[i] = sum;
+        }
+    }
+
+    static TrafficMix parse(String spec) {
+        Map<Endpoint, Integer> weights = new EnumMap<>(Endpoint.class);
+        for (String part : spec.split(",")) {
+            String[] pair = part.trim().split(":");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Mezcla inválida: " + part);
+            }
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight > 0) {
+                weights.put(Endpoint.valueOf(pair[0].trim().toUpperCase(Locale.ROOT)), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("La mezcla de tráfico no tiene ningún endpoint");
+        }
+        return new TrafficMix(weights);
+    }
+
+    Endpoint pick(SplittableRandom random) {
+        int ticket = random.nextInt(cumulative[cumulative.length - 1]);
+        for (int i = 0; i < cumulative.length; i++) {
+            if (ticket < cumulative[i]) {
+                return endpoints[i];
+            }
+        }
+        return endpoints[endpoints.length - 1];
+    }
+
+    Iterable<Endpoint> endpoints() {
+        return weights.keySet();
+    }
+
+    @Override
+    public String toString() {
+        return weights.toString();
+    }
+}
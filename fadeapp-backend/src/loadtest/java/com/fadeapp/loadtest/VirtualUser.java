@@ -0,0 +1,167 @@
+package com.fadeapp.loadtest;
+
+import com.fadeapp.loadtest.DataGenerator.Shop;
+import com.fadeapp.loadtest.TrafficMix.Endpoint;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Un cliente de la app: inicia sesión y luego recorre la mezcla de tráfico contra la API real
+ * (HTTP, filtros de seguridad y JSON incluidos). Cancela solo citas que él mismo reservó.
+ */
+final class VirtualUser {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+    private static final String[] QUERIES = {"fade", "barba", "corte", "bogota", "clasic", "navaja", "medellin"};
+
+    private final HttpClient http;
+    private final ObjectMapper mapper;
+    private final String baseUrl;
+    private final List<Shop> shops;
+    private final String email;
+    private final SplittableRandom random;
+    private final Deque<Long> booked = new ArrayDeque<>();
+    private final Map<Endpoint, Samples> samples = new EnumMap<>(Endpoint.class);
+    private String token;
+
+    VirtualUser(HttpClient http, ObjectMapper mapper, String baseUrl, List<Shop> shops, String email, long seed) {
+        this.http = http;
+        this.mapper = mapper;
+        this.baseUrl = baseUrl;
+        this.shops = shops;
+        this.email = email;
+        this.random = new SplittableRandom(seed);
+    }
+
+    Map<Endpoint, Samples> samples() {
+        return samples;
+    }
+
+    // 🔹 Ejecuta una petición y, si "record", guarda su latencia
+    void call(Endpoint endpoint, boolean record) {
+        if (token == null && endpoint != Endpoint.LOGIN && endpoint != Endpoint.LIST
+                && endpoint != Endpoint.DETAIL && endpoint != Endpoint.SEARCH) {
+            call(Endpoint.LOGIN, false);
+        }
+        // Para cancelar hace falta una cita propia: se reserva antes, fuera de la medición
+        for (int attempt = 0; endpoint == Endpoint.CANCEL && booked.isEmpty() && attempt < 3; attempt++) {
+            call(Endpoint.BOOK, false);
+        }
+        long start = System.nanoTime();
+        int status;
+        try {
+            status = switch (endpoint) {
+                case LIST -> send(get("/api/barbershops")).statusCode();
+                case DETAIL -> send(get("/api/barbershops/" + shop().id())).statusCode();
+                case SEARCH -> send(get("/api/barbershops/search?q="
+                        + URLEncoder.encode(QUERIES[random.nextInt(QUERIES.length)], StandardCharsets.UTF_8))).statusCode();
+                case LOGIN -> login();
+                case ME -> send(authorized(get("/api/appointments/me"))).statusCode();
+                case BOOK -> book();
+                case CANCEL -> cancel();
+            };
+        } catch (IOException e) {
+            status = 599;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (record) {
+            samples.computeIfAbsent(endpoint, e -> new Samples()).record((System.nanoTime() - start) / 1000, status);
+        }
+    }
+
+    private int login() throws IOException, InterruptedException {
+        String body = mapper.writeValueAsString(Map.of("email", email, "password", DataGenerator.PASSWORD));
+        HttpResponse<String> response = send(post("/api/auth/login", body));
+        if (response.statusCode() == 200) {
+            token = mapper.readTree(response.body()).path("token").asText();
+        }
+        return response.statusCode();
+    }
+
+    // 🔹 Un turno de 30 minutos al azar en las próximas dos semanas (algunos chocarán)
+    private int book() throws IOException, InterruptedException {
+        Shop shop = shop();
+        int slots = (int) (Duration.between(DataGenerator.OPENING, DataGenerator.CLOSING).toMinutes()
+                / DataGenerator.SLOT_MINUTES);
+        LocalDateTime date = LocalDate.now().plusDays(1 + random.nextInt(DataGenerator.FUTURE_DAYS - 1))
+                .atTime(DataGenerator.OPENING)
+                .plusMinutes((long) random.nextInt(slots) * DataGenerator.SLOT_MINUTES);
+        String body = mapper.writeValueAsString(Map.of(
+                "date", date.toString(),
+                "barber", Map.of("id", pick(shop.barberIds())),
+                "barbershop", Map.of("id", shop.id()),
+                "service", Map.of("id", pick(shop.serviceIds()))));
+        HttpResponse<String> response = send(authorized(post("/api/appointments", body)));
+        if (response.statusCode() == 200) {
+            JsonNode created = mapper.readTree(response.body());
+            booked.push(created.path("id").asLong());
+        }
+        return response.statusCode();
+    }
+
+    private int cancel() throws IOException, InterruptedException {
+        Long id = booked.poll();
+        if (id == null) {
+            // Tres reservas seguidas chocaron: se cuenta como rechazo
+            return 409;
+        }
+        HttpRequest request = authorized(HttpRequest.newBuilder(uri("/api/appointments/" + id + "/status?status=CANCELLED"))
+                .timeout(TIMEOUT)
+                .PUT(HttpRequest.BodyPublishers.noBody()));
+        return send(request).statusCode();
+    }
+
+    private Shop shop() {
+        return shops.get(random.nextInt(shops.size()));
+    }
+
+    private Long pick(List<Long> ids) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return HttpRequest.newBuilder(uri(path)).timeout(TIMEOUT).GET();
+    }
+
+    private HttpRequest.Builder post(String path, String json) {
+        return HttpRequest.newBuilder(uri(path))
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+    }
+
+    private HttpRequest authorized(HttpRequest.Builder builder) {
+        return builder.header("Authorization", "Bearer " + token).build();
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder builder) throws IOException, InterruptedException {
+        return send(builder.build());
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return http.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+}
@@ -0,0 +1,180 @@
+package com.fadeapp.cache;
+
+import com.fadeapp.dto.BarbershopDetailDto;
+import com.fadeapp.dto.BarbershopDto;
+import com.fadeapp.dto.CacheStatsResponse;
+import com.fadeapp.dto.ServiceDto;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Caché acotada (tamaño + TTL) del catálogo público de barberías: listados,
+ * detalle y servicios. Las escrituras de BarbershopService y BarberService la
+ * invalidan por barbería; el TTL acota lo que pueda quedar desfasado entre instancias.
+ * Las cargas corren en el hilo que pide el dato, fuera de los locks internos de la caché
+ * (un hilo virtual esperando a la base de datos dentro de un monitor quedaría anclado);
+ * las peticiones concurrentes por la misma clave esperan esa misma carga.
+ * Aciertos, fallos y desalojos se publican como cache.*{cache=catalog.*}.
+ */
+@Component
+public class BarbershopCatalogCache implements MeterBinder {
+
+    // Clave del listado completo (sin filtro de ciudad)
+    private static final String ALL_CITIES = "";
+
+    private final AsyncCache<String, List<BarbershopDto>> lists;
+    private final AsyncCache<Long, BarbershopDetailDto> details;
+    private final AsyncCache<Long, List<ServiceDto>> services;
+
+    public BarbershopCatalogCache(
+            @Value("${fadeapp.catalog-cache.max-size:10000}") long maxSize,
+            @Value("${fadeapp.catalog-cache.ttl:10m}") Duration ttl
+    ) {
+        this.lists = build(maxSize, ttl);
+        this.details = build(maxSize, ttl);
+        this.services = build(maxSize, ttl);
+    }
+
+    private static <K, V> AsyncCache<K, V> build(long maxSize, Duration ttl) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+    }
+
+    // 🔹 Listado de barberías (todas o filtradas por ciudad)
+    public List<BarbershopDto> list(String city, Supplier<List<BarbershopDto>> loader) {
+        String key = (city == null) ? ALL_CITIES : city.trim().toLowerCase(Locale.ROOT);
+        return load(lists, key, () -> List.copyOf(loader.get()));
+    }
+
+    // 🔹 Detalle de una barbería con servicios y barberos
+    public BarbershopDetailDto detail(Long barbershopId, Supplier<BarbershopDetailDto> loader) {
+        return load(details, barbershopId, loader);
+    }
+
+    // 🔹 Servicios de una barbería
+    public List<ServiceDto> services(Long barbershopId, Supplier<List<ServiceDto>> loader) {
+        return load(services, barbershopId, () -> List.copyOf(loader.get()));
+    }
+
+    // 🔹 Cambió la barbería en sí (nombre, ciudad, horario...): detalle, servicios y listados
+    public void evictBarbershop(Long barbershopId) {
+        evict(() -> {
+            details.synchronous().invalidate(barbershopId);
+            services.synchronous().invalidate(barbershopId);
+            lists.synchronous().invalidateAll();
+        });
+    }
+
+    // 🔹 Cambió un servicio de la barbería
+    public void evictServices(Long barbershopId) {
+        evict(() -> {
+            services.synchronous().invalidate(barbershopId);
+            details.synchronous().invalidate(barbershopId);
+        });
+    }
+
+    // 🔹 Cambió un barbero de la barbería
+    public void evictBarbers(Long barbershopId) {
+        evict(() -> details.synchronous().invalidate(barbershopId));
+    }
+
+    // 🔹 Se registró una barbería nueva
+    public void evictLists() {
+        evict(() -> lists.synchronous().invalidateAll());
+    }
+
+    public void clear() {
+        lists.synchronous().invalidateAll();
+        details.synchronous().invalidateAll();
+        services.synchronous().invalidateAll();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, lists, "catalog.lists");
+        CaffeineCacheMetrics.monitor(registry, details, "catalog.details");
+        CaffeineCacheMetrics.monitor(registry, services, "catalog.services");
+    }
+
+    public Map<String, CacheStatsResponse> stats() {
+        Map<String, CacheStatsResponse> stats = new LinkedHashMap<>();
+        stats.put("lists", toResponse(lists));
+        stats.put("details", toResponse(details));
+        stats.put("services", toResponse(services));
+        return stats;
+    }
+
+    /**
+     * Dentro del lock de la caché solo se registra un futuro vacío; quien lo registró
+     * ejecuta la carga después. Un futuro fallido o con null se descarta solo y no se cachea.
+     * Cualquier fallo de la carga (también un Error) completa el futuro: si quedara pendiente,
+     * las peticiones que esperan esa clave no terminarían nunca.
+     */
+    private static <K, V> V load(AsyncCache<K, V> cache, K key, Supplier<V> loader) {
+        CompletableFuture<V> loading = new CompletableFuture<>();
+        CompletableFuture<V> cached = cache.get(key, (k, executor) -> loading);
+        if (cached == loading) {
+            try {
+                loading.complete(loader.get());
+            } catch (Throwable e) {
+                loading.completeExceptionally(e);
+                throw e;
+            }
+        }
+        try {
+            return cached.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Invalida ya y, si hay una transacción en curso, otra vez tras el commit:
+     * una lectura que entre antes del commit vería los datos viejos y los volvería a cachear.
+     */
+    private static void evict(Runnable invalidation) {
+        invalidation.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidation.run();
+                }
+            });
+        }
+    }
+
+    private static CacheStatsResponse toResponse(AsyncCache<?, ?> async) {
+        Cache<?, ?> cache = async.synchronous();
+        CacheStats stats = cache.stats();
+        return new CacheStatsResponse(stats.hitCount(), stats.missCount(), stats.hitRate(),
+                stats.evictionCount(), cache.estimatedSize());
+    }
+}
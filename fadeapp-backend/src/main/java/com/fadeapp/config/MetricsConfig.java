@@ -0,0 +1,56 @@
+package com.fadeapp.config;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+
+import java.time.Duration;
+
+/**
+ * Métricas de Micrometer, publicadas en /actuator/prometheus. Spring Boot ya mide cada
+ * controlador (http.server.requests por método, ruta y estado), el pool de Hikari
+ * (hikaricp.connections.*) y las estadísticas de Hibernate (hibernate.*); aquí se activan
+ * esas estadísticas y los histogramas de latencia. Los percentiles se calculan en Prometheus
+ * a partir de buckets fijos: registrar una petición es solo incrementar un contador.
+ */
+@Configuration
+@PropertySource("classpath:metrics.properties")
+public class MetricsConfig {
+
+    private static final Duration MIN_EXPECTED = Duration.ofMillis(1);
+
+    @Bean
+    public MeterFilter latencyHistograms(@Value("${fadeapp.metrics.histogram-max:10s}") Duration maxExpected) {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (id.getType() != Meter.Type.TIMER || !hasHistogram(id.getName())) {
+                    return config;
+                }
+                // 🔹 Buckets entre 1 ms y el máximo esperado (unos 60 por combinación de etiquetas);
+                // un timer que declare su propio rango lo conserva
+                return config.merge(DistributionStatisticConfig.builder()
+                        .percentilesHistogram(true)
+                        .minimumExpectedValue((double) MIN_EXPECTED.toNanos())
+                        .maximumExpectedValue((double) maxExpected.toNanos())
+                        .build());
+            }
+        };
+    }
+
+    private static boolean hasHistogram(String name) {
+        return name.equals("http.server.requests") || name.startsWith("fadeapp.");
+    }
+
+    // 🔹 Sin estadísticas Hibernate no cuenta sentencias ni aciertos de caché
+    @Bean
+    public HibernatePropertiesCustomizer statisticsCustomizer(
+            @Value("${fadeapp.metrics.hibernate-statistics:true}") boolean enabled) {
+        return properties -> properties.putIfAbsent("hibernate.generate_statistics", enabled);
+    }
+}
@@ -0,0 +1,30 @@
+package com.fadeapp.config;
+
+import com.fadeapp.monitoring.SqlStatementInspector;
+import com.fadeapp.monitoring.SqlTimingListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Engancha en Hibernate el conteo de sentencias y el tiempo en base de datos por petición
+ * (ver SqlBudgetFilter) y el registro de consultas lentas: cada consulta que tarde más de
+ * fadeapp.sql.slow-query se loguea con su SQL en org.hibernate.SQL_SLOW.
+ * Un valor explícito en spring.jpa.properties tiene prioridad.
+ */
+@Configuration
+public class SqlMonitoringConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlMonitoringCustomizer(
+            @Value("${fadeapp.sql.slow-query:200ms}") Duration slowQuery) {
+        return properties -> {
+            properties.putIfAbsent("hibernate.session_factory.statement_inspector", new SqlStatementInspector());
+            properties.putIfAbsent("hibernate.session.events.auto", SqlTimingListener.class.getName());
+            properties.putIfAbsent("hibernate.log_slow_query", slowQuery.toMillis());
+        };
+    }
+}
@@ -0,0 +1,62 @@
+package com.fadeapp.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+
+/**
+ * Modo de ejecución con hilos virtuales (spring.threads.virtual.enabled=true): Spring Boot atiende
+ * cada petición de Tomcat y las tareas de applicationTaskExecutor y @Scheduled en un hilo virtual.
+ * Sin el tope de hilos de Tomcat, el pool de conexiones pasa a ser el límite real de concurrencia
+ * sobre la base de datos, así que aquí se dimensiona y se acota la espera por una conexión.
+ * Un valor explícito en spring.datasource.hikari tiene prioridad.
+ */
+@Slf4j
+@Configuration
+public class VirtualThreadConfig {
+
+    // Hikari usa 10 por defecto; no bajar de ahí en máquinas pequeñas
+    private static final int MIN_POOL_SIZE = 10;
+
+    @Bean
+    public static BeanPostProcessor connectionPoolSizer(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource) {
+                    configure(dataSource, environment);
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static void configure(HikariDataSource dataSource, Environment environment) {
+        boolean virtual = Threading.VIRTUAL.isActive(environment);
+
+        // 🔹 Núcleos * 2 + 1: más conexiones solo añaden espera dentro de la base de datos
+        if (!environment.containsProperty("spring.datasource.hikari.maximum-pool-size")) {
+            int defaultSize = Math.max(MIN_POOL_SIZE, Runtime.getRuntime().availableProcessors() * 2 + 1);
+            dataSource.setMaximumPoolSize(
+                    environment.getProperty("fadeapp.datasource.pool-size", Integer.class, defaultSize));
+        }
+
+        // 🔹 Con hilos virtuales miles de peticiones pueden esperar una conexión: mejor fallar pronto
+        // que acumular 30 s (el valor por defecto) de latencia en la cola
+        if (virtual && !environment.containsProperty("spring.datasource.hikari.connection-timeout")) {
+            Duration timeout = environment.getProperty("fadeapp.datasource.connection-timeout",
+                    Duration.class, Duration.ofSeconds(5));
+            dataSource.setConnectionTimeout(timeout.toMillis());
+        }
+
+        log.info("Hilos {}: pool de conexiones de {} con espera máxima de {} ms",
+                virtual ? "virtuales" : "de plataforma",
+                dataSource.getMaximumPoolSize(), dataSource.getConnectionTimeout());
+    }
+}
@@ -1,9 +1,16 @@
 package com.fadeapp.controller;
 
+import com.fadeapp.dto.AppointmentDto;
+import com.fadeapp.dto.AppointmentEventStatsResponse;
+import com.fadeapp.dto.AppointmentQuery;
+import com.fadeapp.dto.PageResponse;
+import com.fadeapp.event.AppointmentEventPublisher;
+import com.fadeapp.event.AppointmentStatsListener;
 import com.fadeapp.model.Appointment;
 import com.fadeapp.model.Client;
 import com.fadeapp.repository.ClientRepository;
 import com.fadeapp.service.AppointmentService;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -11,6 +18,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 
+@Slf4j
 @RestController
 @RequestMapping("/api/appointments")
 @CrossOrigin(origins = "*")
@@ -18,22 +26,24 @@ public class AppointmentController {
 
     private final AppointmentService appointmentService;
     private final ClientRepository clientRepository;
+    private final AppointmentEventPublisher eventPublisher;
+    private final AppointmentStatsListener statsListener;
 
-    public AppointmentController(AppointmentService appointmentService, ClientRepository clientRepository) {
+    public AppointmentController(AppointmentService appointmentService, ClientRepository clientRepository,
+                                 AppointmentEventPublisher eventPublisher, AppointmentStatsListener statsListener) {
         this.appointmentService = appointmentService;
         this.clientRepository = clientRepository;
+        this.eventPublisher = eventPublisher;
+        this.statsListener = statsListener;
     }
 
     // ✅ Crear nueva cita — detecta automáticamente el cliente autenticado
     @PostMapping
     public ResponseEntity<?> createAppointment(@RequestBody Appointment appointment) {
-        System.out.println("\n======================== 💈 [NUEVA SOLICITUD DE CITA] ========================");
-
         try {
             // Obtener correo del usuario autenticado
             Authentication auth = SecurityContextHolder.getContext().getAuthentication();
             String email = (auth != null) ? auth.getName() : null;
-            System.out.println("🔐 Usuario autenticado: " + email);
 
             if (email == null || email.isEmpty()) {
                 return ResponseEntity.status(401).body("No se pudo obtener el cliente autenticado.");
@@ -46,23 +56,22 @@ public class AppointmentController {
             // Asignar cliente automáticamente a la cita
             appointment.setClient(client);
 
-            System.out.println("📦 Cita recibida y completada con cliente:");
-            System.out.println("🕒 Fecha: " + appointment.getDate());
-            System.out.println("👤 Cliente ID: " + client.getId());
-            System.out.println("💈 Barbero ID: " + (appointment.getBarber() != null ? appointment.getBarber().getId() : "❌ NULL"));
-            System.out.println("🏪 Barbería ID: " + (appointment.getBarbershop() != null ? appointment.getBarbershop().getId() : "❌ NULL"));
-            System.out.println("💇 Servicio ID: " + (appointment.getService() != null ? appointment.getService().getId() : "❌ NULL"));
+            if (log.isDebugEnabled()) {
+                log.debug("Nueva cita: fecha={} cliente={} barbero={} barbería={} servicio={}",
+                        appointment.getDate(), client.getId(),
+                        appointment.getBarber() != null ? appointment.getBarber().getId() : null,
+                        appointment.getBarbershop() != null ? appointment.getBarbershop().getId() : null,
+                        appointment.getService() != null ? appointment.getService().getId() : null);
+            }
 
             Appointment created = appointmentService.createAppointment(appointment);
-            System.out.println("✅ Cita creada correctamente con ID: " + created.getId());
-            System.out.println("==========================================================================\n");
+            log.info("Cita {} creada para el cliente {}", created.getId(), client.getId());
 
             return ResponseEntity.ok(created);
 
         } catch (RuntimeException e) {
-            System.err.println("❌ ERROR al crear la cita:");
-            e.printStackTrace();
-            System.out.println("==========================================================================\n");
+            log.warn("No se pudo crear la cita: {}", e.getMessage());
+            log.debug("Detalle del error al crear la cita", e);
             return ResponseEntity.badRequest().body("Error al crear la cita: " + e.getMessage());
         }
     }
@@ -70,7 +79,7 @@ public class AppointmentController {
     // ✅ Obtener una cita por su ID
     @GetMapping("/{id}")
     public ResponseEntity<?> getAppointmentById(@PathVariable Long id) {
-        System.out.println("🔍 Buscando cita por ID: " + id);
+        log.debug("Buscando cita {}", id);
         return appointmentService.getAppointmentById(id)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
@@ -79,12 +88,9 @@ public class AppointmentController {
     // ✅ Obtener todas las citas del cliente autenticado
     @GetMapping("/me")
     public ResponseEntity<?> getMyAppointments() {
-        System.out.println("\n======================== 📅 [MIS CITAS - CLIENTE AUTENTICADO] ========================");
-
         try {
             Authentication auth = SecurityContextHolder.getContext().getAuthentication();
             String email = (auth != null) ? auth.getName() : null;
-            System.out.println("🔐 Usuario autenticado: " + email);
 
             if (email == null || email.isEmpty()) {
                 return ResponseEntity.status(401).body("No se pudo obtener el cliente autenticado.");
@@ -93,46 +99,83 @@ public class AppointmentController {
             Client client = clientRepository.findByEmail(email)
                     .orElseThrow(() -> new RuntimeException("Cliente no encontrado"));
 
-            List<Appointment> appointments = appointmentService.getAppointmentsByClient(client.getId());
-
-            System.out.println("✅ " + appointments.size() + " citas encontradas para el cliente ID " + client.getId());
-            System.out.println("==========================================================================\n");
+            List<AppointmentDto> appointments = appointmentService.getAppointmentsByClient(client.getId());
+            log.debug("{} citas encontradas para el cliente {}", appointments.size(), client.getId());
 
             return ResponseEntity.ok(appointments);
 
         } catch (RuntimeException e) {
-            System.err.println("❌ ERROR al obtener citas del cliente:");
-            e.printStackTrace();
-            System.out.println("==========================================================================\n");
+            log.warn("No se pudieron obtener las citas del cliente: {}", e.getMessage());
+            log.debug("Detalle del error al obtener citas", e);
             return ResponseEntity.badRequest().body("Error al obtener citas: " + e.getMessage());
         }
     }
 
     // ✅ Obtener todas las citas de un cliente por ID (versión tradicional)
     @GetMapping("/client/{clientId}")
-    public ResponseEntity<List<Appointment>> getAppointmentsByClient(@PathVariable Long clientId) {
-        System.out.println("📅 Consultando citas del cliente ID: " + clientId);
+    public ResponseEntity<List<AppointmentDto>> getAppointmentsByClient(@PathVariable Long clientId) {
+        log.debug("Consultando citas del cliente {}", clientId);
         return ResponseEntity.ok(appointmentService.getAppointmentsByClient(clientId));
     }
 
     // ✅ Obtener todas las citas de un barbero
     @GetMapping("/barber/{barberId}")
-    public ResponseEntity<List<Appointment>> getAppointmentsByBarber(@PathVariable Long barberId) {
-        System.out.println("📅 Consultando citas del barbero ID: " + barberId);
+    public ResponseEntity<List<AppointmentDto>> getAppointmentsByBarber(@PathVariable Long barberId) {
+        log.debug("Consultando citas del barbero {}", barberId);
         return ResponseEntity.ok(appointmentService.getAppointmentsByBarber(barberId));
     }
 
     // ✅ Obtener todas las citas de una barbería
     @GetMapping("/barbershop/{barbershopId}")
-    public ResponseEntity<List<Appointment>> getAppointmentsByBarbershop(@PathVariable Long barbershopId) {
-        System.out.println("📅 Consultando citas de la barbería ID: " + barbershopId);
+    public ResponseEntity<List<AppointmentDto>> getAppointmentsByBarbershop(@PathVariable Long barbershopId) {
+        log.debug("Consultando citas de la barbería {}", barbershopId);
         return ResponseEntity.ok(appointmentService.getAppointmentsByBarbershop(barbershopId));
     }
 
+    // ✅ Citas de un cliente paginadas (?from=&to=&status=&cursor=&limit=)
+    @GetMapping("/client/{clientId}/page")
+    public ResponseEntity<?> getAppointmentsPageByClient(@PathVariable Long clientId, AppointmentQuery query) {
+        try {
+            PageResponse<AppointmentDto> page = appointmentService.getAppointmentsPageByClient(clientId, query);
+            return ResponseEntity.ok(page);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // ✅ Citas de un barbero paginadas (?from=&to=&status=&cursor=&limit=)
+    @GetMapping("/barber/{barberId}/page")
+    public ResponseEntity<?> getAppointmentsPageByBarber(@PathVariable Long barberId, AppointmentQuery query) {
+        try {
+            PageResponse<AppointmentDto> page = appointmentService.getAppointmentsPageByBarber(barberId, query);
+            return ResponseEntity.ok(page);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // ✅ Citas de una barbería paginadas (?from=&to=&status=&cursor=&limit=)
+    @GetMapping("/barbershop/{barbershopId}/page")
+    public ResponseEntity<?> getAppointmentsPageByBarbershop(@PathVariable Long barbershopId, AppointmentQuery query) {
+        try {
+            PageResponse<AppointmentDto> page = appointmentService.getAppointmentsPageByBarbershop(barbershopId, query);
+            return ResponseEntity.ok(page);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // ✅ Estado de la etapa de eventos: procesados por tipo, en cola y descartados
+    @GetMapping("/events/stats")
+    public ResponseEntity<AppointmentEventStatsResponse> getEventStats() {
+        return ResponseEntity.ok(new AppointmentEventStatsResponse(
+                statsListener.snapshot(), eventPublisher.backlog(), eventPublisher.dropped()));
+    }
+
     // ✅ Actualizar estado de una cita
     @PutMapping("/{id}/status")
     public ResponseEntity<?> updateStatus(@PathVariable Long id, @RequestParam String status) {
-        System.out.println("🛠 Actualizando estado de cita ID: " + id + " → " + status);
+        log.debug("Actualizando estado de la cita {} a {}", id, status);
         try {
             Appointment updated = appointmentService.updateStatus(id, status);
             return ResponseEntity.ok(updated);
@@ -144,7 +187,7 @@ public class AppointmentController {
     // ✅ Eliminar o cancelar una cita
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteAppointment(@PathVariable Long id) {
-        System.out.println("🗑 Eliminando cita ID: " + id);
+        log.debug("Eliminando cita {}", id);
         try {
             appointmentService.deleteAppointment(id);
             return ResponseEntity.ok("Cita eliminada correctamente");
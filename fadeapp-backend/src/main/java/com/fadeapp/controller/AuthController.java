@@ -5,8 +5,11 @@ import com.fadeapp.dto.LoginResponse;
 import com.fadeapp.model.Client;
 import com.fadeapp.model.Barber;
 import com.fadeapp.model.Barbershop;
+import com.fadeapp.security.PasswordHasher;
 import com.fadeapp.service.AuthService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -52,4 +55,12 @@ public class AuthController {
         boolean isValid = authService.validateToken(token);
         return ResponseEntity.ok(isValid);
     }
+
+    // Cola de hashing llena (ola de logins o registros): 503 para que el cliente reintente
+    @ExceptionHandler(PasswordHasher.BusyException.class)
+    public ResponseEntity<String> hashingBusy(PasswordHasher.BusyException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(e.getMessage());
+    }
 }
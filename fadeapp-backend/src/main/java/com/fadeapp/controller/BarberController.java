@@ -1,13 +1,19 @@
 package com.fadeapp.controller;
 
+import com.fadeapp.dto.AppointmentDto;
+import com.fadeapp.dto.BarberDto;
+import com.fadeapp.dto.ScheduleDto;
+import com.fadeapp.dto.SlotResponse;
 import com.fadeapp.model.Barber;
-import com.fadeapp.model.Appointment;
 import com.fadeapp.model.Schedule;
+import com.fadeapp.service.AvailabilityService;
 import com.fadeapp.service.BarberService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,6 +24,7 @@ import java.util.Optional;
 public class BarberController {
 
     private final BarberService barberService;
+    private final AvailabilityService availabilityService;
 
     // 🔹 Registrar un nuevo barbero
     @PostMapping("/register")
@@ -33,7 +40,7 @@ public class BarberController {
     // 🔹 Buscar barbero por correo electrónico
     @GetMapping("/email/{email}")
     public ResponseEntity<?> findByEmail(@PathVariable String email) {
-        Optional<Barber> barber = barberService.findByEmail(email);
+        Optional<BarberDto> barber = barberService.findByEmail(email);
         return barber.map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -59,7 +66,7 @@ public class BarberController {
     @PutMapping("/{barberId}/block/{scheduleId}")
     public ResponseEntity<?> blockSchedule(@PathVariable Long barberId, @PathVariable Long scheduleId) {
         try {
-            Schedule blocked = barberService.blockSchedule(barberId, scheduleId);
+            ScheduleDto blocked = barberService.blockSchedule(barberId, scheduleId);
             return ResponseEntity.ok(blocked);
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
@@ -70,7 +77,7 @@ public class BarberController {
     @PutMapping("/{barberId}/unblock/{scheduleId}")
     public ResponseEntity<?> unblockSchedule(@PathVariable Long barberId, @PathVariable Long scheduleId) {
         try {
-            Schedule unblocked = barberService.unblockSchedule(barberId, scheduleId);
+            ScheduleDto unblocked = barberService.unblockSchedule(barberId, scheduleId);
             return ResponseEntity.ok(unblocked);
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
@@ -90,7 +97,22 @@ public class BarberController {
 
     // 🔹 Obtener las citas del barbero
     @GetMapping("/{id}/appointments")
-    public ResponseEntity<List<Appointment>> getAppointments(@PathVariable Long id) {
+    public ResponseEntity<List<AppointmentDto>> getAppointments(@PathVariable Long id) {
         return ResponseEntity.ok(barberService.getAppointments(id));
     }
+
+    // 🔹 Obtener horas libres del barbero para un servicio en una fecha
+    @GetMapping("/{id}/availability")
+    public ResponseEntity<?> getAvailability(
+            @PathVariable Long id,
+            @RequestParam Long serviceId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date
+    ) {
+        try {
+            List<SlotResponse> slots = availabilityService.getAvailableSlots(id, serviceId, date);
+            return ResponseEntity.ok(slots);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
 }
@@ -1,16 +1,28 @@
 package com.fadeapp.controller;
 
+import com.fadeapp.cache.BarbershopCatalogCache;
+import com.fadeapp.dto.AppointmentDto;
+import com.fadeapp.dto.BarberDto;
+import com.fadeapp.dto.BarbershopDetailDto;
+import com.fadeapp.dto.BarbershopDto;
+import com.fadeapp.dto.CacheStatsResponse;
+import com.fadeapp.dto.PageResponse;
+import com.fadeapp.dto.ScheduleDto;
+import com.fadeapp.dto.ServiceDto;
 import com.fadeapp.model.Barbershop;
 import com.fadeapp.model.Barber;
 import com.fadeapp.model.EntityService;
-import com.fadeapp.model.Schedule;
-import com.fadeapp.model.Appointment;
+import com.fadeapp.service.AvailabilityService;
+import com.fadeapp.service.BarbershopNearbyService;
+import com.fadeapp.service.BarbershopSearchService;
 import com.fadeapp.service.BarbershopService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/api/barbershops")
@@ -19,6 +31,10 @@ import java.util.List;
 public class BarbershopController {
 
     private final BarbershopService barbershopService;
+    private final BarbershopCatalogCache catalogCache;
+    private final BarbershopSearchService searchService;
+    private final BarbershopNearbyService nearbyService;
+    private final AvailabilityService availabilityService;
 
     // 🔹 Registrar una nueva barbería
     @PostMapping("/register")
@@ -57,6 +73,21 @@ public class BarbershopController {
         }
     }
 
+    // 🔹 Fijar la ubicación de la barbería
+    @PutMapping("/{id}/location")
+    public ResponseEntity<?> setLocation(
+            @PathVariable Long id,
+            @RequestParam Double latitude,
+            @RequestParam Double longitude
+    ) {
+        try {
+            barbershopService.setLocation(id, latitude, longitude);
+            return ResponseEntity.ok("Ubicación actualizada correctamente");
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     // 🔹 Agregar nuevo servicio
     @PostMapping("/{id}/services")
     public ResponseEntity<?> addService(@PathVariable Long id, @RequestBody EntityService service) {
@@ -136,29 +167,83 @@ public class BarbershopController {
 
     // 🔹 Obtener barberos activos
     @GetMapping("/{id}/barbers/active")
-    public ResponseEntity<List<Barber>> getActiveBarbers(@PathVariable Long id) {
-        return ResponseEntity.ok(barbershopService.getActiveBarbers(id));
+    public ResponseEntity<List<BarberDto>> getActiveBarbers(@PathVariable Long id) {
+        List<BarberDto> barbers = barbershopService.getActiveBarbers(id);
+        return ETags.ok(ETags.of(barbers), barbers);
     }
 
     // 🔹 Obtener horarios disponibles de todos los barberos
     @GetMapping("/{id}/schedules")
-    public ResponseEntity<List<Schedule>> getAvailableSchedules(@PathVariable Long id) {
-        return ResponseEntity.ok(barbershopService.getAvailableSchedules(id));
+    public ResponseEntity<List<ScheduleDto>> getAvailableSchedules(@PathVariable Long id) {
+        List<ScheduleDto> schedules = barbershopService.getAvailableSchedules(id);
+        return ETags.ok(ETags.of(schedules), schedules);
     }
 
     // 🔹 Obtener todas las citas de la barbería
     @GetMapping("/{id}/appointments")
-    public ResponseEntity<List<Appointment>> getAppointments(@PathVariable Long id) {
+    public ResponseEntity<List<AppointmentDto>> getAppointments(@PathVariable Long id) {
         return ResponseEntity.ok(barbershopService.getAppointments(id));
     }
 
     // 🔹 Obtener todas las barberías o filtrar por ciudad
     @GetMapping
-    public ResponseEntity<List<Barbershop>> getAllBarbershops(@RequestParam(required = false) String city) {
-        List<Barbershop> list = (city != null && !city.isEmpty())
+    public ResponseEntity<List<BarbershopDto>> getAllBarbershops(@RequestParam(required = false) String city) {
+        List<BarbershopDto> list = (city != null && !city.isEmpty())
                 ? barbershopService.getByCity(city)
                 : barbershopService.getAll();
-        return ResponseEntity.ok(list);
+        return ETags.ok(ETags.of(list), list);
+    }
+
+    // 🔹 Buscar barberías por nombre, ciudad o servicio (?q=&limit=), tolera tildes y errores de tipeo
+    @GetMapping("/search")
+    public ResponseEntity<List<BarbershopDto>> search(@RequestParam String q,
+                                                      @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(searchService.search(q, limit));
+    }
+
+    // 🔹 Barberías activas cerca de un punto (?lat=&lng=&radiusKm=&limit=&openNow=), de la más cercana a la más lejana
+    @GetMapping("/nearby")
+    public ResponseEntity<?> getNearby(@RequestParam Double lat,
+                                       @RequestParam Double lng,
+                                       @RequestParam(required = false) Double radiusKm,
+                                       @RequestParam(required = false) Integer limit,
+                                       @RequestParam(defaultValue = "false") boolean openNow) {
+        try {
+            return ResponseEntity.ok(nearbyService.findNearby(lat, lng, radiusKm, limit, openNow));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // 🔹 Quién puede atender antes: primer turno libre de cada barbero activo para un servicio (?serviceId=&days=)
+    @GetMapping("/{id}/next-available")
+    public ResponseEntity<?> getNextAvailable(@PathVariable Long id,
+                                              @RequestParam Long serviceId,
+                                              @RequestParam(required = false) Integer days) {
+        try {
+            return ResponseEntity.ok(availabilityService.getNextAvailable(id, serviceId, days));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // 🔹 Obtener barberías paginadas (?city=&cursor=&limit=)
+    @GetMapping("/page")
+    public ResponseEntity<?> getBarbershopsPage(@RequestParam(required = false) String city,
+                                                @RequestParam(required = false) String cursor,
+                                                @RequestParam(required = false) Integer limit) {
+        try {
+            PageResponse<BarbershopDto> page = barbershopService.getPage(city, cursor, limit);
+            return ResponseEntity.ok(page);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // 🔹 Aciertos y fallos de la caché del catálogo
+    @GetMapping("/catalog/stats")
+    public ResponseEntity<Map<String, CacheStatsResponse>> getCatalogStats() {
+        return ResponseEntity.ok(catalogCache.stats());
     }
 
     // 🔹 Obtener una barbería por su ID
@@ -166,7 +251,7 @@ public class BarbershopController {
     public ResponseEntity<?> getBarbershopById(@PathVariable Long id) {
         try {
             return barbershopService.getById(id)
-                    .map(ResponseEntity::ok)
+                    .<ResponseEntity<?>>map(detail -> ETags.ok(detailETag(detail), detail))
                     .orElseGet(() -> ResponseEntity.notFound().build());
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
@@ -175,12 +260,18 @@ public class BarbershopController {
 
     // 🔹 Obtener todos los servicios de una barbería
     @GetMapping("/{id}/services/all")
-    public ResponseEntity<List<EntityService>> getServicesByBarbershop(@PathVariable Long id) {
+    public ResponseEntity<List<ServiceDto>> getServicesByBarbershop(@PathVariable Long id) {
         try {
-            List<EntityService> services = barbershopService.getServicesByBarbershop(id);
-            return ResponseEntity.ok(services);
+            List<ServiceDto> services = barbershopService.getServicesByBarbershop(id);
+            return ETags.ok(ETags.of(services), services);
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().build();
         }
     }
+
+    // 🔹 El detalle cambia si cambia la barbería, uno de sus servicios o uno de sus barberos
+    private static String detailETag(BarbershopDetailDto detail) {
+        return ETags.of(Stream.concat(Stream.of(detail.barbershop()),
+                Stream.concat(detail.services().stream(), detail.barbers().stream())));
+    }
 }
@@ -1,8 +1,10 @@
 package com.fadeapp.controller;
 
+import com.fadeapp.dto.BarberDto;
+import com.fadeapp.dto.BarbershopDto;
+import com.fadeapp.dto.ClientDto;
+import com.fadeapp.dto.PageResponse;
 import com.fadeapp.model.Client;
-import com.fadeapp.model.Barbershop;
-import com.fadeapp.model.Barber;
 import com.fadeapp.service.ClientService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -28,13 +30,25 @@ public class ClientController {
 
     // 🔹 Obtener todos los clientes
     @GetMapping
-    public ResponseEntity<List<Client>> getAllClients() {
+    public ResponseEntity<List<ClientDto>> getAllClients() {
         return ResponseEntity.ok(clientService.getAllClients());
     }
 
+    // 🔹 Obtener clientes paginados (?cursor=&limit=)
+    @GetMapping("/page")
+    public ResponseEntity<?> getClientsPage(@RequestParam(required = false) String cursor,
+                                            @RequestParam(required = false) Integer limit) {
+        try {
+            PageResponse<ClientDto> page = clientService.getClientsPage(cursor, limit);
+            return ResponseEntity.ok(page);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     // 🔹 Obtener cliente por ID
     @GetMapping("/{id}")
-    public ResponseEntity<Optional<Client>> getClientById(@PathVariable Long id) {
+    public ResponseEntity<Optional<ClientDto>> getClientById(@PathVariable Long id) {
         return ResponseEntity.ok(clientService.getClientById(id));
     }
 
@@ -54,7 +68,7 @@ public class ClientController {
 
     // 🔹 Buscar cliente por email
     @GetMapping("/by-email")
-    public ResponseEntity<Optional<Client>> findByEmail(@RequestParam String email) {
+    public ResponseEntity<Optional<ClientDto>> findByEmail(@RequestParam String email) {
         return ResponseEntity.ok(clientService.findByEmail(email));
     }
 
@@ -66,7 +80,7 @@ public class ClientController {
 
     // 🔹 Listar barberías disponibles por ciudad
     @GetMapping("/barbershops")
-    public ResponseEntity<List<Barbershop>> getBarbershopsByCity(@RequestParam String city) {
+    public ResponseEntity<List<BarbershopDto>> getBarbershopsByCity(@RequestParam String city) {
         return ResponseEntity.ok(clientService.getBarbershopsByCity(city));
     }
 
@@ -79,8 +93,8 @@ public class ClientController {
 
     // 🔹 Listar barberos de una barbería
     @GetMapping("/{barbershopId}/barbers")
-    public ResponseEntity<List<Barber>> getBarbersFromBarbershop(@PathVariable Long barbershopId) {
-        List<Barber> barbers = clientService.getBarbersFromBarbershop(barbershopId);
+    public ResponseEntity<List<BarberDto>> getBarbersFromBarbershop(@PathVariable Long barbershopId) {
+        List<BarberDto> barbers = clientService.getBarbersFromBarbershop(barbershopId);
         return ResponseEntity.ok(barbers);
     }
 }
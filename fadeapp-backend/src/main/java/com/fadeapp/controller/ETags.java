@@ -0,0 +1,59 @@
+package com.fadeapp.controller;
+
+import com.fadeapp.dto.Versioned;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.stream.Stream;
+
+/**
+ * ETags fuertes para las lecturas del catálogo: resumen SHA-256 de los pares
+ * tipo:id:versión de las filas de la respuesta. Cualquier alta, baja o edición
+ * cambia el resultado, así que el cliente recibe 304 solo si nada cambió.
+ * ResponseEntity con ETag ya responde 304 ante un If-None-Match igual, sin serializar el cuerpo.
+ */
+final class ETags {
+
+    private ETags() {
+    }
+
+    static String of(Versioned row) {
+        return of(Stream.of(row));
+    }
+
+    static String of(Collection<? extends Versioned> rows) {
+        return of(rows.stream());
+    }
+
+    static String of(Stream<? extends Versioned> rows) {
+        MessageDigest digest = sha256();
+        rows.forEach(row -> update(digest, row));
+        return HexFormat.of().formatHex(digest.digest(), 0, 16);
+    }
+
+    // 🔹 200 con ETag; no-cache obliga al cliente a revalidar antes de reutilizar su copia
+    static <T> ResponseEntity<T> ok(String etag, T body) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(etag)
+                .body(body);
+    }
+
+    private static void update(MessageDigest digest, Versioned row) {
+        String key = row.getClass().getSimpleName() + ':' + row.id() + ':' + row.version() + ';';
+        digest.update(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
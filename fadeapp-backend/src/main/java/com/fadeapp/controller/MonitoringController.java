@@ -0,0 +1,29 @@
+package com.fadeapp.controller;
+
+import com.fadeapp.dto.SqlEndpointStatsResponse;
+import com.fadeapp.monitoring.SqlOffenders;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/monitoring")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+public class MonitoringController {
+
+    private static final int MAX_LIMIT = 100;
+
+    private final SqlOffenders sqlOffenders;
+
+    // 🔹 Endpoints que más consultan la base de datos por petición (orderBy=statements|time)
+    @GetMapping("/sql")
+    public ResponseEntity<List<SqlEndpointStatsResponse>> getSqlOffenders(
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(defaultValue = "statements") String orderBy) {
+        int size = Math.max(1, Math.min(limit, MAX_LIMIT));
+        return ResponseEntity.ok(sqlOffenders.worst(size, "time".equalsIgnoreCase(orderBy)));
+    }
+}
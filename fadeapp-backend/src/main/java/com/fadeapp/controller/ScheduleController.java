@@ -1,5 +1,9 @@
 package com.fadeapp.controller;
 
+import com.fadeapp.dto.BulkScheduleResponse;
+import com.fadeapp.dto.ScheduleAvailabilityRequest;
+import com.fadeapp.dto.ScheduleDto;
+import com.fadeapp.dto.WeeklyScheduleRequest;
 import com.fadeapp.model.Schedule;
 import com.fadeapp.service.ScheduleService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -28,12 +32,23 @@ public class ScheduleController {
         }
     }
 
+    // 🔹 Aplicar una plantilla semanal (días, jornada y descansos) a varios barberos
+    @PostMapping("/bulk")
+    public ResponseEntity<?> createWeeklySchedules(@RequestBody WeeklyScheduleRequest request) {
+        try {
+            BulkScheduleResponse created = scheduleService.createWeeklySchedules(request);
+            return ResponseEntity.ok(created);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+
     // 🔹 Obtener todos los horarios de un barbero
     @GetMapping("/barber/{barberId}")
     public ResponseEntity<?> getSchedulesByBarber(@PathVariable Long barberId) {
         try {
-            List<Schedule> schedules = scheduleService.getSchedulesByBarber(barberId);
-            return ResponseEntity.ok(schedules);
+            List<ScheduleDto> schedules = scheduleService.getSchedulesByBarber(barberId);
+            return ETags.ok(ETags.of(schedules), schedules);
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body("Error: " + e.getMessage());
         }
@@ -42,8 +57,8 @@ public class ScheduleController {
     // 🔹 Obtener un horario por ID
     @GetMapping("/{id}")
     public ResponseEntity<?> getScheduleById(@PathVariable Long id) {
-        Optional<Schedule> schedule = scheduleService.getScheduleById(id);
-        return schedule.map(ResponseEntity::ok)
+        Optional<ScheduleDto> schedule = scheduleService.getScheduleById(id);
+        return schedule.<ResponseEntity<?>>map(s -> ETags.ok(ETags.of(s), s))
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -58,13 +73,24 @@ public class ScheduleController {
         }
     }
 
+    // 🔹 Bloquear o desbloquear en bloque (vacaciones, festivos) para uno o varios barberos
+    @PutMapping("/availability")
+    public ResponseEntity<?> updateAvailability(@RequestBody ScheduleAvailabilityRequest request) {
+        try {
+            BulkScheduleResponse updated = scheduleService.updateAvailability(request);
+            return ResponseEntity.ok(updated);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+
     // 🔹 Cambiar disponibilidad (bloquear o desbloquear)
     @PatchMapping("/{id}/availability")
     public ResponseEntity<?> toggleAvailability(@PathVariable Long id, @RequestParam boolean available) {
         try {
-            Schedule updated = scheduleService.toggleAvailability(id, available);
+            ScheduleDto updated = scheduleService.toggleAvailability(id, available);
             String status = available ? "desbloqueado" : "bloqueado";
-            return ResponseEntity.ok("Horario " + status + " correctamente: " + updated.getDay());
+            return ResponseEntity.ok("Horario " + status + " correctamente: " + updated.day());
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body("Error: " + e.getMessage());
         }
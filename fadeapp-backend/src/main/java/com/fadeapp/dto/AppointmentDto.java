@@ -1,4 +1,37 @@
 package com.fadeapp.dto;
 
-public class AppointmentDto {
+import java.time.LocalDateTime;
+
+/**
+ * Vista de lectura de una cita: solo las columnas que muestra la app,
+ * con nombre e id de cliente, barbero, barbería y servicio en lugar de las entidades completas.
+ */
+public record AppointmentDto(
+        Long id,
+        LocalDateTime date,
+        LocalDateTime endDate,
+        String status,
+        Ref client,
+        Ref barber,
+        Ref barbershop,
+        ServiceDto service
+) {
+
+    // 🔹 Referencia mínima a otra entidad (id + nombre visible)
+    public record Ref(Long id, String name) {
+    }
+
+    // 🔹 Constructor plano usado por las consultas "SELECT new" del repositorio
+    public AppointmentDto(Long id, LocalDateTime date, LocalDateTime endDate, String status,
+                          Long clientId, String clientName,
+                          Long barberId, String barberName,
+                          Long barbershopId, String barbershopName,
+                          Long serviceId, String serviceName, Double servicePrice,
+                          Integer serviceDuration, boolean serviceStatus, long serviceVersion) {
+        this(id, date, endDate, status,
+                new Ref(clientId, clientName),
+                new Ref(barberId, barberName),
+                barbershopId != null ? new Ref(barbershopId, barbershopName) : null,
+                new ServiceDto(serviceId, serviceName, servicePrice, serviceDuration, serviceStatus, serviceVersion));
+    }
 }
@@ -0,0 +1,16 @@
+package com.fadeapp.dto;
+
+import com.fadeapp.event.AppointmentEvent;
+
+import java.util.Map;
+
+/**
+ * Estado de la etapa de eventos de citas: eventos procesados por tipo,
+ * y por oyente los que siguen en cola y los descartados por cola llena.
+ */
+public record AppointmentEventStatsResponse(
+        Map<AppointmentEvent.Type, Long> events,
+        Map<String, Long> backlog,
+        Map<String, Long> dropped
+) {
+}
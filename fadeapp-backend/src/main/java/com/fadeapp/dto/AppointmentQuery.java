@@ -0,0 +1,29 @@
+package com.fadeapp.dto;
+
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filtros y cursor para listar citas paginadas (parámetros de la URL).
+ */
+@Data
+public class AppointmentQuery {
+
+    // Fecha mínima (inclusive)
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime from;
+
+    // Fecha máxima (exclusiva)
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime to;
+
+    // PENDING, CONFIRMED, CANCELLED o COMPLETED
+    private String status;
+
+    // Cursor devuelto por la página anterior
+    private String cursor;
+
+    private Integer limit;
+}
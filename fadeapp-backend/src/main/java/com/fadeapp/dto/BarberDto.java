@@ -0,0 +1,16 @@
+package com.fadeapp.dto;
+
+/**
+ * Vista de lectura de un barbero (sin contraseña, horarios ni citas).
+ */
+public record BarberDto(
+        Long id,
+        String name,
+        String email,
+        String imageUrl,
+        String specialty,
+        boolean status,
+        Long barbershopId,
+        long version
+) implements Versioned {
+}
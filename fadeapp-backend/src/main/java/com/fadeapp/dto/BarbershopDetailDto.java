@@ -0,0 +1,16 @@
+package com.fadeapp.dto;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+
+import java.util.List;
+
+/**
+ * Detalle de una barbería: sus datos más los servicios y barberos,
+ * cada lista cargada con una sola consulta.
+ */
+public record BarbershopDetailDto(
+        @JsonUnwrapped BarbershopDto barbershop,
+        List<ServiceDto> services,
+        List<BarberDto> barbers
+) {
+}
@@ -0,0 +1,22 @@
+package com.fadeapp.dto;
+
+import java.time.LocalTime;
+
+/**
+ * Vista de lectura de una barbería para listados (sin contraseña ni colecciones).
+ */
+public record BarbershopDto(
+        Long id,
+        String name,
+        String address,
+        String city,
+        String email,
+        LocalTime openingTime,
+        LocalTime closingTime,
+        String imageUrl,
+        Double latitude,
+        Double longitude,
+        boolean status,
+        long version
+) implements Versioned {
+}
@@ -0,0 +1,14 @@
+package com.fadeapp.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Intervalo ocupado por una cita activa de un barbero (solo lo necesario para calcular disponibilidad).
+ */
+public record BookedIntervalDto(
+        Long appointmentId,
+        Long barberId,
+        LocalDateTime date,
+        LocalDateTime endDate
+) {
+}
@@ -0,0 +1,10 @@
+package com.fadeapp.dto;
+
+/**
+ * Resultado de una operación masiva sobre horarios: barberos afectados y horarios creados o modificados.
+ */
+public record BulkScheduleResponse(
+        int barbers,
+        int schedules
+) {
+}
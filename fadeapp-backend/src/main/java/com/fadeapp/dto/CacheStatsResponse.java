@@ -0,0 +1,13 @@
+package com.fadeapp.dto;
+
+/**
+ * Contadores de una caché: aciertos, fallos, tasa de acierto, expulsiones y tamaño actual.
+ */
+public record CacheStatsResponse(
+        long hits,
+        long misses,
+        double hitRate,
+        long evictions,
+        long size
+) {
+}
@@ -1,4 +1,15 @@
 package com.fadeapp.dto;
 
-public class ClientDto {
+/**
+ * Vista de lectura de un cliente (sin contraseña ni citas).
+ */
+public record ClientDto(
+        Long id,
+        String firstName,
+        String lastName,
+        String email,
+        String phone,
+        String city,
+        boolean status
+) {
 }
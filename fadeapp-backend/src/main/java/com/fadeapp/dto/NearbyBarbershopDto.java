@@ -0,0 +1,12 @@
+package com.fadeapp.dto;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+
+/**
+ * Barbería encontrada por cercanía, con la distancia en kilómetros al punto consultado.
+ */
+public record NearbyBarbershopDto(
+        @JsonUnwrapped BarbershopDto barbershop,
+        double distanceKm
+) {
+}
@@ -0,0 +1,14 @@
+package com.fadeapp.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Primer turno libre de un barbero para un servicio; {@code start} y {@code end}
+ * son nulos si no tiene espacio dentro del horizonte consultado.
+ */
+public record NextAvailableDto(
+        BarberDto barber,
+        LocalDateTime start,
+        LocalDateTime end
+) {
+}
@@ -0,0 +1,57 @@
+package com.fadeapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Página de resultados con paginación por cursor (keyset).
+ * nextCursor es null cuando no hay más resultados; si no, se envía tal cual
+ * en el parámetro "cursor" de la siguiente petición.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PageResponse<T> {
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    private List<T> items;
+    private String nextCursor;
+
+    // 🔹 Tamaño de página solicitado, acotado entre 1 y MAX_LIMIT
+    public static int clampLimit(Integer limit) {
+        if (limit == null || limit < 1) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+
+    /**
+     * Arma la página a partir de una consulta que pidió limit + 1 filas:
+     * si llegó la fila extra, hay página siguiente y el cursor es la última fila devuelta.
+     */
+    public static <T> PageResponse<T> of(List<T> fetched, int limit, Function<T, String> cursorOf) {
+        if (fetched.size() <= limit) {
+            return new PageResponse<>(fetched, null);
+        }
+        List<T> items = fetched.subList(0, limit);
+        return new PageResponse<>(items, cursorOf.apply(items.get(limit - 1)));
+    }
+
+    // 🔹 Cursor numérico (último id visto); sin cursor se empieza desde el principio
+    public static long parseIdCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(cursor);
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Cursor inválido");
+        }
+    }
+}
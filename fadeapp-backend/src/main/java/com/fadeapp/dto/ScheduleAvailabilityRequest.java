@@ -0,0 +1,30 @@
+package com.fadeapp.dto;
+
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Bloqueo o desbloqueo masivo de horarios (vacaciones, festivos) para uno o varios barberos:
+ * los de fecha concreta dentro de [from, to] y, si se indican, los semanales de ciertos días.
+ */
+@Data
+public class ScheduleAvailabilityRequest {
+
+    private List<Long> barberIds;
+
+    // Rango de fechas (inclusive) de los horarios de fecha concreta
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate from;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate to;
+
+    // Días de la semana cuyos horarios semanales también cambian ("Lunes", "sábado"...)
+    private List<String> days;
+
+    // false = bloquear, true = desbloquear
+    private boolean available;
+}
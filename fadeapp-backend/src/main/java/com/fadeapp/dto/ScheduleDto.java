@@ -0,0 +1,17 @@
+package com.fadeapp.dto;
+
+import java.time.LocalTime;
+
+/**
+ * Vista de lectura de un horario, con el id del barbero al que pertenece.
+ */
+public record ScheduleDto(
+        Long id,
+        String day,
+        LocalTime startTime,
+        LocalTime endTime,
+        boolean available,
+        Long barberId,
+        long version
+) implements Versioned {
+}
@@ -0,0 +1,14 @@
+package com.fadeapp.dto;
+
+/**
+ * Vista de lectura de un servicio de la barbería.
+ */
+public record ServiceDto(
+        Long id,
+        String name,
+        Double price,
+        Integer duration,
+        boolean status,
+        long version
+) implements Versioned {
+}
@@ -0,0 +1,10 @@
+package com.fadeapp.dto;
+
+/**
+ * Nombre de un servicio activo junto con su barbería (para el índice de búsqueda).
+ */
+public record ServiceNameDto(
+        Long barbershopId,
+        String name
+) {
+}
@@ -0,0 +1,16 @@
+package com.fadeapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SlotResponse {
+
+    private LocalTime start;
+    private LocalTime end;
+}
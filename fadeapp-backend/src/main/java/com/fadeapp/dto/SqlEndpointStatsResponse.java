@@ -0,0 +1,17 @@
+package com.fadeapp.dto;
+
+/**
+ * Consumo de base de datos de un endpoint desde que arrancó la aplicación: sentencias JDBC
+ * y tiempo en base de datos por petición (promedio y peor caso), y cuántas peticiones
+ * superaron el presupuesto.
+ */
+public record SqlEndpointStatsResponse(
+        String endpoint,
+        long requests,
+        double avgStatements,
+        long maxStatements,
+        double avgDbMillis,
+        double maxDbMillis,
+        long overBudget
+) {
+}
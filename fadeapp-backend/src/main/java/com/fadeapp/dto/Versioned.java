@@ -0,0 +1,11 @@
+package com.fadeapp.dto;
+
+/**
+ * Fila de lectura con id y versión (columna @Version), usada para calcular ETags.
+ */
+public interface Versioned {
+
+    Long id();
+
+    long version();
+}
@@ -0,0 +1,29 @@
+package com.fadeapp.dto;
+
+import lombok.Data;
+
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Plantilla semanal de turnos para varios barberos a la vez
+ * (ej. lunes a sábado de 9:00 a 18:00 con almuerzo de 13:00 a 14:00).
+ */
+@Data
+public class WeeklyScheduleRequest {
+
+    // Barberos a los que se aplica la plantilla
+    private List<Long> barberIds;
+
+    // Días del turno ("Lunes", "Martes"... o fechas ISO)
+    private List<String> days;
+
+    private LocalTime startTime;
+    private LocalTime endTime;
+
+    // Descansos dentro de la jornada; parten el turno en varios horarios
+    private List<TimeRange> breaks;
+
+    public record TimeRange(LocalTime startTime, LocalTime endTime) {
+    }
+}
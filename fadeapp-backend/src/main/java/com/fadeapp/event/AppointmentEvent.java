@@ -0,0 +1,70 @@
+package com.fadeapp.event;
+
+import com.fadeapp.model.Appointment;
+import com.fadeapp.model.EntityService;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+/**
+ * Cambio en el ciclo de vida de una cita. Lleva solo ids y valores (nada de entidades JPA),
+ * así los oyentes pueden procesarlo en otro hilo después del commit.
+ */
+public record AppointmentEvent(
+        Type type,
+        Long appointmentId,
+        Long clientId,
+        Long barberId,
+        Long barbershopId,
+        LocalDateTime date,
+        int durationMinutes,
+        String status,
+        // Si la cita ocupaba el horario del barbero antes y después del cambio
+        boolean wasActive,
+        boolean active,
+        Instant occurredAt
+) {
+
+    public enum Type {
+        CREATED, CONFIRMED, CANCELLED, COMPLETED, UPDATED, DELETED
+    }
+
+    // 🔹 Evento a partir de la cita ya guardada
+    public static AppointmentEvent of(Type type, Appointment appointment, boolean wasActive, boolean active) {
+        return new AppointmentEvent(
+                type,
+                appointment.getId(),
+                appointment.getClient() != null ? appointment.getClient().getId() : null,
+                appointment.getBarber() != null ? appointment.getBarber().getId() : null,
+                appointment.getBarbershop() != null ? appointment.getBarbershop().getId() : null,
+                appointment.getDate(),
+                durationOf(appointment),
+                appointment.getStatus(),
+                wasActive,
+                active,
+                Instant.now());
+    }
+
+    // 🔹 Duración reservada (date → endDate), no la actual del servicio, que pudo cambiar después
+    private static int durationOf(Appointment appointment) {
+        if (appointment.getDate() != null && appointment.getEndDate() != null) {
+            return (int) Duration.between(appointment.getDate(), appointment.getEndDate()).toMinutes();
+        }
+        EntityService service = appointment.getService();
+        return service != null ? service.effectiveDuration() : EntityService.DEFAULT_DURATION_MINUTES;
+    }
+
+    // 🔹 Tipo de evento según el nuevo estado de la cita
+    public static Type typeOf(String status) {
+        if (status == null) {
+            return Type.UPDATED;
+        }
+        return switch (status.toUpperCase()) {
+            case "CONFIRMED" -> Type.CONFIRMED;
+            case "CANCELLED" -> Type.CANCELLED;
+            case "COMPLETED" -> Type.COMPLETED;
+            default -> Type.UPDATED;
+        };
+    }
+}
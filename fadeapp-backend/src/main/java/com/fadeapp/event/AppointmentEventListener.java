@@ -0,0 +1,15 @@
+package com.fadeapp.event;
+
+/**
+ * Trabajo secundario ante un evento de cita (disponibilidad, notificaciones, contadores).
+ * Cada oyente tiene su propia cola y su propio hilo virtual: recibe los eventos en orden
+ * y uno lento no retrasa a los demás.
+ */
+public interface AppointmentEventListener {
+
+    void onEvent(AppointmentEvent event);
+
+    // 🔹 La cola del oyente siguió llena y el evento se descartó; se llama en el hilo que publica
+    default void onDropped(AppointmentEvent event) {
+    }
+}
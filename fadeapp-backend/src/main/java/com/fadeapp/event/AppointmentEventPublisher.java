@@ -0,0 +1,164 @@
+package com.fadeapp.event;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Etapa de eventos de citas: el servicio publica y cada oyente consume desde su propia cola
+ * acotada en un hilo virtual, fuera del hilo de la petición.
+ * Los eventos se entregan después del commit, así que un rollback no deja eventos fantasma.
+ * Si una cola se llena, el que publica espera un poco (contrapresión) y luego descarta
+ * avisando al oyente, que puede recuperarse (ej. invalidando su caché).
+ */
+@Slf4j
+@Component
+public class AppointmentEventPublisher implements MeterBinder {
+
+    private final List<Subscriber> subscribers;
+    private final Duration offerTimeout;
+
+    public AppointmentEventPublisher(
+            List<AppointmentEventListener> listeners,
+            @Value("${fadeapp.events.queue-capacity:10000}") int capacity,
+            @Value("${fadeapp.events.offer-timeout:1s}") Duration offerTimeout
+    ) {
+        this.offerTimeout = offerTimeout;
+        this.subscribers = listeners.stream()
+                .map(listener -> new Subscriber(listener, capacity))
+                .toList();
+    }
+
+    // 🔹 Publicar un evento: al confirmar la transacción si hay una, si no en el acto
+    public void publish(AppointmentEvent event) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatch(event);
+                }
+            });
+        } else {
+            dispatch(event);
+        }
+    }
+
+    // 🔹 Eventos en cola y descartados por oyente (monitoreo)
+    public Map<String, Long> backlog() {
+        Map<String, Long> backlog = new LinkedHashMap<>();
+        subscribers.forEach(s -> backlog.put(s.name, (long) s.queue.size()));
+        return backlog;
+    }
+
+    public Map<String, Long> dropped() {
+        Map<String, Long> dropped = new LinkedHashMap<>();
+        subscribers.forEach(s -> dropped.put(s.name, s.dropped.sum()));
+        return dropped;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Subscriber subscriber : subscribers) {
+            Gauge.builder("fadeapp.events.backlog", subscriber.queue, BlockingQueue::size)
+                    .description("Eventos de citas en cola por oyente")
+                    .tag("listener", subscriber.name)
+                    .register(registry);
+            FunctionCounter.builder("fadeapp.events.dropped", subscriber.dropped, LongAdder::sum)
+                    .description("Eventos de citas descartados con la cola llena")
+                    .tag("listener", subscriber.name)
+                    .register(registry);
+        }
+    }
+
+    // 🔹 Al apagar: cada hilo entrega lo que quedó en cola y termina
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(Subscriber::stop);
+    }
+
+    private void dispatch(AppointmentEvent event) {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(event, offerTimeout);
+        }
+    }
+
+    private static final class Subscriber implements Runnable {
+
+        // Marca de fin de cola: detrás de ella no queda nada por entregar (se compara por identidad)
+        private static final AppointmentEvent STOP =
+                new AppointmentEvent(null, null, null, null, null, null, 0, null, false, false, null);
+
+        private final AppointmentEventListener listener;
+        private final String name;
+        private final BlockingQueue<AppointmentEvent> queue;
+        private final LongAdder dropped = new LongAdder();
+        private final Thread worker;
+
+        Subscriber(AppointmentEventListener listener, int capacity) {
+            this.listener = listener;
+            this.name = listener.getClass().getSimpleName();
+            this.queue = new ArrayBlockingQueue<>(capacity);
+            this.worker = Thread.ofVirtual().name("appointment-events-" + name).start(this);
+        }
+
+        void offer(AppointmentEvent event, Duration timeout) {
+            try {
+                if (queue.offer(event, timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            dropped.increment();
+            log.warn("Cola de eventos llena para {}: se descarta {} de la cita {}", name, event.type(), event.appointmentId());
+            listener.onDropped(event);
+        }
+
+        @Override
+        public void run() {
+            try {
+                AppointmentEvent event;
+                while ((event = queue.take()) != STOP) {
+                    deliver(event);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        // 🔹 Encolar la marca de fin detrás de los eventos pendientes y esperar a que el hilo los entregue,
+        // sin interrumpir una entrega en curso
+        void stop() {
+            try {
+                queue.put(STOP);
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void deliver(AppointmentEvent event) {
+            try {
+                listener.onEvent(event);
+            } catch (RuntimeException e) {
+                log.warn("Error en {} procesando {} de la cita {}", name, event.type(), event.appointmentId(), e);
+            }
+        }
+    }
+}
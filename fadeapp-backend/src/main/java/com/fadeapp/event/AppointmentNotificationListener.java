@@ -0,0 +1,22 @@
+package com.fadeapp.event;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Avisos al cliente y al barbero sobre cambios en sus citas.
+ * Por ahora deja constancia en el log; aquí se conectaría el envío real (correo, push).
+ */
+@Slf4j
+@Component
+public class AppointmentNotificationListener implements AppointmentEventListener {
+
+    @Override
+    public void onEvent(AppointmentEvent event) {
+        if (event.type() == AppointmentEvent.Type.UPDATED) {
+            return;
+        }
+        log.info("Notificación {}: cita {} del {} (cliente {}, barbero {})",
+                event.type(), event.appointmentId(), event.date(), event.clientId(), event.barberId());
+    }
+}
@@ -0,0 +1,48 @@
+package com.fadeapp.event;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores de eventos de citas por tipo desde que arrancó la aplicación. También se
+ * publican como fadeapp.appointments.events{type=created|cancelled|...}: las reservas
+ * por minuto y las cancelaciones salen de su tasa en Prometheus.
+ */
+@Component
+public class AppointmentStatsListener implements AppointmentEventListener, MeterBinder {
+
+    private final Map<AppointmentEvent.Type, LongAdder> counters = new EnumMap<>(AppointmentEvent.Type.class);
+
+    public AppointmentStatsListener() {
+        for (AppointmentEvent.Type type : AppointmentEvent.Type.values()) {
+            counters.put(type, new LongAdder());
+        }
+    }
+
+    @Override
+    public void onEvent(AppointmentEvent event) {
+        counters.get(event.type()).increment();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        counters.forEach((type, counter) -> FunctionCounter.builder("fadeapp.appointments.events", counter, LongAdder::sum)
+                .description("Eventos de citas procesados por tipo")
+                .tag("type", type.name().toLowerCase(Locale.ROOT))
+                .register(registry));
+    }
+
+    // 🔹 Copia de los contadores actuales
+    public Map<AppointmentEvent.Type, Long> snapshot() {
+        Map<AppointmentEvent.Type, Long> snapshot = new EnumMap<>(AppointmentEvent.Type.class);
+        counters.forEach((type, counter) -> snapshot.put(type, counter.sum()));
+        return snapshot;
+    }
+}
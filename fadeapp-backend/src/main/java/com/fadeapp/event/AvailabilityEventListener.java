@@ -0,0 +1,34 @@
+package com.fadeapp.event;
+
+import com.fadeapp.service.AvailabilityService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Mantiene el mapa de disponibilidad en memoria: ocupa o libera el intervalo
+ * cuando una cita empieza o deja de ocupar el horario del barbero. Llega después del commit,
+ * así que un día construido entretanto ya puede incluir la cita: el mapa lo ignora por id.
+ */
+@Component
+@RequiredArgsConstructor
+public class AvailabilityEventListener implements AppointmentEventListener {
+
+    private final AvailabilityService availabilityService;
+
+    @Override
+    public void onEvent(AppointmentEvent event) {
+        if (!event.wasActive() && event.active()) {
+            availabilityService.registerAppointment(event.appointmentId(), event.barberId(), event.date(), event.durationMinutes());
+        } else if (event.wasActive() && !event.active()) {
+            availabilityService.releaseAppointment(event.appointmentId(), event.barberId(), event.date(), event.durationMinutes());
+        }
+    }
+
+    // 🔹 Sin el evento el mapa quedaría desfasado: se descartan los días del barbero y se reconstruyen
+    @Override
+    public void onDropped(AppointmentEvent event) {
+        if (event.barberId() != null) {
+            availabilityService.invalidateBarber(event.barberId());
+        }
+    }
+}
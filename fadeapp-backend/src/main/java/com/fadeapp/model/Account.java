@@ -0,0 +1,45 @@
+package com.fadeapp.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Índice unificado de identidades: relaciona cada correo con su rol, la entidad
+ * (cliente, barbero o barbería) y los datos necesarios para autenticar,
+ * de modo que login y validación del token se resuelvan con una sola consulta.
+ */
+@Entity
+@Table(
+        uniqueConstraints = @UniqueConstraint(name = "uk_account_email", columnNames = "email"),
+        indexes = @Index(name = "idx_account_role_entity", columnList = "role, entity_id", unique = true)
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Account {
+
+    public static final String CLIENT = "CLIENT";
+    public static final String BARBER = "BARBER";
+    public static final String BARBERSHOP = "BARBERSHOP";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String email;
+
+    // Rol de la cuenta: CLIENT, BARBER o BARBERSHOP
+    @Column(nullable = false, length = 20)
+    private String role;
+
+    // ID del cliente, barbero o barbería según el rol
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    private String password;
+
+    private boolean status = true;
+}
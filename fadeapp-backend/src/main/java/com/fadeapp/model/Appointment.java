@@ -8,17 +8,31 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
+@Table(indexes = {
+        // 🔹 Índice compuesto para detectar cruces de citas de un barbero sin leer la tabla
+        @Index(name = "idx_appointment_barber_date", columnList = "barber_id, date, end_date, status"),
+        // 🔹 Paginación por cursor de la agenda de la barbería y del historial del cliente
+        @Index(name = "idx_appointment_barbershop_date", columnList = "barbershop_id, date"),
+        @Index(name = "idx_appointment_client_date", columnList = "client_id, date")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Appointment {
 
+    // Ninguna cita puede durar más de un día (acota la búsqueda de cruces)
+    public static final int MAX_DURATION_MINUTES = 24 * 60;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
     private LocalDateTime date;
 
+    // 🔹 Fin de la cita (date + duración del servicio), calculado al guardar
+    @Column(name = "end_date")
+    private LocalDateTime endDate;
+
     // 🔹 Evita recursión con Client
     @ManyToOne
     @JoinColumn(name = "client_id", nullable = false)
@@ -43,4 +57,21 @@ public class Appointment {
     private Barber barber;
 
     private String status = "PENDING";
+
+    // 🔹 Hora de fin con la duración que tiene el servicio al reservar
+    @PrePersist
+    public void computeEndDate() {
+        if (date != null) {
+            int minutes = (service != null) ? service.effectiveDuration() : EntityService.DEFAULT_DURATION_MINUTES;
+            endDate = date.plusMinutes(minutes);
+        }
+    }
+
+    // 🔹 Al actualizar solo se completa si falta: editar el servicio no alarga ni acorta citas ya reservadas
+    @PreUpdate
+    public void fillMissingEndDate() {
+        if (endDate == null) {
+            computeEndDate();
+        }
+    }
 }
@@ -37,6 +37,10 @@ public class Barber {
 
     private String role = "BARBER";
 
+    // 🔹 Versión de la fila (ETag del detalle de la barbería)
+    @Version
+    private long version;
+
     // 🔹 Relación con la barbería (evita recursión infinita)
     @ManyToOne
     @JoinColumn(name = "barbershop_id")
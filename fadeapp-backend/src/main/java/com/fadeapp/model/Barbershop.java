@@ -13,6 +13,10 @@ import java.time.LocalTime;
 import java.util.List;
 
 @Entity
+@Table(indexes = {
+        // 🔹 Filtro por caja de coordenadas mientras la grilla en memoria se construye
+        @Index(name = "idx_barbershop_location", columnList = "latitude, longitude")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -44,12 +48,20 @@ public class Barbershop {
 
     private String imageUrl;
 
+    // 🔹 Ubicación en grados decimales (opcional) para "barberías cerca de mí"
+    private Double latitude;
+    private Double longitude;
+
     // Estado de la barbería (activa/inactiva)
     private boolean status = true;
 
     // Rol para autenticación
     private String role = "BARBERSHOP";
 
+    // 🔹 Versión de la fila: sube en cada cambio y alimenta el ETag de las lecturas
+    @Version
+    private long version;
+
     // 🔹 Relación con barberos (evita recursión infinita)
     @OneToMany(mappedBy = "barbershop", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JsonManagedReference("barbershop-barbers")
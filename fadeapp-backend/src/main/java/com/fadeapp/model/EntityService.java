@@ -14,6 +14,9 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class EntityService {
 
+    // Duración usada cuando el servicio no la tiene configurada
+    public static final int DEFAULT_DURATION_MINUTES = 30;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -29,9 +32,18 @@ public class EntityService {
 
     private boolean status = true; // Activo por defecto
 
+    // 🔹 Versión de la fila (ETag del catálogo de servicios)
+    @Version
+    private long version;
+
     // 🔹 Relación con barbería (evita recursión infinita)
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "barbershop_id", nullable = false)
     @JsonBackReference("barbershop-services")
     private Barbershop barbershop;
+
+    // 🔹 Duración en minutos, con valor por defecto si no está configurada
+    public int effectiveDuration() {
+        return (duration != null) ? duration : DEFAULT_DURATION_MINUTES;
+    }
 }
@@ -8,16 +8,32 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.DayOfWeek;
+import java.time.LocalDate;
 import java.time.LocalTime;
 
 @Entity
+@Table(indexes = {
+        // 🔹 Validación de cruces: solo se leen los horarios del barbero para ese día o esa fecha
+        @Index(name = "idx_schedule_barber_day_of_week", columnList = "barber_id, day_of_week"),
+        @Index(name = "idx_schedule_barber_date", columnList = "barber_id, date")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Schedule {
 
+    public static final String ID_SEQUENCE = "schedule_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    /**
+     * Id de secuencia con reserva por bloques (pooled): permite insertar horarios por lotes JDBC.
+     * En MySQL la secuencia se emula con la tabla schedule_seq; al arrancar se alinea con los
+     * ids existentes (ver ScheduleServiceImpl.alignIdSequence)
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     /**
@@ -26,6 +42,18 @@ public class Schedule {
     @NotBlank(message = "El día no puede estar vacío")
     private String day;
 
+    /**
+     * Día de la semana del turno si se repite cada semana (normalizado desde "day")
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(length = 9)
+    private DayOfWeek dayOfWeek;
+
+    /**
+     * Fecha concreta del turno si no se repite (normalizada desde "day")
+     */
+    private LocalDate date;
+
     /**
      * Hora de inicio del turno
      */
@@ -44,6 +72,12 @@ public class Schedule {
     @Column(nullable = false)
     private boolean available = true;
 
+    /**
+     * Versión de la fila: sube en cada cambio y alimenta el ETag de las lecturas
+     */
+    @Version
+    private long version;
+
     /**
      * Relación con el barbero correspondiente (evita recursión infinita)
      */
@@ -51,4 +85,15 @@ public class Schedule {
     @JoinColumn(name = "barber_id", nullable = false)
     @JsonBackReference("barber-schedules")
     private Barber barber;
+
+    /**
+     * Mantiene sincronizados el día de la semana o la fecha con el texto de "day"
+     */
+    @PrePersist
+    @PreUpdate
+    public void normalizeDay() {
+        ScheduleDay parsed = ScheduleDay.parse(day);
+        dayOfWeek = (parsed != null) ? parsed.dayOfWeek() : null;
+        date = (parsed != null) ? parsed.date() : null;
+    }
 }
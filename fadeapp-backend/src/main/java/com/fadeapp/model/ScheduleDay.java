@@ -0,0 +1,59 @@
+package com.fadeapp.model;
+
+import java.text.Normalizer;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.time.format.TextStyle;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Día normalizado de un horario: un día de la semana que se repite o una fecha concreta
+ * (exactamente uno de los dos). Se obtiene del campo libre "day" del horario.
+ */
+public record ScheduleDay(DayOfWeek dayOfWeek, LocalDate date) {
+
+    private static final Locale SPANISH = Locale.forLanguageTag("es");
+
+    // Nombres aceptados: en español (con o sin tilde) y en inglés
+    private static final Map<String, DayOfWeek> NAMES = new HashMap<>();
+
+    static {
+        for (DayOfWeek day : DayOfWeek.values()) {
+            NAMES.put(normalize(day.getDisplayName(TextStyle.FULL, SPANISH)), day);
+            NAMES.put(day.name().toLowerCase(Locale.ROOT), day);
+        }
+    }
+
+    /**
+     * Interpreta el nombre del día ("Lunes", "miércoles", "monday") o una fecha ISO ("2025-06-02").
+     * Devuelve null si el texto no es ninguno de los dos.
+     */
+    public static ScheduleDay parse(String day) {
+        if (day == null || day.isBlank()) {
+            return null;
+        }
+        DayOfWeek dayOfWeek = NAMES.get(normalize(day));
+        if (dayOfWeek != null) {
+            return new ScheduleDay(dayOfWeek, null);
+        }
+        try {
+            return new ScheduleDay(null, LocalDate.parse(day.trim()));
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    // 🔹 Indica si el horario aplica a una fecha concreta
+    public boolean appliesTo(LocalDate day) {
+        return (date != null) ? date.equals(day) : dayOfWeek == day.getDayOfWeek();
+    }
+
+    private static String normalize(String value) {
+        return Normalizer.normalize(value.trim(), Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase(Locale.ROOT);
+    }
+}
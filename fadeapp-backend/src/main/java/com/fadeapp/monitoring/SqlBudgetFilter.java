@@ -0,0 +1,108 @@
+package com.fadeapp.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Presupuesto de SQL por petición HTTP: cuenta las sentencias JDBC y el tiempo en base de
+ * datos de toda la petición (incluida la carga del usuario autenticado y la serialización
+ * de la respuesta) y avisa en el log cuando se pasa de fadeapp.sql.budget.statements o
+ * fadeapp.sql.budget.db-time, con las sentencias más repetidas para ubicar el N+1.
+ * Cada petición también suma a SqlOffenders y a las métricas fadeapp.sql.*.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1) // después de RequestIdFilter: el aviso lleva el requestId
+public class SqlBudgetFilter extends OncePerRequestFilter {
+
+    // Sentencias repetidas que se muestran en el aviso y largo máximo de cada una
+    private static final int REPEATED_IN_LOG = 3;
+    private static final int MAX_SQL_LENGTH = 160;
+
+    private final SqlOffenders offenders;
+    private final MeterRegistry meterRegistry;
+    private final int maxStatements;
+    private final Duration maxDbTime;
+
+    public SqlBudgetFilter(
+            SqlOffenders offenders,
+            MeterRegistry meterRegistry,
+            @Value("${fadeapp.sql.budget.statements:20}") int maxStatements,
+            @Value("${fadeapp.sql.budget.db-time:250ms}") Duration maxDbTime
+    ) {
+        this.offenders = offenders;
+        this.meterRegistry = meterRegistry;
+        this.maxStatements = maxStatements;
+        this.maxDbTime = maxDbTime;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+
+        SqlRequestStats stats = SqlRequestStats.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlRequestStats.end();
+            request.setAttribute(SqlRequestStats.ATTRIBUTE, stats);
+            record(request, stats);
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlRequestStats stats) {
+        // 🔹 La ruta con variables ({id}) agrupa las peticiones y acota las series de métricas
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        String endpoint = request.getMethod() + " " + uri;
+        boolean overBudget = stats.statements() > maxStatements || stats.dbTime().compareTo(maxDbTime) > 0;
+
+        offenders.record(endpoint, stats, overBudget);
+        meterRegistry.summary("fadeapp.sql.statements", "method", request.getMethod(), "uri", uri)
+                .record(stats.statements());
+        meterRegistry.timer("fadeapp.sql.time", "method", request.getMethod(), "uri", uri)
+                .record(stats.dbTime().toNanos(), TimeUnit.NANOSECONDS);
+
+        if (overBudget) {
+            meterRegistry.counter("fadeapp.sql.budget.exceeded", "method", request.getMethod(), "uri", uri)
+                    .increment();
+            log.warn("{} superó el presupuesto SQL: {} sentencias (máx. {}), {} ms en base de datos (máx. {}){}",
+                    endpoint, stats.statements(), maxStatements, stats.dbTime().toMillis(), maxDbTime.toMillis(),
+                    describe(stats));
+        }
+    }
+
+    private static String describe(SqlRequestStats stats) {
+        List<Map.Entry<String, Integer>> repeated = stats.mostRepeated(REPEATED_IN_LOG);
+        if (repeated.isEmpty()) {
+            return "";
+        }
+        return repeated.stream()
+                .map(SqlBudgetFilter::describe)
+                .collect(Collectors.joining("; ", ". Más repetidas: [", "]"));
+    }
+
+    private static String describe(Map.Entry<String, Integer> entry) {
+        String sql = entry.getKey();
+        return entry.getValue() + "x " + (sql.length() > MAX_SQL_LENGTH ? sql.substring(0, MAX_SQL_LENGTH) + "…" : sql);
+    }
+}
@@ -0,0 +1,79 @@
+package com.fadeapp.monitoring;
+
+import com.fadeapp.dto.SqlEndpointStatsResponse;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Acumulado por endpoint ("GET /api/barbershops/{id}") de las sentencias y el tiempo en base
+ * de datos de cada petición, para listar los que más consultan. Solo contadores sin bloqueo:
+ * registrar una petición no frena a las demás.
+ */
+@Component
+public class SqlOffenders {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final Map<String, Totals> endpoints = new ConcurrentHashMap<>();
+
+    void record(String endpoint, SqlRequestStats stats, boolean overBudget) {
+        endpoints.computeIfAbsent(endpoint, e -> new Totals()).add(stats, overBudget);
+    }
+
+    // 🔹 Los endpoints con más sentencias por petición en promedio (o más tiempo en base de datos)
+    public List<SqlEndpointStatsResponse> worst(int limit, boolean byTime) {
+        Comparator<SqlEndpointStatsResponse> order = byTime
+                ? Comparator.comparingDouble(SqlEndpointStatsResponse::avgDbMillis)
+                : Comparator.comparingDouble(SqlEndpointStatsResponse::avgStatements);
+        return endpoints.entrySet().stream()
+                .map(entry -> entry.getValue().toResponse(entry.getKey()))
+                .sorted(order.reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    // 🔹 Reiniciar los acumulados desde pruebas o benchmarks, a través del bean (no se expone por HTTP)
+    public void clear() {
+        endpoints.clear();
+    }
+
+    private static final class Totals {
+
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder statements = new LongAdder();
+        private final LongAccumulator maxStatements = new LongAccumulator(Math::max, 0);
+        private final LongAdder dbNanos = new LongAdder();
+        private final LongAccumulator maxDbNanos = new LongAccumulator(Math::max, 0);
+        private final LongAdder overBudget = new LongAdder();
+
+        void add(SqlRequestStats stats, boolean exceeded) {
+            long nanos = stats.dbTime().toNanos();
+            requests.increment();
+            statements.add(stats.statements());
+            maxStatements.accumulate(stats.statements());
+            dbNanos.add(nanos);
+            maxDbNanos.accumulate(nanos);
+            if (exceeded) {
+                overBudget.increment();
+            }
+        }
+
+        SqlEndpointStatsResponse toResponse(String endpoint) {
+            long count = Math.max(1, requests.sum());
+            return new SqlEndpointStatsResponse(
+                    endpoint,
+                    requests.sum(),
+                    (double) statements.sum() / count,
+                    maxStatements.get(),
+                    dbNanos.sum() / NANOS_PER_MILLI / count,
+                    maxDbNanos.get() / NANOS_PER_MILLI,
+                    overBudget.sum());
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.fadeapp.monitoring;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sentencias JDBC y tiempo en base de datos de la petición en curso. SqlBudgetFilter la abre
+ * al entrar y la cierra al salir; Hibernate la alimenta desde el mismo hilo mediante
+ * SqlStatementInspector (cada sentencia preparada) y SqlTimingListener (cada ejecución).
+ * El trabajo de otros hilos (oyentes de eventos, tareas programadas) no cuenta.
+ */
+public final class SqlRequestStats {
+
+    // Atributo de la petición con las estadísticas ya cerradas (lo leen las pruebas)
+    public static final String ATTRIBUTE = SqlRequestStats.class.getName();
+
+    // Sentencias distintas que se guardan para el log; el resto solo suma al total
+    private static final int MAX_DISTINCT = 100;
+
+    private static final ThreadLocal<SqlRequestStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long dbNanos;
+    private final Map<String, Integer> repeated = new HashMap<>();
+
+    public static SqlRequestStats begin() {
+        SqlRequestStats stats = new SqlRequestStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    // 🔹 Estadísticas de la petición del hilo actual, o null fuera de una petición
+    static SqlRequestStats current() {
+        return CURRENT.get();
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    void statementPrepared(String sql) {
+        statements++;
+        if (repeated.size() < MAX_DISTINCT || repeated.containsKey(sql)) {
+            repeated.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    void executed(long nanos) {
+        dbNanos += nanos;
+    }
+
+    public int statements() {
+        return statements;
+    }
+
+    public Duration dbTime() {
+        return Duration.ofNanos(dbNanos);
+    }
+
+    // 🔹 Las sentencias que más se repitieron: un N+1 aparece aquí con decenas de ejecuciones
+    public List<Map.Entry<String, Integer>> mostRepeated(int limit) {
+        return repeated.entrySet().stream()
+                .filter(entry -> entry.getValue() > 1)
+                .sorted(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder()))
+                .limit(limit)
+                .map(entry -> Map.entry(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+}
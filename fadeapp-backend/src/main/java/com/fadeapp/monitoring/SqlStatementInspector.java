@@ -0,0 +1,19 @@
+package com.fadeapp.monitoring;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate llama al inspector antes de preparar cada sentencia: aquí solo se cuenta
+ * en la petición en curso, el SQL sigue igual.
+ */
+public class SqlStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        SqlRequestStats stats = SqlRequestStats.current();
+        if (stats != null) {
+            stats.statementPrepared(sql);
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,40 @@
+package com.fadeapp.monitoring;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Mide cuánto tarda cada ejecución JDBC (consultas, actualizaciones y lotes) y la suma al
+ * tiempo en base de datos de la petición en curso. Hibernate crea una instancia por sesión
+ * (hibernate.session.events.auto), así que el inicio pendiente no se comparte entre hilos.
+ */
+public class SqlTimingListener implements SessionEventListener {
+
+    private long started;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        started = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        record();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        started = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        record();
+    }
+
+    private void record() {
+        SqlRequestStats stats = SqlRequestStats.current();
+        if (stats != null) {
+            stats.executed(System.nanoTime() - started);
+        }
+    }
+}
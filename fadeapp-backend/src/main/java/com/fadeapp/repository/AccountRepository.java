@@ -0,0 +1,28 @@
+package com.fadeapp.repository;
+
+import com.fadeapp.model.Account;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface AccountRepository extends JpaRepository<Account, Long> {
+
+    // 🔹 Buscar cuenta por correo (login y autenticación con JWT)
+    Optional<Account> findByEmail(String email);
+
+    // 🔹 Verificar si un correo ya está registrado en cualquier rol
+    boolean existsByEmail(String email);
+
+    // 🔹 Cuenta asociada a un cliente, barbero o barbería
+    Optional<Account> findByRoleAndEntityId(String role, Long entityId);
+
+    // 🔹 Reemplazar el hash de la contraseña (rehash al cambiar el costo de BCrypt)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Account a SET a.password = :password WHERE a.id = :id")
+    int updatePassword(@Param("id") Long id, @Param("password") String password);
+}
@@ -1,17 +1,63 @@
 package com.fadeapp.repository;
 
+import com.fadeapp.dto.AppointmentDto;
+import com.fadeapp.dto.BookedIntervalDto;
 import com.fadeapp.model.Appointment;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface AppointmentRepository extends JpaRepository<Appointment, Long> {
 
+    // 🔹 Proyección de lectura: una sola consulta con joins, sin cargar entidades ni relaciones LAZY
+    String SELECT_DTO = "SELECT new com.fadeapp.dto.AppointmentDto(a.id, a.date, a.endDate, a.status, " +
+            "c.id, CONCAT(c.firstName, ' ', c.lastName), b.id, b.name, bs.id, bs.name, " +
+            "s.id, s.name, s.price, s.duration, s.status, s.version) " +
+            "FROM Appointment a JOIN a.client c JOIN a.barber b JOIN a.service s LEFT JOIN a.barbershop bs ";
+
     // Verifica si un barbero ya tiene una cita en la misma fecha y hora
     boolean existsByBarberIdAndDate(Long barberId, LocalDateTime date);
 
+    // Si el barbero tiene alguna cita (sin cargar la colección completa)
+    boolean existsByBarberId(Long barberId);
+
+    // Citas activas de un barbero cuyo intervalo [date, endDate) se cruza con [start, end).
+    // windowStart acota el rango del índice: ninguna cita empieza antes de start - duración máxima
+    @Query("SELECT a FROM Appointment a WHERE a.barber.id = :barberId " +
+            "AND a.date >= :windowStart AND a.date < :end AND a.endDate > :start " +
+            "AND a.status <> 'CANCELLED'")
+    List<Appointment> findOverlapping(@Param("barberId") Long barberId,
+                                      @Param("start") LocalDateTime start,
+                                      @Param("end") LocalDateTime end,
+                                      @Param("windowStart") LocalDateTime windowStart);
+
+    @Query("SELECT COUNT(a) > 0 FROM Appointment a WHERE a.barber.id = :barberId " +
+            "AND a.date >= :windowStart AND a.date < :end AND a.endDate > :start " +
+            "AND a.status <> 'CANCELLED'")
+    boolean existsOverlapping(@Param("barberId") Long barberId,
+                              @Param("start") LocalDateTime start,
+                              @Param("end") LocalDateTime end,
+                              @Param("windowStart") LocalDateTime windowStart);
+
+    // Verifica si un barbero tiene una cita activa que se cruce con [start, end)
+    default boolean existsOverlapping(Long barberId, LocalDateTime start, LocalDateTime end) {
+        return existsOverlapping(barberId, start, end, start.minusMinutes(Appointment.MAX_DURATION_MINUTES));
+    }
+
+    // Obtiene las citas activas de un barbero que se crucen con [start, end)
+    default List<Appointment> findOverlapping(Long barberId, LocalDateTime start, LocalDateTime end) {
+        return findOverlapping(barberId, start, end, start.minusMinutes(Appointment.MAX_DURATION_MINUTES));
+    }
+
+    // Citas antiguas guardadas antes de existir la columna end_date
+    List<Appointment> findByEndDateIsNull();
+
     // Obtiene todas las citas de un cliente
     List<Appointment> findByClientId(Long clientId);
 
@@ -20,4 +66,69 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
 
     // Obtiene todas las citas de una barbería
     List<Appointment> findByBarbershopId(Long barbershopId);
+
+    @Query(SELECT_DTO + "WHERE a.id = :id")
+    Optional<AppointmentDto> findDtoById(@Param("id") Long id);
+
+    @Query(SELECT_DTO + "WHERE c.id = :clientId")
+    List<AppointmentDto> findDtosByClientId(@Param("clientId") Long clientId);
+
+    @Query(SELECT_DTO + "WHERE b.id = :barberId")
+    List<AppointmentDto> findDtosByBarberId(@Param("barberId") Long barberId);
+
+    @Query(SELECT_DTO + "WHERE bs.id = :barbershopId")
+    List<AppointmentDto> findDtosByBarbershopId(@Param("barbershopId") Long barbershopId);
+
+    // 🔹 Intervalos ocupados de todos los barberos de una barbería en un rango, en una sola consulta
+    @Query("SELECT new com.fadeapp.dto.BookedIntervalDto(a.id, b.id, a.date, a.endDate) " +
+            "FROM Appointment a JOIN a.barber b WHERE b.barbershop.id = :barbershopId " +
+            "AND a.date >= :from AND a.date < :to AND a.status <> 'CANCELLED'")
+    List<BookedIntervalDto> findBookedIntervalsByBarbershopId(@Param("barbershopId") Long barbershopId,
+                                                              @Param("from") LocalDateTime from,
+                                                              @Param("to") LocalDateTime to);
+
+    // Obtiene las citas de un barbero dentro de un rango de fechas
+    List<Appointment> findByBarberIdAndDateBetween(Long barberId, LocalDateTime start, LocalDateTime end);
+
+    // 🔹 Páginas por cursor (date, id) con filtros opcionales de rango y estado.
+    // Cada consulta recorre el índice (dueño, date) desde el cursor, sin OFFSET
+
+    @Query(SELECT_DTO + "WHERE bs.id = :ownerId " +
+            "AND (:from IS NULL OR a.date >= :from) AND (:to IS NULL OR a.date < :to) " +
+            "AND (:status IS NULL OR a.status = :status) " +
+            "AND (:cursorDate IS NULL OR a.date > :cursorDate OR (a.date = :cursorDate AND a.id > :cursorId)) " +
+            "ORDER BY a.date ASC, a.id ASC")
+    List<AppointmentDto> findPageByBarbershop(@Param("ownerId") Long barbershopId,
+                                           @Param("from") LocalDateTime from,
+                                           @Param("to") LocalDateTime to,
+                                           @Param("status") String status,
+                                           @Param("cursorDate") LocalDateTime cursorDate,
+                                           @Param("cursorId") Long cursorId,
+                                           Limit limit);
+
+    @Query(SELECT_DTO + "WHERE b.id = :ownerId " +
+            "AND (:from IS NULL OR a.date >= :from) AND (:to IS NULL OR a.date < :to) " +
+            "AND (:status IS NULL OR a.status = :status) " +
+            "AND (:cursorDate IS NULL OR a.date > :cursorDate OR (a.date = :cursorDate AND a.id > :cursorId)) " +
+            "ORDER BY a.date ASC, a.id ASC")
+    List<AppointmentDto> findPageByBarber(@Param("ownerId") Long barberId,
+                                       @Param("from") LocalDateTime from,
+                                       @Param("to") LocalDateTime to,
+                                       @Param("status") String status,
+                                       @Param("cursorDate") LocalDateTime cursorDate,
+                                       @Param("cursorId") Long cursorId,
+                                       Limit limit);
+
+    @Query(SELECT_DTO + "WHERE c.id = :ownerId " +
+            "AND (:from IS NULL OR a.date >= :from) AND (:to IS NULL OR a.date < :to) " +
+            "AND (:status IS NULL OR a.status = :status) " +
+            "AND (:cursorDate IS NULL OR a.date > :cursorDate OR (a.date = :cursorDate AND a.id > :cursorId)) " +
+            "ORDER BY a.date ASC, a.id ASC")
+    List<AppointmentDto> findPageByClient(@Param("ownerId") Long clientId,
+                                       @Param("from") LocalDateTime from,
+                                       @Param("to") LocalDateTime to,
+                                       @Param("status") String status,
+                                       @Param("cursorDate") LocalDateTime cursorDate,
+                                       @Param("cursorId") Long cursorId,
+                                       Limit limit);
 }
@@ -1,7 +1,13 @@
 package com.fadeapp.repository;
 
+import com.fadeapp.dto.BarberDto;
 import com.fadeapp.model.Barber;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 import java.util.Optional;
@@ -9,6 +15,10 @@ import java.util.Optional;
 @Repository
 public interface BarberRepository extends JpaRepository<Barber, Long> {
 
+    // Proyección de lectura (sin contraseña, horarios ni citas)
+    String SELECT_DTO = "SELECT new com.fadeapp.dto.BarberDto(b.id, b.name, b.email, b.imageUrl, " +
+            "b.specialty, b.status, b.barbershop.id, b.version) FROM Barber b ";
+
     // Buscar barbero por correo electrónico
     Optional<Barber> findByEmail(String email);
 
@@ -17,4 +27,23 @@ public interface BarberRepository extends JpaRepository<Barber, Long> {
 
     // Obtener todos los barberos de una barbería específica
     List<Barber> findByBarbershopId(Long barbershopId);
-}
\ No newline at end of file
+
+    @Query(SELECT_DTO + "WHERE b.barbershop.id = :barbershopId")
+    List<BarberDto> findDtosByBarbershopId(@Param("barbershopId") Long barbershopId);
+
+    @Query(SELECT_DTO + "WHERE b.barbershop.id = :barbershopId AND b.status = true")
+    List<BarberDto> findActiveDtosByBarbershopId(@Param("barbershopId") Long barbershopId);
+
+    @Query(SELECT_DTO + "WHERE b.email = :email")
+    Optional<BarberDto> findDtoByEmail(@Param("email") String email);
+
+    // Bloquea la fila del barbero (SELECT ... FOR UPDATE) para serializar sus reservas
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Barber b WHERE b.id = :id")
+    Optional<Barber> findByIdForUpdate(@Param("id") Long id);
+
+    // 🔹 Actualizar solo la contraseña, sin cargar la entidad
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Barber b SET b.password = :password WHERE b.id = :id")
+    int updatePassword(@Param("id") Long id, @Param("password") String password);
+}
@@ -1,7 +1,12 @@
 package com.fadeapp.repository;
 
+import com.fadeapp.dto.BarbershopDto;
 import com.fadeapp.model.Barbershop;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,6 +15,10 @@ import java.util.Optional;
 @Repository
 public interface BarbershopRepository extends JpaRepository<Barbershop, Long> {
 
+    // 🔹 Proyección de lectura (sin contraseña ni barberos, citas o servicios)
+    String SELECT_DTO = "SELECT new com.fadeapp.dto.BarbershopDto(b.id, b.name, b.address, b.city, b.email, " +
+            "b.openingTime, b.closingTime, b.imageUrl, b.latitude, b.longitude, b.status, b.version) FROM Barbershop b ";
+
     // 🔹 Buscar barbería por correo (autenticación y validación)
     Optional<Barbershop> findByEmail(String email);
 
@@ -29,4 +38,43 @@ public interface BarbershopRepository extends JpaRepository<Barbershop, Long> {
     List<Barbershop> findByNameContainingIgnoreCase(String name);
 
     List<Barbershop> findByCityContainingIgnoreCase(String city);
+
+    @Query(SELECT_DTO)
+    List<BarbershopDto> findAllDtos();
+
+    @Query(SELECT_DTO + "WHERE b.id = :id")
+    Optional<BarbershopDto> findDtoById(@Param("id") Long id);
+
+    @Query(SELECT_DTO + "WHERE b.city = :city")
+    List<BarbershopDto> findDtosByCity(@Param("city") String city);
+
+    @Query(SELECT_DTO + "WHERE LOWER(b.city) LIKE LOWER(CONCAT('%', :city, '%'))")
+    List<BarbershopDto> findDtosByCityContaining(@Param("city") String city);
+
+    // 🔹 Búsqueda con LIKE mientras el índice en memoria se construye al arrancar
+    @Query(SELECT_DTO + "WHERE b.status = true AND (LOWER(b.name) LIKE LOWER(CONCAT(:prefix, '%')) " +
+            "OR LOWER(b.city) LIKE LOWER(CONCAT(:prefix, '%'))) ORDER BY b.name ASC")
+    List<BarbershopDto> findActiveDtosByNameOrCityPrefix(@Param("prefix") String prefix, Limit limit);
+
+    // 🔹 Barberías activas con ubicación (construcción de la grilla geográfica)
+    @Query(SELECT_DTO + "WHERE b.status = true AND b.latitude IS NOT NULL AND b.longitude IS NOT NULL")
+    List<BarbershopDto> findActiveDtosWithLocation();
+
+    // 🔹 Barberías activas dentro de una caja de coordenadas (respaldo mientras se construye la grilla)
+    @Query(SELECT_DTO + "WHERE b.status = true AND b.latitude BETWEEN :minLat AND :maxLat " +
+            "AND b.longitude BETWEEN :minLng AND :maxLng")
+    List<BarbershopDto> findActiveDtosWithinBox(@Param("minLat") double minLat, @Param("maxLat") double maxLat,
+                                                @Param("minLng") double minLng, @Param("maxLng") double maxLng);
+
+    // 🔹 Página de barberías por cursor (id), opcionalmente filtrada por ciudad
+    @Query(SELECT_DTO + "WHERE b.id > :afterId ORDER BY b.id ASC")
+    List<BarbershopDto> findPage(@Param("afterId") Long afterId, Limit limit);
+
+    @Query(SELECT_DTO + "WHERE LOWER(b.city) LIKE LOWER(CONCAT('%', :city, '%')) AND b.id > :afterId ORDER BY b.id ASC")
+    List<BarbershopDto> findPageByCity(@Param("city") String city, @Param("afterId") Long afterId, Limit limit);
+
+    // 🔹 Actualizar solo la contraseña, sin cargar la entidad
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Barbershop b SET b.password = :password WHERE b.id = :id")
+    int updatePassword(@Param("id") Long id, @Param("password") String password);
 }
@@ -1,7 +1,12 @@
 package com.fadeapp.repository;
 
+import com.fadeapp.dto.ClientDto;
 import com.fadeapp.model.Client;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,6 +15,10 @@ import java.util.Optional;
 @Repository
 public interface ClientRepository extends JpaRepository<Client, Long> {
 
+    // 🔹 Proyección de lectura (sin contraseña ni citas)
+    String SELECT_DTO = "SELECT new com.fadeapp.dto.ClientDto(c.id, c.firstName, c.lastName, c.email, " +
+            "c.phone, c.city, c.status) FROM Client c ";
+
     // 🔹 Buscar cliente por correo electrónico (para login o validaciones)
     Optional<Client> findByEmail(String email);
 
@@ -24,4 +33,22 @@ public interface ClientRepository extends JpaRepository<Client, Long> {
 
     // 🔹 Buscar clientes activos en una ciudad específica
     List<Client> findByCityAndStatusTrue(String city);
+
+    @Query(SELECT_DTO)
+    List<ClientDto> findAllDtos();
+
+    @Query(SELECT_DTO + "WHERE c.id = :id")
+    Optional<ClientDto> findDtoById(@Param("id") Long id);
+
+    @Query(SELECT_DTO + "WHERE c.email = :email")
+    Optional<ClientDto> findDtoByEmail(@Param("email") String email);
+
+    // 🔹 Página de clientes por cursor (id)
+    @Query(SELECT_DTO + "WHERE c.id > :afterId ORDER BY c.id ASC")
+    List<ClientDto> findPage(@Param("afterId") Long afterId, Limit limit);
+
+    // 🔹 Actualizar solo la contraseña, sin cargar la entidad
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Client c SET c.password = :password WHERE c.id = :id")
+    int updatePassword(@Param("id") Long id, @Param("password") String password);
 }
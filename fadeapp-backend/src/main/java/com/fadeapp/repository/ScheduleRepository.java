@@ -1,10 +1,18 @@
 package com.fadeapp.repository;
 
+import com.fadeapp.dto.ScheduleDto;
 import com.fadeapp.model.Schedule;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ScheduleRepository extends JpaRepository<Schedule, Long> {
@@ -20,4 +28,68 @@ public interface ScheduleRepository extends JpaRepository<Schedule, Long> {
 
     // 🔹 Obtener horarios no disponibles de un barbero
     List<Schedule> findByBarberIdAndAvailableFalse(Long barberId);
+
+    // 🔹 Proyección de lectura, con el id del barbero
+    String SELECT_DTO = "SELECT new com.fadeapp.dto.ScheduleDto(s.id, s.day, s.startTime, s.endTime, " +
+            "s.available, b.id, s.version) FROM Schedule s JOIN s.barber b ";
+
+    @Query(SELECT_DTO + "WHERE b.id = :barberId")
+    List<ScheduleDto> findDtosByBarberId(@Param("barberId") Long barberId);
+
+    @Query(SELECT_DTO + "WHERE s.id = :id")
+    Optional<ScheduleDto> findDtoById(@Param("id") Long id);
+
+    // 🔹 Horarios disponibles de todos los barberos de una barbería, en una sola consulta
+    @Query(SELECT_DTO + "WHERE b.barbershop.id = :barbershopId AND s.available = true")
+    List<ScheduleDto> findAvailableDtosByBarbershopId(@Param("barbershopId") Long barbershopId);
+
+    // 🔹 Horarios de varios barberos en una sola consulta (validación de plantillas)
+    @Query(SELECT_DTO + "WHERE b.id IN :barberIds")
+    List<ScheduleDto> findDtosByBarberIdIn(@Param("barberIds") Collection<Long> barberIds);
+
+    // 🔹 Horarios que pueden cruzarse con uno de fecha concreta: los de esa fecha y los semanales de su día
+    @Query(SELECT_DTO + "WHERE b.id = :barberId AND (s.date = :date OR s.dayOfWeek = :dayOfWeek)")
+    List<ScheduleDto> findDtosForDate(@Param("barberId") Long barberId, @Param("date") LocalDate date,
+                                      @Param("dayOfWeek") DayOfWeek dayOfWeek);
+
+    // 🔹 Horarios que pueden cruzarse con uno semanal: los de ese día y los de fecha concreta desde "from"
+    @Query(SELECT_DTO + "WHERE b.id = :barberId AND (s.dayOfWeek = :dayOfWeek OR s.date >= :from)")
+    List<ScheduleDto> findDtosForDayOfWeek(@Param("barberId") Long barberId, @Param("dayOfWeek") DayOfWeek dayOfWeek,
+                                           @Param("from") LocalDate from);
+
+    // 🔹 Horarios guardados antes de normalizar el día (se completan al arrancar)
+    List<Schedule> findByDayOfWeekIsNullAndDateIsNull();
+
+    // 🔹 Mayor id guardado (para alinear la secuencia de ids al arrancar)
+    @Query("SELECT MAX(s.id) FROM Schedule s")
+    Long findMaxId();
+
+    // 🔹 Cambios de disponibilidad en una sola sentencia UPDATE, sin cargar entidades.
+    // La versión sube igual que con @Version para que los ETags de las lecturas cambien
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Schedule s SET s.available = :available, s.version = s.version + 1 WHERE s.id = :id")
+    int updateAvailability(@Param("id") Long id, @Param("available") boolean available);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Schedule s SET s.available = :available, s.version = s.version + 1 " +
+            "WHERE s.id = :id AND s.barber.id = :barberId")
+    int updateAvailabilityOfBarber(@Param("id") Long id, @Param("barberId") Long barberId,
+                                   @Param("available") boolean available);
+
+    // Todos los horarios de un barbero en un día (por nombre normalizado, fecha o texto exacto)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Schedule s SET s.available = false, s.version = s.version + 1 WHERE s.barber.id = :barberId " +
+            "AND (s.day = :day OR s.dayOfWeek = :dayOfWeek OR s.date = :date)")
+    int blockDay(@Param("barberId") Long barberId, @Param("day") String day,
+                 @Param("dayOfWeek") DayOfWeek dayOfWeek, @Param("date") LocalDate date);
+
+    // Horarios de fecha concreta dentro del rango y/o semanales de ciertos días, para varios barberos
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Schedule s SET s.available = :available, s.version = s.version + 1 " +
+            "WHERE s.barber.id IN :barberIds " +
+            "AND (s.date BETWEEN :from AND :to OR s.dayOfWeek IN :daysOfWeek)")
+    int updateAvailabilityInRange(@Param("barberIds") Collection<Long> barberIds,
+                                  @Param("from") LocalDate from, @Param("to") LocalDate to,
+                                  @Param("daysOfWeek") Collection<DayOfWeek> daysOfWeek,
+                                  @Param("available") boolean available);
 }
@@ -1,5 +1,7 @@
 package com.fadeapp.repository;
 
+import com.fadeapp.dto.ServiceDto;
+import com.fadeapp.dto.ServiceNameDto;
 import com.fadeapp.model.EntityService;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -13,6 +15,18 @@ public interface ServiceRepository extends JpaRepository<EntityService, Long> {
 
     @Query("SELECT DISTINCT s FROM EntityService s WHERE s.barbershop.id = :barbershopId")
     List<EntityService> findByBarbershopId(@Param("barbershopId") Long barbershopId);
+
+    @Query("SELECT new com.fadeapp.dto.ServiceDto(s.id, s.name, s.price, s.duration, s.status, s.version) " +
+            "FROM EntityService s WHERE s.barbershop.id = :barbershopId")
+    List<ServiceDto> findDtosByBarbershopId(@Param("barbershopId") Long barbershopId);
+
+    // 🔹 Nombres de los servicios activos (construcción del índice de búsqueda)
+    @Query("SELECT new com.fadeapp.dto.ServiceNameDto(s.barbershop.id, s.name) FROM EntityService s WHERE s.status = true")
+    List<ServiceNameDto> findActiveNames();
+
+    @Query("SELECT new com.fadeapp.dto.ServiceNameDto(s.barbershop.id, s.name) FROM EntityService s " +
+            "WHERE s.barbershop.id = :barbershopId AND s.status = true")
+    List<ServiceNameDto> findActiveNamesByBarbershopId(@Param("barbershopId") Long barbershopId);
 }
 
 
@@ -1,9 +1,14 @@
 package com.fadeapp.security;
 
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -13,16 +18,46 @@ import org.springframework.security.web.authentication.WebAuthenticationDetailsS
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
 
+@Slf4j
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    // Única ruta de /api/barbershops que exige sesión (ver SecurityConfig): aquí sí se lee el token
+    private static final String CATALOG_STATS_PATH = "/api/barbershops/catalog/stats";
+
     @Autowired
     private JwtUtils jwtUtils;
 
     @Autowired
     private UserDetailsService userDetailsService;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Tiempo de verificación de firma y expiración, según el resultado
+    private Timer validTokens;
+    private Timer rejectedTokens;
+
+    @PostConstruct
+    void registerMetrics() {
+        validTokens = verificationTimer("valid");
+        rejectedTokens = verificationTimer("rejected");
+    }
+
+    private Timer verificationTimer(String outcome) {
+        return Timer.builder("fadeapp.jwt.verification")
+                .description("Verificación del token JWT en cada petición autenticada")
+                .tag("outcome", outcome)
+                // Verificar una firma HMAC toma microsegundos, no milisegundos como una petición
+                .minimumExpectedValue(Duration.of(10, ChronoUnit.MICROS))
+                .maximumExpectedValue(Duration.ofMillis(100))
+                .register(meterRegistry);
+    }
+
     /**
      * ✅ Filtro que intercepta cada petición HTTP.
      * Valida si el token JWT es válido y autentica al usuario cuando corresponde.
@@ -34,7 +69,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
 
         String path = request.getServletPath();
-        System.out.println("Request path: " + path);
 
         // 🔹 Ignorar rutas públicas (no requieren token)
         if (
@@ -42,7 +76,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                         path.startsWith("/api/auth") ||
                                 path.startsWith("/api/users/login") ||   // ✅ Permitir login
                                 path.startsWith("/api/users/register") || // ✅ Permitir registro
-                                path.startsWith("/api/barbershops") ||
+                                (path.startsWith("/api/barbershops") && !path.startsWith(CATALOG_STATS_PATH)) ||
                                 path.startsWith("/api/clients/register") ||
                                 path.startsWith("/api/barbers/register") ||
                                 path.startsWith("/v3/api-docs") ||
@@ -51,14 +85,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         )
 
         {
-            System.out.println("🟢 Saltando filtro JWT para ruta pública: " + path);
+            log.trace("Ruta pública, se omite el filtro JWT: {}", path);
             filterChain.doFilter(request, response);
             return;
         }
 
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
-        final String userEmail;
+        final VerifiedToken token;
 
         // 🔹 Si no hay token o no comienza con 'Bearer ', continúa sin autenticar
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
@@ -67,14 +101,25 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         jwt = authHeader.substring(7); // Elimina "Bearer "
-        userEmail = jwtUtils.extractEmail(jwt);
+
+        // 🔹 Una sola verificación de firma y expiración por petición
+        long start = System.nanoTime();
+        try {
+            token = jwtUtils.verify(jwt);
+            validTokens.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        } catch (JwtException | IllegalArgumentException e) {
+            rejectedTokens.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            log.debug("Token JWT rechazado en {}: {}", path, e.getMessage());
+            filterChain.doFilter(request, response);
+            return;
+        }
 
         // 🔹 Si tenemos un email y no hay autenticación previa
-        if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userDetailsService.loadUserByUsername(userEmail);
+        if (token.email() != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            UserDetails userDetails = userDetailsService.loadUserByUsername(token.email());
 
-            // Verificamos que el token sea válido
-            if (jwtUtils.isTokenValid(jwt, userDetails.getUsername())) {
+            // Verificamos que el token pertenezca al usuario cargado
+            if (token.email().equals(userDetails.getUsername())) {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                         userDetails,
                         null,
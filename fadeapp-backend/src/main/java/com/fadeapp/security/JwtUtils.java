@@ -1,6 +1,10 @@
 package com.fadeapp.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
@@ -8,6 +12,7 @@ import io.jsonwebtoken.security.Keys;
 import org.springframework.stereotype.Component;
 
 import java.security.Key;
+import java.time.Duration;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -22,6 +27,19 @@ public class JwtUtils {
     // Tiempo de expiración del token (24 horas)
     private static final long EXPIRATION_TIME = 1000 * 60 * 60 * 24;
 
+    // Cantidad de tokens verificados recientemente que se recuerdan
+    private static final int VERIFIED_CACHE_SIZE = 10_000;
+
+    // Clave de firma y parser se construyen una sola vez (ambos son thread-safe)
+    private final Key signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET_KEY));
+    private final JwtParser parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+
+    // LRU de tokens ya verificados: una petición repetida no vuelve a calcular el HMAC
+    private final Cache<String, VerifiedToken> verifiedTokens = Caffeine.newBuilder()
+            .maximumSize(VERIFIED_CACHE_SIZE)
+            .expireAfterWrite(Duration.ofMinutes(10))
+            .build();
+
     /**
      * Generar un token con email y rol
      */
@@ -34,44 +52,50 @@ public class JwtUtils {
                 .setSubject(email)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    /**
+     * Verificar el token una sola vez (firma + expiración) y devolver sus datos.
+     * Lanza JwtException si el token es inválido o expiró.
+     */
+    public VerifiedToken verify(String token) {
+        VerifiedToken verified = verifiedTokens.getIfPresent(token);
+        if (verified == null) {
+            verified = parseAndVerify(token);
+            verifiedTokens.put(token, verified);
+        }
+        if (verified.isExpired()) {
+            verifiedTokens.invalidate(token);
+            throw new JwtException("El token expiró");
+        }
+        return verified;
+    }
+
     /**
      *  Extraer el email (subject) desde el token
      */
     public String extractEmail(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return verify(token).email();
     }
 
     /**
      * Extraer el rol desde el token
      */
     public String extractRole(String token) {
-        return extractAllClaims(token).get("role", String.class);
+        return verify(token).role();
     }
 
     /**
-     *  Validar si el token es válido (firma + expiración)
+     *  Validar si el token es válido (firma + expiración) y pertenece al email
      */
     public boolean isTokenValid(String token, String email) {
-        final String extractedEmail = extractEmail(token);
-        return (extractedEmail.equals(email) && !isTokenExpired(token));
-    }
-
-    /**
-     *  Verificar si el token expiró
-     */
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    /**
-     *  Obtener fecha de expiración del token
-     */
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+        try {
+            return verify(token).email().equals(email);
+        } catch (JwtException | IllegalArgumentException e) {
+            return false;
+        }
     }
 
     /**
@@ -83,21 +107,17 @@ public class JwtUtils {
     }
 
     /**
-     *  Obtener todos los claims (datos) del token
+     *  Verificar la firma sin pasar por la caché de tokens
      */
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    VerifiedToken parseAndVerify(String token) {
+        Claims claims = extractAllClaims(token);
+        return new VerifiedToken(claims.getSubject(), claims.get("role", String.class), claims.getExpiration());
     }
 
     /**
-     *  Obtener la clave de firma (derivada de SECRET_KEY)
+     *  Obtener todos los claims (datos) del token
      */
-    private Key getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(SECRET_KEY);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private Claims extractAllClaims(String token) {
+        return parser.parseClaimsJws(token).getBody();
     }
 }
@@ -0,0 +1,196 @@
+package com.fadeapp.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Hashing de contraseñas (BCrypt) fuera del hilo de la petición, en un pool propio y acotado:
+ * una ola de logins ocupa como mucho fadeapp.security.hashing.threads núcleos y espera en una
+ * cola de fadeapp.security.hashing.queue-capacity; el resto de endpoints conserva su CPU.
+ * Con la cola llena se rechaza de inmediato (BusyException) en lugar de acumular latencia.
+ * El costo se configura con fadeapp.security.bcrypt.strength (ver SecurityConfig).
+ */
+@Slf4j
+@Component
+public class PasswordHasher {
+
+    // Costo en un hash BCrypt: $2a$10$...
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[abxy]?\\$(\\d{2})\\$");
+
+    // Duraciones recientes de matches() que imitan los correos desconocidos
+    private static final int LATENCY_SAMPLES = 64;
+
+    private final PasswordEncoder passwordEncoder;
+    private final int strength;
+    private final Duration timeout;
+    private final ThreadPoolExecutor pool;
+    private final AtomicLongArray recentMatchNanos = new AtomicLongArray(LATENCY_SAMPLES);
+    private final AtomicInteger nextSample = new AtomicInteger();
+    private final Counter rejected;
+    private final Timer matchTimer;
+
+    public PasswordHasher(
+            PasswordEncoder passwordEncoder,
+            MeterRegistry meterRegistry,
+            @Value("${fadeapp.security.bcrypt.strength:10}") int strength,
+            @Value("${fadeapp.security.hashing.threads:0}") int threads,
+            @Value("${fadeapp.security.hashing.queue-capacity:50}") int queueCapacity,
+            @Value("${fadeapp.security.hashing.timeout:5s}") Duration timeout
+    ) {
+        this.passwordEncoder = passwordEncoder;
+        this.strength = strength;
+        this.timeout = timeout;
+
+        // 🔹 Por defecto la mitad de los núcleos (mínimo 1): BCrypt es CPU pura, más hilos no ayudan
+        int size = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger count = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                task -> {
+                    Thread thread = new Thread(task, "password-hashing-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        // 🔹 Profundidad de la cola, tareas activas y tiempos del pool: executor_* con name=password-hashing
+        ExecutorServiceMetrics.monitor(meterRegistry, pool, "password-hashing");
+        this.rejected = Counter.builder("fadeapp.security.hashing.rejected")
+                .description("Hashes rechazados con la cola de hashing llena")
+                .register(meterRegistry);
+        this.matchTimer = Timer.builder("fadeapp.security.hashing.match")
+                .description("Verificación de contraseña, incluida la espera en cola")
+                .register(meterRegistry);
+
+        calibrate();
+        log.info("Hashing de contraseñas: BCrypt costo {}, {} hilo(s), cola de {}", strength, size, queueCapacity);
+    }
+
+    // 🔹 Hash de una contraseña nueva
+    public String encode(String rawPassword) {
+        return await(submit(() -> passwordEncoder.encode(rawPassword)));
+    }
+
+    // 🔹 Hash en segundo plano (ej. rehash tras un login); falla si la cola está llena
+    public CompletableFuture<String> encodeAsync(String rawPassword) {
+        try {
+            return CompletableFuture.supplyAsync(() -> passwordEncoder.encode(rawPassword), pool);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            return CompletableFuture.failedFuture(new BusyException());
+        }
+    }
+
+    // 🔹 Comparar una contraseña con su hash; registra la duración para imitarla en simulateMatch()
+    public boolean matches(String rawPassword, String encodedPassword) {
+        long start = System.nanoTime();
+        boolean matches = await(submit(() -> passwordEncoder.matches(rawPassword, encodedPassword)));
+        long elapsed = System.nanoTime() - start;
+        recentMatchNanos.set(Math.floorMod(nextSample.getAndIncrement(), LATENCY_SAMPLES), elapsed);
+        matchTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        return matches;
+    }
+
+    /**
+     * Respuesta a un correo que no existe sin gastar un hash: espera lo que tardó un matches()
+     * reciente al azar (cola incluida) y se comporta igual con la cola llena, así que ni el
+     * tiempo ni el código de respuesta revelan si el correo está registrado.
+     */
+    public void simulateMatch() {
+        if (pool.getQueue().remainingCapacity() == 0) {
+            rejected.increment();
+            throw new BusyException();
+        }
+        long nanos = recentMatchNanos.get(ThreadLocalRandom.current().nextInt(LATENCY_SAMPLES));
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // 🔹 true si el hash es de otro costo (o no es BCrypt) y conviene recalcularlo en el login
+    public boolean needsRehash(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return !matcher.find() || Integer.parseInt(matcher.group(1)) != strength;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    // 🔹 Llena las muestras con el costo real de un hash, para que simulateMatch() valga desde el arranque
+    private void calibrate() {
+        String dummy = passwordEncoder.encode(UUID.randomUUID().toString());
+        long start = System.nanoTime();
+        passwordEncoder.matches(UUID.randomUUID().toString(), dummy);
+        long elapsed = System.nanoTime() - start;
+        for (int i = 0; i < LATENCY_SAMPLES; i++) {
+            recentMatchNanos.set(i, elapsed);
+        }
+    }
+
+    private <T> Future<T> submit(Callable<T> task) {
+        try {
+            return pool.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new BusyException();
+        }
+    }
+
+    private <T> T await(Future<T> future) {
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new BusyException();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new BusyException();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * La cola de hashing está llena o la espera superó fadeapp.security.hashing.timeout;
+     * el controlador responde 503 para que el cliente reintente.
+     */
+    public static class BusyException extends RuntimeException {
+        public BusyException() {
+            super("Demasiados inicios de sesión en curso, intenta de nuevo en unos segundos");
+        }
+    }
+}
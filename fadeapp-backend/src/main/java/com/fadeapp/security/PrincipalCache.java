@@ -0,0 +1,110 @@
+package com.fadeapp.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * Caché acotada (tamaño + TTL) de los usuarios autenticados, indexada por email.
+ * Evita consultar la base de datos en cada petición con JWT; se invalida cuando
+ * cambia el estado, el correo o la contraseña de una cuenta.
+ * Cada carga lleva la marca de tiempo de antes de leer la cuenta: si el correo se invalidó
+ * después de esa marca, lo leído puede ser viejo y no se guarda.
+ * Su tasa de aciertos se publica como cache.*{cache=principals}.
+ */
+@Component
+public class PrincipalCache implements MeterBinder {
+
+    private final Cache<String, UserDetails> cache;
+
+    // Última invalidación (System.nanoTime) de cada correo. Pasado un TTL ya no hace falta:
+    // put rechaza también las cargas que empezaron hace más de un TTL
+    private final Cache<String, Long> invalidations;
+    private final long ttlNanos;
+
+    public PrincipalCache(
+            @Value("${fadeapp.security.principal-cache.max-size:10000}") long maxSize,
+            @Value("${fadeapp.security.principal-cache.ttl:5m}") Duration ttl
+    ) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.invalidations = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .build();
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "principals");
+    }
+
+    // 🔹 Devuelve una copia para que nadie borre las credenciales de la entrada cacheada
+    public UserDetails get(String email) {
+        UserDetails cached = cache.getIfPresent(email);
+        return cached != null ? User.withUserDetails(cached).build() : null;
+    }
+
+    // 🔹 Marca que se toma antes de leer la cuenta de la base de datos y se pasa a put
+    public long stamp() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Guarda lo leído con la marca tomada antes de leerlo, salvo que el correo se haya invalidado
+     * desde entonces. Comprobación y escritura van dentro de compute, igual que la invalidación,
+     * así que una invalidación no puede colarse entre las dos.
+     */
+    public void put(String email, UserDetails userDetails, long stamp) {
+        cache.asMap().compute(email, (key, current) -> {
+            Long invalidatedAt = invalidations.getIfPresent(key);
+            boolean stale = System.nanoTime() - stamp >= ttlNanos
+                    || (invalidatedAt != null && invalidatedAt - stamp >= 0);
+            return stale ? current : userDetails;
+        });
+    }
+
+    /**
+     * Invalidar una cuenta (cambio de estado, correo o contraseña). Dentro de una transacción se
+     * invalida otra vez tras el commit: una autenticación que lea antes del commit ve la cuenta
+     * vieja, y su put llega con una marca anterior a esta segunda invalidación, así que se descarta.
+     */
+    public void evict(String email) {
+        if (email == null) {
+            return;
+        }
+        invalidate(email);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(email);
+                }
+            });
+        }
+    }
+
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    private void invalidate(String email) {
+        cache.asMap().compute(email, (key, current) -> {
+            invalidations.put(key, System.nanoTime());
+            return null;
+        });
+    }
+}
@@ -1,8 +1,12 @@
 package com.fadeapp.security;
 
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -28,6 +32,25 @@ public class SecurityConfig {
     @Autowired
     private UserDetailsService userDetailsService;
 
+    /**
+     * Puerto interno de actuator (management.server.port, en 127.0.0.1 por defecto; ver
+     * metrics.properties): el scraping de Prometheus no lleva JWT. Las peticiones al puerto
+     * de la API nunca entran en esta cadena.
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain managementFilterChain(HttpSecurity http, Environment environment) throws Exception {
+        http
+                .securityMatcher(request -> isManagementPort(request, environment))
+                .csrf(AbstractHttpConfigurer::disable)
+                .sessionManagement(session ->
+                        session.sessionCreationPolicy(SessionCreationPolicy.STATELESS)
+                )
+                .authorizeHttpRequests(auth -> auth.anyRequest().permitAll());
+
+        return http.build();
+    }
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
@@ -44,11 +67,13 @@ public class SecurityConfig {
 
                 // 🔑 Endpoints públicos y protegidos
                 .authorizeHttpRequests(auth -> auth
+                        .requestMatchers("/api/barbershops/catalog/stats").authenticated() // métricas internas
                         .requestMatchers(
                                 "/api/auth/**",        // login y registro
                                 "/api/barbershops/**", // públicas
                                 "/v3/api-docs/**",
-                                "/swagger-ui/**"
+                                "/swagger-ui/**",
+                                "/actuator/health"
                         ).permitAll()
                         .anyRequest().authenticated()
                 )
@@ -59,6 +84,12 @@ public class SecurityConfig {
         return http.build();
     }
 
+    // local.management.port lo publica Spring Boot al arrancar el servidor de actuator (también si es aleatorio)
+    private static boolean isManagementPort(HttpServletRequest request, Environment environment) {
+        String port = environment.getProperty("local.management.port");
+        return port != null && port.equals(String.valueOf(request.getLocalPort()));
+    }
+
     // 🌍 CORS global: emuladores, Expo, localhost, etc.
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
@@ -74,10 +105,10 @@ public class SecurityConfig {
     }
 
     @Bean
-    public AuthenticationProvider authenticationProvider() {
+    public AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
         provider.setUserDetailsService(userDetailsService);
-        provider.setPasswordEncoder(passwordEncoder());
+        provider.setPasswordEncoder(passwordEncoder);
         return provider;
     }
 
@@ -86,8 +117,9 @@ public class SecurityConfig {
         return config.getAuthenticationManager();
     }
 
+    // 🔹 Costo de BCrypt configurable; los hashes de otro costo se recalculan en el siguiente login
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${fadeapp.security.bcrypt.strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 }
@@ -1,11 +1,7 @@
 package com.fadeapp.security;
 
-import com.fadeapp.model.Client;
-import com.fadeapp.model.Barber;
-import com.fadeapp.model.Barbershop;
-import com.fadeapp.repository.ClientRepository;
-import com.fadeapp.repository.BarberRepository;
-import com.fadeapp.repository.BarbershopRepository;
+import com.fadeapp.model.Account;
+import com.fadeapp.repository.AccountRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
@@ -19,55 +15,49 @@ import java.util.Collections;
 public class UserDetailsServiceImpl implements UserDetailsService {
 
     @Autowired
-    private ClientRepository clientRepository;
+    private AccountRepository accountRepository;
 
     @Autowired
-    private BarberRepository barberRepository;
-
-    @Autowired
-    private BarbershopRepository barbershopRepository;
+    private PrincipalCache principalCache;
 
+    /**
+     * Resuelve el usuario desde la caché y, si no está, desde la base de datos.
+     */
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        // Buscar cliente
-        Client client = clientRepository.findByEmail(email).orElse(null);
-        if (client != null) {
-            if (!client.isStatus()) {
-                throw new UsernameNotFoundException("El cliente está inactivo");
-            }
-            return new User(
-                    client.getEmail(),
-                    client.getPassword(),
-                    Collections.singleton(new SimpleGrantedAuthority("ROLE_CLIENT"))
-            );
+        UserDetails cached = principalCache.get(email);
+        if (cached != null) {
+            return cached;
         }
 
-        // Buscar barbero
-        Barber barber = barberRepository.findByEmail(email).orElse(null);
-        if (barber != null) {
-            if (!barber.isStatus()) {
-                throw new UsernameNotFoundException("El barbero está inactivo");
-            }
-            return new User(
-                    barber.getEmail(),
-                    barber.getPassword(),
-                    Collections.singleton(new SimpleGrantedAuthority("ROLE_BARBER"))
-            );
-        }
+        // La marca va antes de la consulta: si la cuenta cambia mientras tanto, no se cachea
+        long stamp = principalCache.stamp();
+        UserDetails loaded = loadFromDatabase(email);
+        principalCache.put(email, loaded, stamp);
+        return User.withUserDetails(loaded).build();
+    }
 
-        // Buscar barbería
-        Barbershop barbershop = barbershopRepository.findByEmail(email).orElse(null);
-        if (barbershop != null) {
-            if (!barbershop.isStatus()) {
-                throw new UsernameNotFoundException("La barbería está inactiva");
-            }
-            return new User(
-                    barbershop.getEmail(),
-                    barbershop.getPassword(),
-                    Collections.singleton(new SimpleGrantedAuthority("ROLE_BARBERSHOP"))
-            );
+    // 🔹 Una sola consulta indexada por correo, sin importar el rol
+    private UserDetails loadFromDatabase(String email) {
+        Account account = accountRepository.findByEmail(email)
+                .orElseThrow(() -> new UsernameNotFoundException("Usuario no encontrado con el email: " + email));
+
+        if (!account.isStatus()) {
+            throw new UsernameNotFoundException(inactiveMessage(account.getRole()));
         }
 
-        throw new UsernameNotFoundException("Usuario no encontrado con el email: " + email);
+        return new User(
+                account.getEmail(),
+                account.getPassword(),
+                Collections.singleton(new SimpleGrantedAuthority("ROLE_" + account.getRole()))
+        );
+    }
+
+    private String inactiveMessage(String role) {
+        return switch (role) {
+            case Account.CLIENT -> "El cliente está inactivo";
+            case Account.BARBER -> "El barbero está inactivo";
+            default -> "La barbería está inactiva";
+        };
     }
 }
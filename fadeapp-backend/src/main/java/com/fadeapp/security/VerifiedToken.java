@@ -0,0 +1,13 @@
+package com.fadeapp.security;
+
+import java.util.Date;
+
+/**
+ * Datos de un JWT cuya firma ya fue verificada (inmutable).
+ */
+public record VerifiedToken(String email, String role, Date expiration) {
+
+    public boolean isExpired() {
+        return expiration != null && expiration.before(new Date());
+    }
+}
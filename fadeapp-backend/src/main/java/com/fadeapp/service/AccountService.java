@@ -0,0 +1,36 @@
+package com.fadeapp.service;
+
+import com.fadeapp.model.Account;
+import com.fadeapp.model.Barber;
+import com.fadeapp.model.Barbershop;
+import com.fadeapp.model.Client;
+
+import java.util.Optional;
+
+/**
+ * Mantiene sincronizado el índice unificado de cuentas (correo → rol, entidad,
+ * contraseña y estado) con las tablas de clientes, barberos y barberías.
+ */
+public interface AccountService {
+
+    // Buscar la cuenta (de cualquier rol) asociada a un correo
+    Optional<Account> findByEmail(String email);
+
+    // Verificar si un correo ya está registrado en cualquier rol
+    boolean existsByEmail(String email);
+
+    // Crear o actualizar la cuenta de un cliente
+    void syncClient(Client client);
+
+    // Crear o actualizar la cuenta de un barbero
+    void syncBarber(Barber barber);
+
+    // Crear o actualizar la cuenta de una barbería
+    void syncBarbershop(Barbershop barbershop);
+
+    // Eliminar la cuenta de una entidad borrada
+    void remove(String role, Long entityId);
+
+    // Guardar un nuevo hash de contraseña en la cuenta y en su cliente, barbero o barbería
+    void updatePassword(Account account, String encodedPassword);
+}
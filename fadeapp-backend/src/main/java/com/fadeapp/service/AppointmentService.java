@@ -1,5 +1,8 @@
 package com.fadeapp.service;
 
+import com.fadeapp.dto.AppointmentDto;
+import com.fadeapp.dto.AppointmentQuery;
+import com.fadeapp.dto.PageResponse;
 import com.fadeapp.model.Appointment;
 import java.util.List;
 import java.util.Optional;
@@ -10,16 +13,25 @@ public interface AppointmentService {
     Appointment createAppointment(Appointment appointment);
 
     // Obtener una cita por su ID
-    Optional<Appointment> getAppointmentById(Long id);
+    Optional<AppointmentDto> getAppointmentById(Long id);
 
     // Obtener todas las citas de un cliente
-    List<Appointment> getAppointmentsByClient(Long clientId);
+    List<AppointmentDto> getAppointmentsByClient(Long clientId);
 
     // Obtener todas las citas de un barbero
-    List<Appointment> getAppointmentsByBarber(Long barberId);
+    List<AppointmentDto> getAppointmentsByBarber(Long barberId);
 
     // Obtener todas las citas de una barbería
-    List<Appointment> getAppointmentsByBarbershop(Long barbershopId);
+    List<AppointmentDto> getAppointmentsByBarbershop(Long barbershopId);
+
+    // Citas de un cliente paginadas por cursor, con filtros de fecha y estado
+    PageResponse<AppointmentDto> getAppointmentsPageByClient(Long clientId, AppointmentQuery query);
+
+    // Citas de un barbero paginadas por cursor, con filtros de fecha y estado
+    PageResponse<AppointmentDto> getAppointmentsPageByBarber(Long barberId, AppointmentQuery query);
+
+    // Citas de una barbería paginadas por cursor, con filtros de fecha y estado
+    PageResponse<AppointmentDto> getAppointmentsPageByBarbershop(Long barbershopId, AppointmentQuery query);
 
     // Actualizar el estado de una cita (ej: cancelada, completada, confirmada)
     Appointment updateStatus(Long appointmentId, String status);
@@ -0,0 +1,38 @@
+package com.fadeapp.service;
+
+import com.fadeapp.dto.NextAvailableDto;
+import com.fadeapp.dto.SlotResponse;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Motor de disponibilidad en memoria: mantiene por barbero y día un mapa de
+ * ticks de 5 minutos construido a partir de sus horarios, el horario de la
+ * barbería y las citas existentes, y lo actualiza de forma incremental.
+ */
+public interface AvailabilityService {
+
+    // Días hacia adelante en los que se busca el primer turno libre
+    int DEFAULT_HORIZON_DAYS = 7;
+    int MAX_HORIZON_DAYS = 30;
+
+    // Horarios libres de un barbero para un servicio en una fecha
+    List<SlotResponse> getAvailableSlots(Long barberId, Long serviceId, LocalDate date);
+
+    // Primer turno libre de cada barbero activo de la barbería, del más pronto al más tarde
+    List<NextAvailableDto> getNextAvailable(Long barbershopId, Long serviceId, Integer days);
+
+    // Registrar una cita nueva (o reactivada) en el mapa de disponibilidad; repetirlo no cambia nada
+    void registerAppointment(Long appointmentId, Long barberId, LocalDateTime start, int durationMinutes);
+
+    // Liberar el intervalo de una cita cancelada o eliminada; repetirlo no cambia nada
+    void releaseAppointment(Long appointmentId, Long barberId, LocalDateTime start, int durationMinutes);
+
+    // Descartar la disponibilidad calculada de un barbero (cambió su horario)
+    void invalidateBarber(Long barberId);
+
+    // Descartar la disponibilidad calculada de todos los barberos de una barbería
+    void invalidateBarbershop(Long barbershopId);
+}
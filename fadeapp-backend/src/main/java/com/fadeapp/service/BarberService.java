@@ -1,8 +1,10 @@
 package com.fadeapp.service;
 
+import com.fadeapp.dto.AppointmentDto;
+import com.fadeapp.dto.BarberDto;
+import com.fadeapp.dto.ScheduleDto;
 import com.fadeapp.model.Barber;
 import com.fadeapp.model.Schedule;
-import com.fadeapp.model.Appointment;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,16 +14,16 @@ public interface BarberService {
     Barber register(Barber barber);
 
     // Buscar barbero por correo electrónico
-    Optional<Barber> findByEmail(String email);
+    Optional<BarberDto> findByEmail(String email);
 
     // Actualizar información personal del barbero
     Barber updateBarber(Long barberId, Barber barber);
 
     // Bloquear una hora específica (marcar como no disponible)
-    Schedule blockSchedule(Long barberId, Long scheduleId);
+    ScheduleDto blockSchedule(Long barberId, Long scheduleId);
 
     // Desbloquear una hora específica (volver a disponible)
-    Schedule unblockSchedule(Long barberId, Long scheduleId);
+    ScheduleDto unblockSchedule(Long barberId, Long scheduleId);
 
     // Bloquear un día completo (todas las horas de ese día)
     void blockDay(Long barberId, String day);
@@ -30,5 +32,5 @@ public interface BarberService {
     List<Schedule> getSchedules(Long barberId);
 
     // Obtener las citas asignadas al barbero
-    List<Appointment> getAppointments(Long barberId);
+    List<AppointmentDto> getAppointments(Long barberId);
 }
\ No newline at end of file
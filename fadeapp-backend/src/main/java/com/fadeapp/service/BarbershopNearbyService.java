@@ -0,0 +1,30 @@
+package com.fadeapp.service;
+
+import com.fadeapp.dto.NearbyBarbershopDto;
+
+import java.util.List;
+
+/**
+ * "Barberías cerca de mí": las k barberías activas más cercanas a un punto dentro de un radio,
+ * servidas desde una grilla geográfica en memoria.
+ */
+public interface BarbershopNearbyService {
+
+    // Radio por defecto y máximo en kilómetros
+    double DEFAULT_RADIUS_KM = 5;
+    double MAX_RADIUS_KM = 50;
+
+    // Máximo de resultados por consulta
+    int DEFAULT_LIMIT = 20;
+    int MAX_LIMIT = 100;
+
+    // Las barberías activas más cercanas, ordenadas por distancia (opcionalmente solo las abiertas ahora)
+    List<NearbyBarbershopDto> findNearby(Double latitude, Double longitude, Double radiusKm,
+                                         Integer limit, boolean openNow);
+
+    // Volver a ubicar una barbería en la grilla tras un cambio (después del commit si hay transacción)
+    void reindexBarbershop(Long barbershopId);
+
+    // Reconstruir la grilla completa desde la base de datos
+    void rebuild();
+}
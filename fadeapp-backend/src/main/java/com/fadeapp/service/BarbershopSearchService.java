@@ -0,0 +1,25 @@
+package com.fadeapp.service;
+
+import com.fadeapp.dto.BarbershopDto;
+
+import java.util.List;
+
+/**
+ * Búsqueda de barberías por nombre, ciudad y servicios sobre un índice en memoria:
+ * por prefijo, sin distinguir tildes ni mayúsculas y tolerando errores de tipeo.
+ */
+public interface BarbershopSearchService {
+
+    // Máximo de resultados por búsqueda
+    int DEFAULT_LIMIT = 10;
+    int MAX_LIMIT = 50;
+
+    // Las barberías activas que mejor coinciden con la consulta
+    List<BarbershopDto> search(String query, Integer limit);
+
+    // Volver a indexar una barbería tras un cambio (después del commit si hay transacción)
+    void reindexBarbershop(Long barbershopId);
+
+    // Reconstruir el índice completo desde la base de datos
+    void rebuild();
+}
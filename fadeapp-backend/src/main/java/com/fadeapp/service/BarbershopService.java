@@ -1,10 +1,15 @@
 package com.fadeapp.service;
 
+import com.fadeapp.dto.AppointmentDto;
+import com.fadeapp.dto.BarberDto;
+import com.fadeapp.dto.BarbershopDetailDto;
+import com.fadeapp.dto.BarbershopDto;
+import com.fadeapp.dto.PageResponse;
+import com.fadeapp.dto.ScheduleDto;
+import com.fadeapp.dto.ServiceDto;
 import com.fadeapp.model.Barbershop;
 import com.fadeapp.model.Barber;
 import com.fadeapp.model.EntityService;
-import com.fadeapp.model.Schedule;
-import com.fadeapp.model.Appointment;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,6 +31,9 @@ public interface BarbershopService {
     // Establecer hora de apertura y cierre
     void setWorkingHours(Long barbershopId, String openingTime, String closingTime);
 
+    // Fijar la ubicación (latitud/longitud) de la barbería
+    void setLocation(Long barbershopId, Double latitude, Double longitude);
+
     // Agregar un nuevo servicio (EntityService)
     EntityService addService(Long barbershopId, EntityService service);
 
@@ -45,22 +53,25 @@ public interface BarbershopService {
     void toggleBarberStatus(Long barberId, boolean active);
 
     // Listar barberos activos de la barbería
-    List<Barber> getActiveBarbers(Long barbershopId);
+    List<BarberDto> getActiveBarbers(Long barbershopId);
 
     // Mostrar horarios disponibles de los barberos
-    List<Schedule> getAvailableSchedules(Long barbershopId);
+    List<ScheduleDto> getAvailableSchedules(Long barbershopId);
 
     // Ver citas agendadas en la barbería
-    List<Appointment> getAppointments(Long barbershopId);
+    List<AppointmentDto> getAppointments(Long barbershopId);
+
+    List<BarbershopDto> getAll();
 
-    List<Barbershop> getAll();
+    List<BarbershopDto> getByCity(String city);
 
-    List<Barbershop> getByCity(String city);
+    // Obtener barberías paginadas por cursor (id), opcionalmente por ciudad
+    PageResponse<BarbershopDto> getPage(String city, String cursor, Integer limit);
 
     // Obtener una barbería por su ID
-    Optional<Barbershop> getById(Long id);
+    Optional<BarbershopDetailDto> getById(Long id);
 
-    List<EntityService> getServicesByBarbershop(Long id);
+    List<ServiceDto> getServicesByBarbershop(Long id);
 
     void deleteBarber(Long barberId);
 
@@ -1,8 +1,10 @@
 package com.fadeapp.service;
 
+import com.fadeapp.dto.BarberDto;
+import com.fadeapp.dto.BarbershopDto;
+import com.fadeapp.dto.ClientDto;
+import com.fadeapp.dto.PageResponse;
 import com.fadeapp.model.Client;
-import com.fadeapp.model.Barbershop;
-import com.fadeapp.model.Barber;
 
 import java.util.List;
 import java.util.Optional;
@@ -13,16 +15,19 @@ public interface ClientService {
     Client register(Client client);
 
     // Buscar cliente por correo electrónico
-    Optional<Client> findByEmail(String email);
+    Optional<ClientDto> findByEmail(String email);
 
     // Verificar si un correo ya está registrado
     boolean existsByEmail(String email);
 
     // Obtener todos los clientes registrados
-    List<Client> getAllClients();
+    List<ClientDto> getAllClients();
+
+    // Obtener clientes paginados por cursor (id)
+    PageResponse<ClientDto> getClientsPage(String cursor, Integer limit);
 
     // Obtener un cliente por su ID
-    Optional<Client> getClientById(Long id);
+    Optional<ClientDto> getClientById(Long id);
 
     // Actualizar datos personales del cliente
     Client updateClient(Long id, Client client);
@@ -34,10 +39,10 @@ public interface ClientService {
     void updateClientCityInSession(Long clientId, String newCity);
 
     // Listar barberías disponibles en una ciudad
-    List<Barbershop> getBarbershopsByCity(String city);
+    List<BarbershopDto> getBarbershopsByCity(String city);
 
     // Listar barberos de una barbería
-    List<Barber> getBarbersFromBarbershop(Long barbershopId);
+    List<BarberDto> getBarbersFromBarbershop(Long barbershopId);
 
 
 }
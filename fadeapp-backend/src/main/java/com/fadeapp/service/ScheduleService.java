@@ -1,5 +1,9 @@
 package com.fadeapp.service;
 
+import com.fadeapp.dto.BulkScheduleResponse;
+import com.fadeapp.dto.ScheduleAvailabilityRequest;
+import com.fadeapp.dto.ScheduleDto;
+import com.fadeapp.dto.WeeklyScheduleRequest;
 import com.fadeapp.model.Schedule;
 import java.util.List;
 import java.util.Optional;
@@ -9,17 +13,23 @@ public interface ScheduleService {
     // Crear un nuevo horario para un barbero
     Schedule createSchedule(Schedule schedule);
 
+    // Aplicar una plantilla semanal a varios barberos en una sola operación
+    BulkScheduleResponse createWeeklySchedules(WeeklyScheduleRequest request);
+
     // Obtener todos los horarios de un barbero
-    List<Schedule> getSchedulesByBarber(Long barberId);
+    List<ScheduleDto> getSchedulesByBarber(Long barberId);
 
     // Obtener un horario por su ID
-    Optional<Schedule> getScheduleById(Long id);
+    Optional<ScheduleDto> getScheduleById(Long id);
 
     // Actualizar la información de un horario (día, hora, disponibilidad)
     Schedule updateSchedule(Long id, Schedule scheduleDetails);
 
     // Cambiar disponibilidad de un horario (bloquear o desbloquear)
-    Schedule toggleAvailability(Long id, boolean available);
+    ScheduleDto toggleAvailability(Long id, boolean available);
+
+    // Bloquear o desbloquear en bloque los horarios de varios barberos (rango de fechas y/o días)
+    BulkScheduleResponse updateAvailability(ScheduleAvailabilityRequest request);
 
     // Eliminar un horario si no tiene citas activas
     void deleteSchedule(Long id);
@@ -0,0 +1,137 @@
+package com.fadeapp.serviceImpl;
+
+import com.fadeapp.model.Account;
+import com.fadeapp.model.Barber;
+import com.fadeapp.model.Barbershop;
+import com.fadeapp.model.Client;
+import com.fadeapp.repository.AccountRepository;
+import com.fadeapp.repository.BarberRepository;
+import com.fadeapp.repository.BarbershopRepository;
+import com.fadeapp.repository.ClientRepository;
+import com.fadeapp.security.PrincipalCache;
+import com.fadeapp.service.AccountService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+public class AccountServiceImpl implements AccountService {
+
+    private final AccountRepository accountRepository;
+    private final ClientRepository clientRepository;
+    private final BarberRepository barberRepository;
+    private final BarbershopRepository barbershopRepository;
+    private final PrincipalCache principalCache;
+
+    @Override
+    public Optional<Account> findByEmail(String email) {
+        return accountRepository.findByEmail(email);
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        return email != null && accountRepository.existsByEmail(email);
+    }
+
+    @Override
+    public void syncClient(Client client) {
+        sync(Account.CLIENT, client.getId(), client.getEmail(), client.getPassword(), client.isStatus());
+    }
+
+    @Override
+    public void syncBarber(Barber barber) {
+        sync(Account.BARBER, barber.getId(), barber.getEmail(), barber.getPassword(), barber.isStatus());
+    }
+
+    @Override
+    public void syncBarbershop(Barbershop barbershop) {
+        sync(Account.BARBERSHOP, barbershop.getId(), barbershop.getEmail(), barbershop.getPassword(), barbershop.isStatus());
+    }
+
+    @Override
+    public void remove(String role, Long entityId) {
+        accountRepository.findByRoleAndEntityId(role, entityId).ifPresent(account -> {
+            accountRepository.delete(account);
+            principalCache.evict(account.getEmail());
+        });
+    }
+
+    @Override
+    @Transactional
+    public void updatePassword(Account account, String encodedPassword) {
+        accountRepository.updatePassword(account.getId(), encodedPassword);
+        switch (account.getRole()) {
+            case Account.CLIENT -> clientRepository.updatePassword(account.getEntityId(), encodedPassword);
+            case Account.BARBER -> barberRepository.updatePassword(account.getEntityId(), encodedPassword);
+            case Account.BARBERSHOP -> barbershopRepository.updatePassword(account.getEntityId(), encodedPassword);
+            default -> throw new IllegalStateException("Rol desconocido: " + account.getRole());
+        }
+        // La caché de usuarios guarda el hash anterior
+        principalCache.evict(account.getEmail());
+    }
+
+    /**
+     * Crea las cuentas que falten para los registros existentes (datos anteriores al índice).
+     * Si un correo se repite entre roles se conserva el primero, con la misma prioridad que
+     * usaba el login: cliente, barbería y luego barbero.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfill() {
+        Set<String> emails = new HashSet<>();
+        Set<String> linked = new HashSet<>();
+        accountRepository.findAll().forEach(a -> {
+            emails.add(a.getEmail());
+            linked.add(a.getRole() + ":" + a.getEntityId());
+        });
+
+        clientRepository.findAll().forEach(c ->
+                backfillOne(emails, linked, Account.CLIENT, c.getId(), c.getEmail(), c.getPassword(), c.isStatus()));
+        barbershopRepository.findAll().forEach(b ->
+                backfillOne(emails, linked, Account.BARBERSHOP, b.getId(), b.getEmail(), b.getPassword(), b.isStatus()));
+        barberRepository.findAll().forEach(b ->
+                backfillOne(emails, linked, Account.BARBER, b.getId(), b.getEmail(), b.getPassword(), b.isStatus()));
+    }
+
+    private void backfillOne(Set<String> emails, Set<String> linked,
+                             String role, Long entityId, String email, String password, boolean status) {
+        if (email == null || emails.contains(email) || !linked.add(role + ":" + entityId)) {
+            return;
+        }
+        emails.add(email);
+        accountRepository.save(new Account(null, email, role, entityId, password, status));
+    }
+
+    // 🔹 Inserta o actualiza la cuenta de la entidad e invalida la caché de usuarios
+    private void sync(String role, Long entityId, String email, String password, boolean status) {
+        Account account = accountRepository.findByRoleAndEntityId(role, entityId).orElse(null);
+        String previousEmail = (account != null) ? account.getEmail() : null;
+
+        if (email == null) {
+            // Barberos sin correo: no pueden iniciar sesión
+            if (account != null) {
+                accountRepository.delete(account);
+            }
+        } else {
+            if (account == null) {
+                account = new Account();
+                account.setRole(role);
+                account.setEntityId(entityId);
+            }
+            account.setEmail(email);
+            account.setPassword(password);
+            account.setStatus(status);
+            accountRepository.save(account);
+        }
+
+        principalCache.evict(previousEmail);
+        principalCache.evict(email);
+    }
+}
@@ -1,5 +1,10 @@
 package com.fadeapp.serviceImpl;
 
+import com.fadeapp.dto.AppointmentDto;
+import com.fadeapp.dto.AppointmentQuery;
+import com.fadeapp.dto.PageResponse;
+import com.fadeapp.event.AppointmentEvent;
+import com.fadeapp.event.AppointmentEventPublisher;
 import com.fadeapp.model.Appointment;
 import com.fadeapp.model.Barber;
 import com.fadeapp.model.Barbershop;
@@ -11,13 +16,22 @@ import com.fadeapp.repository.BarbershopRepository;
 import com.fadeapp.repository.ClientRepository;
 import com.fadeapp.repository.ServiceRepository;
 import com.fadeapp.service.AppointmentService;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.List;
 import java.util.Optional;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class AppointmentServiceImpl implements AppointmentService {
@@ -27,19 +41,19 @@ public class AppointmentServiceImpl implements AppointmentService {
     private final BarberRepository barberRepository;
     private final BarbershopRepository barbershopRepository;
     private final ServiceRepository serviceRepository;
+    private final AppointmentEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
 
-    // ✅ Crear una nueva cita con logs detallados
+    /**
+     * ✅ Crear una nueva cita.
+     * La fila del barbero se bloquea antes de cualquier lectura, de modo que dos reservas
+     * simultáneas para el mismo barbero se ejecutan una tras otra y la segunda ve la cita
+     * de la primera; las reservas de otros barberos no se bloquean entre sí.
+     */
     @Override
+    @Transactional(isolation = Isolation.READ_COMMITTED)
     public Appointment createAppointment(Appointment appointment) {
 
-        System.out.println("========== 🧾 [LOG - CREAR CITA] ==========");
-        System.out.println("📅 Fecha recibida: " + appointment.getDate());
-        System.out.println("👤 Cliente recibido: " + appointment.getClient());
-        System.out.println("💈 Barbero recibido: " + appointment.getBarber());
-        System.out.println("🏪 Barbería recibida: " + appointment.getBarbershop());
-        System.out.println("💇 Servicio recibido: " + appointment.getService());
-        System.out.println("==========================================");
-
         // 🔹 Validar si el cliente llegó nulo
         if (appointment.getClient() == null) {
             throw new RuntimeException("El cliente no fue enviado en la solicitud (client es null)");
@@ -50,26 +64,39 @@ public class AppointmentServiceImpl implements AppointmentService {
         Long barbershopId = (appointment.getBarbershop() != null) ? appointment.getBarbershop().getId() : null;
         Long serviceId = (appointment.getService() != null) ? appointment.getService().getId() : null;
 
-        System.out.println("📍 IDs detectados -> Cliente: " + clientId + " | Barbero: " + barberId + " | Barbería: " + barbershopId + " | Servicio: " + serviceId);
+        log.debug("Crear cita: cliente={} barbero={} barbería={} servicio={} fecha={}",
+                clientId, barberId, barbershopId, serviceId, appointment.getDate());
 
         // 🔹 Validar existencia de datos obligatorios
         if (clientId == null || barberId == null || barbershopId == null || serviceId == null) {
             throw new RuntimeException("Verifica los IDs enviados — uno o más son nulos");
         }
+        if (appointment.getDate() == null) {
+            throw new RuntimeException("La fecha de la cita es obligatoria");
+        }
 
-        // 🔹 Validar existencia de entidades relacionadas
+        // 🔹 Validar existencia de entidades relacionadas (el barbero primero: toma el bloqueo)
+        Barber barber = barberRepository.findByIdForUpdate(barberId)
+                .orElseThrow(() -> new RuntimeException("Barbero no encontrado"));
         Client client = clientRepository.findById(clientId)
                 .orElseThrow(() -> new RuntimeException("Cliente no encontrado"));
-        Barber barber = barberRepository.findById(barberId)
-                .orElseThrow(() -> new RuntimeException("Barbero no encontrado"));
         Barbershop barbershop = barbershopRepository.findById(barbershopId)
                 .orElseThrow(() -> new RuntimeException("Barbería no encontrada"));
         EntityService service = serviceRepository.findById(serviceId)
                 .orElseThrow(() -> new RuntimeException("Servicio no encontrado"));
 
-        // 🔹 Validar si el barbero ya tiene una cita en ese horario
-        boolean conflict = appointmentRepository.existsByBarberIdAndDate(barberId, appointment.getDate());
-        if (conflict) {
+        int duration = service.effectiveDuration();
+        if (duration > Appointment.MAX_DURATION_MINUTES) {
+            throw new RuntimeException("La duración del servicio excede el máximo permitido");
+        }
+
+        // 🔹 Validar si el barbero ya tiene una cita que se cruce con [inicio, inicio + duración).
+        // Lo decide solo la consulta por rango sobre el índice, con la fila del barbero bloqueada:
+        // el mapa en memoria se actualiza después del commit y puede estar desfasado
+        LocalDateTime start = appointment.getDate();
+        LocalDateTime end = start.plusMinutes(duration);
+        if (appointmentRepository.existsOverlapping(barberId, start, end)) {
+            rejected("conflict");
             throw new RuntimeException("El barbero ya tiene una cita en ese horario");
         }
 
@@ -79,6 +106,7 @@ public class AppointmentServiceImpl implements AppointmentService {
 
             if (appointmentTime.isBefore(barbershop.getOpeningTime()) ||
                     appointmentTime.isAfter(barbershop.getClosingTime())) {
+                rejected("outside_hours");
                 throw new RuntimeException("El horario está fuera del horario de atención de la barbería");
             }
         }
@@ -90,51 +118,147 @@ public class AppointmentServiceImpl implements AppointmentService {
         appointment.setService(service);
         appointment.setStatus("PENDING");
 
-        System.out.println("✅ Datos validados correctamente. Guardando cita en base de datos...");
-
         Appointment saved = appointmentRepository.save(appointment);
-        System.out.println("💾 Cita guardada con ID: " + saved.getId());
-        System.out.println("==========================================\n");
+        // Disponibilidad, avisos y contadores se procesan fuera de la petición, tras el commit
+        eventPublisher.publish(AppointmentEvent.of(AppointmentEvent.Type.CREATED, saved, false, true));
+        log.debug("Cita {} guardada ({} - {})", saved.getId(), saved.getDate(), saved.getEndDate());
 
         return saved;
     }
 
+    // 🔹 Bloquea al barbero y verifica que nadie haya tomado el horario de la cita (que aún figura cancelada)
+    private void checkSlotStillFree(Appointment appointment) {
+        Long barberId = appointment.getBarber().getId();
+        barberRepository.findByIdForUpdate(barberId)
+                .orElseThrow(() -> new RuntimeException("Barbero no encontrado"));
+
+        LocalDateTime start = appointment.getDate();
+        LocalDateTime end = appointment.getEndDate() != null
+                ? appointment.getEndDate()
+                : start.plusMinutes(AvailabilityServiceImpl.durationOf(appointment.getService()));
+        if (appointmentRepository.existsOverlapping(barberId, start, end)) {
+            rejected("conflict");
+            throw new RuntimeException("El barbero ya tiene una cita en ese horario");
+        }
+    }
+
+    // 🔹 Reservas rechazadas por motivo (fadeapp.appointments.rejected)
+    private void rejected(String reason) {
+        meterRegistry.counter("fadeapp.appointments.rejected", "reason", reason).increment();
+    }
+
+    // 🔹 Completar la hora de fin de las citas guardadas antes de existir end_date
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillEndDates() {
+        List<Appointment> pending = appointmentRepository.findByEndDateIsNull();
+        if (!pending.isEmpty()) {
+            pending.forEach(Appointment::computeEndDate);
+            appointmentRepository.saveAll(pending);
+        }
+    }
+
     // Obtener una cita por su ID
     @Override
-    public Optional<Appointment> getAppointmentById(Long id) {
-        return appointmentRepository.findById(id);
+    public Optional<AppointmentDto> getAppointmentById(Long id) {
+        return appointmentRepository.findDtoById(id);
     }
 
     // Obtener todas las citas de un cliente
     @Override
-    public List<Appointment> getAppointmentsByClient(Long clientId) {
-        return appointmentRepository.findByClientId(clientId);
+    public List<AppointmentDto> getAppointmentsByClient(Long clientId) {
+        return appointmentRepository.findDtosByClientId(clientId);
     }
 
     // Obtener todas las citas de un barbero
     @Override
-    public List<Appointment> getAppointmentsByBarber(Long barberId) {
-        return appointmentRepository.findByBarberId(barberId);
+    public List<AppointmentDto> getAppointmentsByBarber(Long barberId) {
+        return appointmentRepository.findDtosByBarberId(barberId);
     }
 
     // Obtener todas las citas de una barbería
     @Override
-    public List<Appointment> getAppointmentsByBarbershop(Long barbershopId) {
-        return appointmentRepository.findByBarbershopId(barbershopId);
+    public List<AppointmentDto> getAppointmentsByBarbershop(Long barbershopId) {
+        return appointmentRepository.findDtosByBarbershopId(barbershopId);
+    }
+
+    // Citas de un cliente paginadas por cursor
+    @Override
+    public PageResponse<AppointmentDto> getAppointmentsPageByClient(Long clientId, AppointmentQuery query) {
+        return page(query, (cursorDate, cursorId, limit) -> appointmentRepository.findPageByClient(
+                clientId, query.getFrom(), query.getTo(), normalizeStatus(query.getStatus()), cursorDate, cursorId, limit));
+    }
+
+    // Citas de un barbero paginadas por cursor
+    @Override
+    public PageResponse<AppointmentDto> getAppointmentsPageByBarber(Long barberId, AppointmentQuery query) {
+        return page(query, (cursorDate, cursorId, limit) -> appointmentRepository.findPageByBarber(
+                barberId, query.getFrom(), query.getTo(), normalizeStatus(query.getStatus()), cursorDate, cursorId, limit));
+    }
+
+    // Citas de una barbería paginadas por cursor
+    @Override
+    public PageResponse<AppointmentDto> getAppointmentsPageByBarbershop(Long barbershopId, AppointmentQuery query) {
+        return page(query, (cursorDate, cursorId, limit) -> appointmentRepository.findPageByBarbershop(
+                barbershopId, query.getFrom(), query.getTo(), normalizeStatus(query.getStatus()), cursorDate, cursorId, limit));
+    }
+
+    @FunctionalInterface
+    private interface PageQuery {
+        List<AppointmentDto> fetch(LocalDateTime cursorDate, Long cursorId, Limit limit);
+    }
+
+    // 🔹 Decodifica el cursor "fecha_id", pide una fila extra y arma la página
+    private PageResponse<AppointmentDto> page(AppointmentQuery query, PageQuery pageQuery) {
+        int limit = PageResponse.clampLimit(query.getLimit());
+        LocalDateTime cursorDate = null;
+        Long cursorId = null;
+
+        String cursor = query.getCursor();
+        if (cursor != null && !cursor.isBlank()) {
+            int separator = cursor.lastIndexOf('_');
+            try {
+                cursorDate = LocalDateTime.parse(cursor.substring(0, separator));
+                cursorId = Long.parseLong(cursor.substring(separator + 1));
+            } catch (RuntimeException e) {
+                throw new RuntimeException("Cursor inválido");
+            }
+        }
+
+        List<AppointmentDto> fetched = pageQuery.fetch(cursorDate, cursorId, Limit.of(limit + 1));
+        return PageResponse.of(fetched, limit, a -> a.date() + "_" + a.id());
     }
 
-    // Actualizar el estado de una cita
+    private static String normalizeStatus(String status) {
+        return (status == null || status.isBlank()) ? null : status.toUpperCase();
+    }
+
+    // Actualizar el estado de una cita.
+    // En una transacción la cita sigue gestionada y save() no hace merge: un merge de la
+    // entidad suelta la recargaba con las colecciones en cascada de cliente, barbero y barbería
     @Override
+    @Transactional(isolation = Isolation.READ_COMMITTED)
     public Appointment updateStatus(Long appointmentId, String status) {
         Appointment existing = appointmentRepository.findById(appointmentId)
                 .orElseThrow(() -> new RuntimeException("Cita no encontrada"));
 
-        existing.setStatus(status.toUpperCase());
-        return appointmentRepository.save(existing);
+        boolean wasActive = AvailabilityServiceImpl.isActive(existing);
+        String newStatus = status.toUpperCase();
+        // 🔹 Reactivar una cita cancelada vuelve a ocupar el horario: mismo bloqueo y verificación que al reservar
+        if (!wasActive && !"CANCELLED".equals(newStatus)) {
+            checkSlotStillFree(existing);
+        }
+        existing.setStatus(newStatus);
+        Appointment saved = appointmentRepository.save(existing);
+
+        // 🔹 El evento lleva si la cita ocupaba el horario antes y después (cancelar o reactivar)
+        eventPublisher.publish(AppointmentEvent.of(AppointmentEvent.typeOf(saved.getStatus()), saved,
+                wasActive, AvailabilityServiceImpl.isActive(saved)));
+        return saved;
     }
 
-    // Eliminar o cancelar una cita
+    // Eliminar o cancelar una cita (en transacción por la misma razón que updateStatus)
     @Override
+    @Transactional
     public void deleteAppointment(Long appointmentId) {
         Appointment existing = appointmentRepository.findById(appointmentId)
                 .orElseThrow(() -> new RuntimeException("Cita no encontrada"));
@@ -144,5 +268,7 @@ public class AppointmentServiceImpl implements AppointmentService {
         }
 
         appointmentRepository.delete(existing);
+        eventPublisher.publish(AppointmentEvent.of(AppointmentEvent.Type.DELETED, existing,
+                AvailabilityServiceImpl.isActive(existing), false));
     }
 }
@@ -1,5 +1,6 @@
 package com.fadeapp.serviceImpl;
 
+import com.fadeapp.model.Account;
 import com.fadeapp.model.Client;
 import com.fadeapp.model.Barbershop;
 import com.fadeapp.model.Barber;
@@ -9,11 +10,18 @@ import com.fadeapp.repository.ClientRepository;
 import com.fadeapp.repository.BarbershopRepository;
 import com.fadeapp.repository.BarberRepository;
 import com.fadeapp.security.JwtUtils;
+import com.fadeapp.security.PasswordHasher;
+import com.fadeapp.service.AccountService;
 import com.fadeapp.service.AuthService;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.concurrent.Executor;
+
+@Slf4j
 @Service
 public class AuthServiceImpl implements AuthService {
 
@@ -26,45 +34,72 @@ public class AuthServiceImpl implements AuthService {
     @Autowired
     private BarberRepository barberRepository;
 
+    @Autowired
+    private AccountService accountService;
+
     @Autowired
     private JwtUtils jwtUtils;
 
-    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+    @Autowired
+    private PasswordHasher passwordHasher;
+
+    // El hash se calcula antes de abrir la transacción: no retener una conexión mientras
+    // la petición espera en la cola de hashing
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // Guarda el hash recalculado tras un login: la escritura en la base de datos no debe
+    // ocupar un hilo del pool de hashing
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private Executor taskExecutor;
 
     // Registrar un nuevo cliente
     @Override
     public Client registerClient(Client client) {
-        if (clientRepository.existsByEmail(client.getEmail())) {
+        if (accountService.existsByEmail(client.getEmail())) {
             throw new RuntimeException("El correo ya está registrado");
         }
-        client.setPassword(passwordEncoder.encode(client.getPassword()));
+        client.setPassword(passwordHasher.encode(client.getPassword()));
         client.setRole("CLIENT");
         client.setStatus(true);
-        return clientRepository.save(client);
+        return transactionTemplate.execute(status -> {
+            Client saved = clientRepository.save(client);
+            accountService.syncClient(saved);
+            return saved;
+        });
     }
 
     // Registrar una nueva barbería
     @Override
     public Barbershop registerBarbershop(Barbershop barbershop) {
-        if (barbershopRepository.existsByEmail(barbershop.getEmail())) {
+        if (accountService.existsByEmail(barbershop.getEmail())) {
             throw new RuntimeException("El correo ya está registrado");
         }
-        barbershop.setPassword(passwordEncoder.encode(barbershop.getPassword()));
+        barbershop.setPassword(passwordHasher.encode(barbershop.getPassword()));
         barbershop.setRole("BARBERSHOP");
         barbershop.setStatus(true);
-        return barbershopRepository.save(barbershop);
+        return transactionTemplate.execute(status -> {
+            Barbershop saved = barbershopRepository.save(barbershop);
+            accountService.syncBarbershop(saved);
+            return saved;
+        });
     }
 
     // Registrar un nuevo barbero
     @Override
     public Barber registerBarber(Barber barber) {
-        if (barberRepository.existsByEmail(barber.getEmail())) {
+        if (accountService.existsByEmail(barber.getEmail())) {
             throw new RuntimeException("El correo ya está registrado");
         }
-        barber.setPassword(passwordEncoder.encode(barber.getPassword()));
+        barber.setPassword(passwordHasher.encode(barber.getPassword()));
         barber.setRole("BARBER");
         barber.setStatus(true);
-        return barberRepository.save(barber);
+        return transactionTemplate.execute(status -> {
+            Barber saved = barberRepository.save(barber);
+            accountService.syncBarber(saved);
+            return saved;
+        });
     }
 
     // Iniciar sesión y generar token JWT
@@ -73,33 +108,38 @@ public class AuthServiceImpl implements AuthService {
         String email = request.getEmail();
         String password = request.getPassword();
 
-        // Buscar en Client
-        Client client = clientRepository.findByEmail(email).orElse(null);
-        if (client != null && passwordEncoder.matches(password, client.getPassword())) {
-            if (!client.isStatus()) throw new RuntimeException("Usuario inactivo");
-            String token = jwtUtils.generateToken(email, "CLIENT");
-            return new LoginResponse(token, "CLIENT", client.getId());
-        }
+        // Una sola consulta al índice de cuentas, sin importar el rol
+        Account account = accountService.findByEmail(email).orElse(null);
 
-        // Buscar en Barbershop
-        Barbershop barbershop = barbershopRepository.findByEmail(email).orElse(null);
-        if (barbershop != null && passwordEncoder.matches(password, barbershop.getPassword())) {
-            if (!barbershop.isStatus()) throw new RuntimeException("Usuario inactivo");
-            String token = jwtUtils.generateToken(email, "BARBERSHOP");
-            return new LoginResponse(token, "BARBERSHOP", barbershop.getId());
+        // Correo desconocido: sin gastar un hash, pero tardando lo mismo que uno real
+        if (account == null || account.getPassword() == null) {
+            passwordHasher.simulateMatch();
+            throw new RuntimeException("Credenciales inválidas");
         }
 
-        // Buscar en Barber
-        Barber barber = barberRepository.findByEmail(email).orElse(null);
-        if (barber != null && passwordEncoder.matches(password, barber.getPassword())) {
-            if (!barber.isStatus()) throw new RuntimeException("Usuario inactivo");
-            String token = jwtUtils.generateToken(email, "BARBER");
-            return new LoginResponse(token, "BARBER", barber.getId());
+        if (passwordHasher.matches(password, account.getPassword())) {
+            if (!account.isStatus()) throw new RuntimeException("Usuario inactivo");
+            rehashIfNeeded(account, password);
+            String token = jwtUtils.generateToken(email, account.getRole());
+            return new LoginResponse(token, account.getRole(), account.getEntityId());
         }
 
         throw new RuntimeException("Credenciales inválidas");
     }
 
+    // 🔹 Si el hash es de otro costo, recalcularlo en segundo plano sin demorar la respuesta
+    private void rehashIfNeeded(Account account, String password) {
+        if (!passwordHasher.needsRehash(account.getPassword())) {
+            return;
+        }
+        passwordHasher.encodeAsync(password)
+                .thenAcceptAsync(encoded -> accountService.updatePassword(account, encoded), taskExecutor)
+                .exceptionally(e -> {
+                    log.warn("No se pudo recalcular el hash de {}: {}", account.getEmail(), e.getMessage());
+                    return null;
+                });
+    }
+
     // Validar si un token JWT es válido
     @Override
     public boolean validateToken(String token) {
@@ -0,0 +1,370 @@
+package com.fadeapp.serviceImpl;
+
+import com.fadeapp.dto.BarberDto;
+import com.fadeapp.dto.BarbershopDto;
+import com.fadeapp.dto.BookedIntervalDto;
+import com.fadeapp.dto.NextAvailableDto;
+import com.fadeapp.dto.ScheduleDto;
+import com.fadeapp.dto.SlotResponse;
+import com.fadeapp.model.Appointment;
+import com.fadeapp.model.Barber;
+import com.fadeapp.model.Barbershop;
+import com.fadeapp.model.EntityService;
+import com.fadeapp.model.Schedule;
+import com.fadeapp.model.ScheduleDay;
+import com.fadeapp.repository.AppointmentRepository;
+import com.fadeapp.repository.BarberRepository;
+import com.fadeapp.repository.BarbershopRepository;
+import com.fadeapp.repository.ScheduleRepository;
+import com.fadeapp.repository.ServiceRepository;
+import com.fadeapp.service.AvailabilityService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class AvailabilityServiceImpl implements AvailabilityService {
+
+    // Separación entre horas de inicio ofrecidas al cliente
+    private static final int SLOT_STEP_MINUTES = 15;
+
+    // Límite de días calculados que se mantienen en memoria
+    private static final int MAX_CACHED_DAYS = 50_000;
+
+    private final AppointmentRepository appointmentRepository;
+    private final BarberRepository barberRepository;
+    private final BarbershopRepository barbershopRepository;
+    private final ScheduleRepository scheduleRepository;
+    private final ServiceRepository serviceRepository;
+
+    private final Map<DayKey, DaySlots> days = new ConcurrentHashMap<>();
+
+    // Generación por barbero: evita guardar un día construido con datos ya obsoletos
+    private final Map<Long, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    private record DayKey(Long barberId, LocalDate date) {
+    }
+
+    // Entrada de la cola: un día por revisar (a medianoche) o el primer turno ya encontrado de un barbero
+    private record Candidate(int barber, LocalDateTime at, boolean found) {
+    }
+
+    // 🔹 Horarios libres de un barbero para un servicio en una fecha
+    @Override
+    public List<SlotResponse> getAvailableSlots(Long barberId, Long serviceId, LocalDate date) {
+        EntityService service = serviceRepository.findById(serviceId)
+                .orElseThrow(() -> new RuntimeException("Servicio no encontrado"));
+
+        LocalDate today = LocalDate.now();
+        if (date.isBefore(today)) {
+            return List.of();
+        }
+
+        int duration = durationOf(service);
+        LocalTime notBefore = date.equals(today) ? LocalTime.now() : null;
+
+        return slotsFor(barberId, date)
+                .freeStarts(duration, SLOT_STEP_MINUTES, notBefore)
+                .stream()
+                .map(start -> new SlotResponse(start, start.plusMinutes(duration)))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Primer turno libre de cada barbero activo de la barbería para un servicio.
+     * Barbería, barberos, horarios y citas del horizonte se leen en lote (cinco consultas,
+     * sin importar barberos ni días) y los barberos se recorren día a día con una cola de
+     * prioridad por instante: un turno encontrado sale antes que cualquier día posterior,
+     * así que la lista queda ordenada al sacarla de la cola.
+     */
+    @Override
+    public List<NextAvailableDto> getNextAvailable(Long barbershopId, Long serviceId, Integer horizonDays) {
+        EntityService service = serviceRepository.findById(serviceId)
+                .orElseThrow(() -> new RuntimeException("Servicio no encontrado"));
+        if (service.getBarbershop() == null || !service.getBarbershop().getId().equals(barbershopId)) {
+            throw new RuntimeException("El servicio no pertenece a la barbería");
+        }
+        BarbershopDto barbershop = barbershopRepository.findDtoById(barbershopId)
+                .orElseThrow(() -> new RuntimeException("Barbería no encontrada"));
+
+        int horizon = (horizonDays == null || horizonDays < 1) ? DEFAULT_HORIZON_DAYS : Math.min(horizonDays, MAX_HORIZON_DAYS);
+        int duration = durationOf(service);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate today = now.toLocalDate();
+        LocalDate end = today.plusDays(horizon);
+
+        List<BarberDto> barbers = barberRepository.findActiveDtosByBarbershopId(barbershopId);
+        if (barbers.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, List<ScheduleDto>> schedules = scheduleRepository.findAvailableDtosByBarbershopId(barbershopId)
+                .stream()
+                .collect(Collectors.groupingBy(ScheduleDto::barberId));
+        Map<Long, List<BookedIntervalDto>> booked = appointmentRepository
+                .findBookedIntervalsByBarbershopId(barbershopId,
+                        today.atStartOfDay().minusMinutes(Appointment.MAX_DURATION_MINUTES), end.atStartOfDay())
+                .stream()
+                .collect(Collectors.groupingBy(BookedIntervalDto::barberId));
+
+        PriorityQueue<Candidate> queue = new PriorityQueue<>(Comparator.comparing(Candidate::at)
+                .thenComparing(Candidate::found)
+                .thenComparing(candidate -> barbers.get(candidate.barber()).name(),
+                        Comparator.nullsLast(Comparator.naturalOrder())));
+        List<NextAvailableDto> unavailable = new ArrayList<>();
+        for (int i = 0; i < barbers.size(); i++) {
+            if (schedules.containsKey(barbers.get(i).id())) {
+                queue.add(new Candidate(i, today.atStartOfDay(), false));
+            } else {
+                unavailable.add(new NextAvailableDto(barbers.get(i), null, null));
+            }
+        }
+
+        List<NextAvailableDto> ranked = new ArrayList<>(barbers.size());
+        while (!queue.isEmpty()) {
+            Candidate next = queue.poll();
+            BarberDto barber = barbers.get(next.barber());
+            if (next.found()) {
+                ranked.add(new NextAvailableDto(barber, next.at(), next.at().plusMinutes(duration)));
+                continue;
+            }
+
+            LocalDate date = next.at().toLocalDate();
+            // Si el día ya está calculado (y se mantiene al día con cada cita) se usa ese
+            DaySlots slots = days.get(new DayKey(barber.id(), date));
+            if (slots == null) {
+                slots = buildFrom(barbershop, schedules.get(barber.id()), booked.getOrDefault(barber.id(), List.of()), date);
+            }
+            List<LocalTime> starts = slots.freeStarts(duration, SLOT_STEP_MINUTES,
+                    date.equals(today) ? now.toLocalTime() : null);
+
+            if (!starts.isEmpty()) {
+                queue.add(new Candidate(next.barber(), date.atTime(starts.get(0)), true));
+            } else if (date.plusDays(1).isBefore(end)) {
+                queue.add(new Candidate(next.barber(), date.plusDays(1).atStartOfDay(), false));
+            } else {
+                unavailable.add(new NextAvailableDto(barber, null, null));
+            }
+        }
+        ranked.addAll(unavailable);
+        return ranked;
+    }
+
+    // 🔹 Registrar una cita en el mapa de disponibilidad (en cada día que ocupa)
+    @Override
+    public void registerAppointment(Long appointmentId, Long barberId, LocalDateTime start, int durationMinutes) {
+        if (appointmentId == null || barberId == null || start == null) {
+            return;
+        }
+        bump(barberId);
+        forEachDay(start, start.plusMinutes(durationMinutes), (date, from, minutes) -> {
+            DaySlots slots = days.get(new DayKey(barberId, date));
+            if (slots != null) {
+                slots.book(appointmentId, from, minutes);
+            }
+        });
+    }
+
+    // 🔹 Liberar el intervalo de una cita cancelada o eliminada
+    @Override
+    public void releaseAppointment(Long appointmentId, Long barberId, LocalDateTime start, int durationMinutes) {
+        if (appointmentId == null || barberId == null || start == null) {
+            return;
+        }
+        bump(barberId);
+        forEachDay(start, start.plusMinutes(durationMinutes), (date, from, minutes) -> {
+            DaySlots slots = days.get(new DayKey(barberId, date));
+            if (slots != null) {
+                slots.release(appointmentId, from, minutes);
+            }
+        });
+    }
+
+    // 🔹 Descartar los días calculados de un barbero
+    @Override
+    public void invalidateBarber(Long barberId) {
+        discardBarber(barberId);
+        // Dentro de una transacción se repite al confirmar: un día construido entretanto leyó datos viejos
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    discardBarber(barberId);
+                }
+            });
+        }
+    }
+
+    // 🔹 Descartar los días calculados de todos los barberos de una barbería
+    @Override
+    public void invalidateBarbershop(Long barbershopId) {
+        days.entrySet().removeIf(entry -> {
+            if (barbershopId.equals(entry.getValue().getBarbershopId())) {
+                bump(entry.getKey().barberId());
+                return true;
+            }
+            return false;
+        });
+    }
+
+    static int durationOf(EntityService service) {
+        return (service != null) ? service.effectiveDuration() : EntityService.DEFAULT_DURATION_MINUTES;
+    }
+
+    static boolean isActive(Appointment appointment) {
+        return !"CANCELLED".equalsIgnoreCase(appointment.getStatus());
+    }
+
+    /**
+     * Indica si un horario (campo libre "day") aplica a una fecha concreta.
+     * Acepta el nombre del día en español (con o sin tilde), en inglés o la fecha ISO.
+     */
+    static boolean matchesDay(String day, LocalDate date) {
+        ScheduleDay parsed = ScheduleDay.parse(day);
+        return parsed != null && parsed.appliesTo(date);
+    }
+
+    private void discardBarber(Long barberId) {
+        bump(barberId);
+        days.keySet().removeIf(key -> key.barberId().equals(barberId));
+    }
+
+    private void bump(Long barberId) {
+        generations.computeIfAbsent(barberId, id -> new AtomicLong()).incrementAndGet();
+    }
+
+    private long generationOf(Long barberId) {
+        AtomicLong generation = generations.get(barberId);
+        return generation != null ? generation.get() : 0L;
+    }
+
+    // 🔹 Obtiene el día calculado o lo construye desde la base de datos
+    private DaySlots slotsFor(Long barberId, LocalDate date) {
+        DayKey key = new DayKey(barberId, date);
+        DaySlots cached = days.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        long generation = generationOf(barberId);
+        DaySlots built = build(barberId, date);
+
+        // Solo se guarda si nadie modificó al barbero mientras se construía
+        if (generation == generationOf(barberId)) {
+            if (days.size() >= MAX_CACHED_DAYS) {
+                evictPastDays();
+            }
+            DaySlots previous = days.putIfAbsent(key, built);
+            return previous != null ? previous : built;
+        }
+        return built;
+    }
+
+    private DaySlots build(Long barberId, LocalDate date) {
+        Barber barber = barberRepository.findById(barberId)
+                .orElseThrow(() -> new RuntimeException("Barbero no encontrado"));
+        Barbershop barbershop = barber.getBarbershop();
+        DaySlots slots = new DaySlots(barbershop != null ? barbershop.getId() : null);
+
+        if (barber.isStatus()) {
+            for (Schedule s : scheduleRepository.findByBarberIdAndAvailableTrue(barberId)) {
+                if (s.getStartTime() == null || s.getEndTime() == null) {
+                    continue;
+                }
+                if (matchesDay(s.getDay(), date)) {
+                    slots.open(s.getStartTime(), s.getEndTime());
+                }
+                // Madrugada de un turno nocturno del día anterior
+                if (DaySlots.crossesMidnight(s.getStartTime(), s.getEndTime()) && matchesDay(s.getDay(), date.minusDays(1))) {
+                    slots.openUntil(s.getEndTime());
+                }
+            }
+
+            if (barbershop != null && barbershop.getOpeningTime() != null && barbershop.getClosingTime() != null) {
+                slots.restrictTo(barbershop.getOpeningTime(), barbershop.getClosingTime());
+            }
+        }
+
+        // Citas activas que tocan el día, también las que empezaron la noche anterior; con su hora de fin guardada
+        appointmentRepository.findOverlapping(barberId, date.atStartOfDay(), date.plusDays(1).atStartOfDay())
+                .forEach(a -> bookWithin(slots, date, a.getId(), a.getDate(), a.getEndDate()));
+
+        return slots;
+    }
+
+    // Mismas reglas que build, pero con horarios y citas ya cargados en lote
+    private static DaySlots buildFrom(BarbershopDto barbershop, List<ScheduleDto> schedules,
+                                      List<BookedIntervalDto> booked, LocalDate date) {
+        DaySlots slots = new DaySlots(barbershop.id());
+        for (ScheduleDto s : schedules) {
+            if (s.startTime() == null || s.endTime() == null) {
+                continue;
+            }
+            if (matchesDay(s.day(), date)) {
+                slots.open(s.startTime(), s.endTime());
+            }
+            if (DaySlots.crossesMidnight(s.startTime(), s.endTime()) && matchesDay(s.day(), date.minusDays(1))) {
+                slots.openUntil(s.endTime());
+            }
+        }
+
+        if (barbershop.openingTime() != null && barbershop.closingTime() != null) {
+            slots.restrictTo(barbershop.openingTime(), barbershop.closingTime());
+        }
+
+        booked.forEach(b -> bookWithin(slots, date, b.appointmentId(), b.date(), b.endDate() != null
+                ? b.endDate()
+                : b.date().plusMinutes(EntityService.DEFAULT_DURATION_MINUTES)));
+        return slots;
+    }
+
+    // 🔹 Ocupa en el día solo la parte de [start, end) que cae dentro de él
+    private static void bookWithin(DaySlots slots, LocalDate date, Long appointmentId,
+                                   LocalDateTime start, LocalDateTime end) {
+        forEachDay(start, end, (day, from, minutes) -> {
+            if (day.equals(date)) {
+                slots.book(appointmentId, from, minutes);
+            }
+        });
+    }
+
+    @FunctionalInterface
+    private interface DayPart {
+        void accept(LocalDate date, LocalTime start, int minutes);
+    }
+
+    // 🔹 Reparte [start, end) entre los días que ocupa: una cita puede cruzar la medianoche
+    private static void forEachDay(LocalDateTime start, LocalDateTime end, DayPart action) {
+        for (LocalDate date = start.toLocalDate(); date.atStartOfDay().isBefore(end); date = date.plusDays(1)) {
+            LocalDateTime dayStart = date.atStartOfDay();
+            LocalDateTime dayEnd = dayStart.plusDays(1);
+            LocalDateTime from = start.isAfter(dayStart) ? start : dayStart;
+            LocalDateTime to = end.isBefore(dayEnd) ? end : dayEnd;
+            if (from.isBefore(to)) {
+                action.accept(date, from.toLocalTime(), (int) Duration.between(from, to).toMinutes());
+            }
+        }
+    }
+
+    private void evictPastDays() {
+        LocalDate today = LocalDate.now();
+        days.keySet().removeIf(key -> key.date().isBefore(today));
+        if (days.size() >= MAX_CACHED_DAYS) {
+            days.clear();
+        }
+    }
+}
@@ -1,14 +1,21 @@
 package com.fadeapp.serviceImpl;
 
+import com.fadeapp.cache.BarbershopCatalogCache;
+import com.fadeapp.dto.AppointmentDto;
+import com.fadeapp.dto.BarberDto;
+import com.fadeapp.dto.ScheduleDto;
 import com.fadeapp.model.Barber;
 import com.fadeapp.model.Schedule;
-import com.fadeapp.model.Appointment;
+import com.fadeapp.model.ScheduleDay;
 import com.fadeapp.repository.BarberRepository;
 import com.fadeapp.repository.ScheduleRepository;
 import com.fadeapp.repository.AppointmentRepository;
+import com.fadeapp.service.AccountService;
+import com.fadeapp.service.AvailabilityService;
 import com.fadeapp.service.BarberService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -20,21 +27,28 @@ public class BarberServiceImpl implements BarberService {
     private final BarberRepository barberRepository;
     private final ScheduleRepository scheduleRepository;
     private final AppointmentRepository appointmentRepository;
+    private final AvailabilityService availabilityService;
+    private final AccountService accountService;
+    private final BarbershopCatalogCache catalogCache;
 
     // 🔹 Registrar un nuevo barbero
     @Override
+    @Transactional
     public Barber register(Barber barber) {
-        if (barberRepository.existsByEmail(barber.getEmail())) {
+        if (accountService.existsByEmail(barber.getEmail())) {
             throw new RuntimeException("El correo ya está registrado");
         }
         barber.setStatus(true); // se corrige: el campo en el modelo es 'status', no 'active'
-        return barberRepository.save(barber);
+        Barber saved = barberRepository.save(barber);
+        accountService.syncBarber(saved);
+        evictCatalog(saved);
+        return saved;
     }
 
     // 🔹 Buscar barbero por correo electrónico
     @Override
-    public Optional<Barber> findByEmail(String email) {
-        return barberRepository.findByEmail(email);
+    public Optional<BarberDto> findByEmail(String email) {
+        return barberRepository.findDtoByEmail(email);
     }
 
     // 🔹 Actualizar información personal del barbero
@@ -47,56 +61,46 @@ public class BarberServiceImpl implements BarberService {
         existing.setSpecialty(barberDetails.getSpecialty());
         existing.setImageUrl(barberDetails.getImageUrl());
 
-        return barberRepository.save(existing);
+        Barber saved = barberRepository.save(existing);
+        evictCatalog(saved);
+        return saved;
     }
 
-    // 🔹 Bloquear una hora específica (marcar como no disponible)
-    @Override
-    public Schedule blockSchedule(Long barberId, Long scheduleId) {
-        Barber barber = barberRepository.findById(barberId)
-                .orElseThrow(() -> new RuntimeException("Barbero no encontrado"));
-
-        Schedule schedule = scheduleRepository.findById(scheduleId)
-                .orElseThrow(() -> new RuntimeException("Horario no encontrado"));
-
-        if (!schedule.getBarber().getId().equals(barber.getId())) {
-            throw new RuntimeException("El horario no pertenece a este barbero");
+    // 🔹 El detalle público de la barbería muestra sus barberos
+    private void evictCatalog(Barber barber) {
+        if (barber.getBarbershop() != null) {
+            catalogCache.evictBarbers(barber.getBarbershop().getId());
         }
+    }
 
-        schedule.setAvailable(false);
-        return scheduleRepository.save(schedule);
+    // 🔹 Bloquear una hora específica (marcar como no disponible)
+    @Override
+    @Transactional
+    public ScheduleDto blockSchedule(Long barberId, Long scheduleId) {
+        return setScheduleAvailability(barberId, scheduleId, false);
     }
 
     // 🔹 Desbloquear una hora específica (volver a disponible)
     @Override
-    public Schedule unblockSchedule(Long barberId, Long scheduleId) {
-        Barber barber = barberRepository.findById(barberId)
-                .orElseThrow(() -> new RuntimeException("Barbero no encontrado"));
-
-        Schedule schedule = scheduleRepository.findById(scheduleId)
-                .orElseThrow(() -> new RuntimeException("Horario no encontrado"));
-
-        if (!schedule.getBarber().getId().equals(barber.getId())) {
-            throw new RuntimeException("El horario no pertenece a este barbero");
-        }
-
-        schedule.setAvailable(true);
-        return scheduleRepository.save(schedule);
+    @Transactional
+    public ScheduleDto unblockSchedule(Long barberId, Long scheduleId) {
+        return setScheduleAvailability(barberId, scheduleId, true);
     }
 
     // 🔹 Bloquear un día completo (todas las horas del día)
     @Override
+    @Transactional
     public void blockDay(Long barberId, String day) {
-        Barber barber = barberRepository.findById(barberId)
-                .orElseThrow(() -> new RuntimeException("Barbero no encontrado"));
-
-        List<Schedule> schedules = scheduleRepository.findByBarberIdAndDay(barberId, day);
-        if (schedules.isEmpty()) {
-            throw new RuntimeException("No se encontraron horarios para ese día");
+        ScheduleDay parsed = ScheduleDay.parse(day);
+        int updated = scheduleRepository.blockDay(barberId, day,
+                parsed != null ? parsed.dayOfWeek() : null,
+                parsed != null ? parsed.date() : null);
+        if (updated == 0) {
+            throw new RuntimeException(barberRepository.existsById(barberId)
+                    ? "No se encontraron horarios para ese día"
+                    : "Barbero no encontrado");
         }
-
-        schedules.forEach(s -> s.setAvailable(false));
-        scheduleRepository.saveAll(schedules);
+        availabilityService.invalidateBarber(barberId);
     }
 
     // 🔹 Obtener los horarios actuales del barbero
@@ -107,7 +111,22 @@ public class BarberServiceImpl implements BarberService {
 
     // 🔹 Obtener las citas asignadas al barbero
     @Override
-    public List<Appointment> getAppointments(Long barberId) {
-        return appointmentRepository.findByBarberId(barberId);
+    public List<AppointmentDto> getAppointments(Long barberId) {
+        return appointmentRepository.findDtosByBarberId(barberId);
+    }
+
+    // Un solo UPDATE filtrado por barbero; los errores se distinguen solo si no cambió nada
+    private ScheduleDto setScheduleAvailability(Long barberId, Long scheduleId, boolean available) {
+        if (scheduleRepository.updateAvailabilityOfBarber(scheduleId, barberId, available) == 0) {
+            if (!barberRepository.existsById(barberId)) {
+                throw new RuntimeException("Barbero no encontrado");
+            }
+            throw new RuntimeException(scheduleRepository.existsById(scheduleId)
+                    ? "El horario no pertenece a este barbero"
+                    : "Horario no encontrado");
+        }
+        availabilityService.invalidateBarber(barberId);
+        return scheduleRepository.findDtoById(scheduleId)
+                .orElseThrow(() -> new RuntimeException("Horario no encontrado"));
     }
 }
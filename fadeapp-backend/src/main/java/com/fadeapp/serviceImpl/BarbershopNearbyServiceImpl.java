@@ -0,0 +1,141 @@
+package com.fadeapp.serviceImpl;
+
+import com.fadeapp.dto.BarbershopDto;
+import com.fadeapp.dto.NearbyBarbershopDto;
+import com.fadeapp.repository.BarbershopRepository;
+import com.fadeapp.service.BarbershopNearbyService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BarbershopNearbyServiceImpl implements BarbershopNearbyService {
+
+    private final BarbershopRepository barbershopRepository;
+
+    private final GeoGrid grid = new GeoGrid();
+
+    // Sin synchronized: la reubicación espera a la base de datos dentro de la sección crítica
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    // Hasta terminar la primera construcción se responde con una caja de coordenadas en la base de datos
+    private volatile boolean ready;
+
+    // 🔹 Las barberías activas más cercanas al punto, de la más cercana a la más lejana
+    @Override
+    public List<NearbyBarbershopDto> findNearby(Double latitude, Double longitude, Double radiusKm,
+                                                Integer limit, boolean openNow) {
+        if (latitude == null || longitude == null
+                || Math.abs(latitude) > 90 || Math.abs(longitude) > 180) {
+            throw new RuntimeException("Coordenadas inválidas");
+        }
+        double radius = (radiusKm == null || radiusKm <= 0) ? DEFAULT_RADIUS_KM : Math.min(radiusKm, MAX_RADIUS_KM);
+        int size = (limit == null || limit < 1) ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+
+        LocalTime now = LocalTime.now();
+        Predicate<BarbershopDto> filter = openNow ? barbershop -> isOpenAt(barbershop, now) : barbershop -> true;
+
+        List<GeoGrid.Hit> hits = ready
+                ? grid.nearest(latitude, longitude, radius, size, filter)
+                : nearestFromDatabase(latitude, longitude, radius, size, filter);
+        return hits.stream()
+                .map(hit -> new NearbyBarbershopDto(hit.barbershop(), Math.round(hit.distanceKm() * 100) / 100.0))
+                .toList();
+    }
+
+    // 🔹 Reubicar una barbería; dentro de una transacción se espera al commit
+    @Override
+    public void reindexBarbershop(Long barbershopId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reindexNow(barbershopId);
+                }
+            });
+        } else {
+            reindexNow(barbershopId);
+        }
+    }
+
+    // Serializado: una reubicación que empieza después lee datos más nuevos y gana
+    private void reindexNow(Long barbershopId) {
+        writeLock.lock();
+        try {
+            BarbershopDto barbershop = barbershopRepository.findDtoById(barbershopId).orElse(null);
+            if (barbershop == null || !barbershop.status()
+                    || barbershop.latitude() == null || barbershop.longitude() == null) {
+                grid.remove(barbershopId);
+                return;
+            }
+            grid.put(barbershop);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // 🔹 Construir la grilla al arrancar con una sola consulta
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        writeLock.lock();
+        try {
+            long start = System.nanoTime();
+            grid.clear();
+            barbershopRepository.findActiveDtosWithLocation().forEach(grid::put);
+            ready = true;
+            log.info("Grilla geográfica construida: {} barberías en {} ms",
+                    grid.size(), (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // Respaldo: caja envolvente del radio en la base de datos y distancia exacta en memoria
+    private List<GeoGrid.Hit> nearestFromDatabase(double latitude, double longitude, double radius,
+                                                  int size, Predicate<BarbershopDto> filter) {
+        double latSpan = GeoGrid.latitudeSpan(radius);
+        double lngSpan = GeoGrid.longitudeSpan(latitude, radius);
+        double minLng = longitude - lngSpan;
+        double maxLng = longitude + lngSpan;
+        if (minLng < -180 || maxLng > 180) {
+            // La caja cruza el antimeridiano: todas las longitudes (solo mientras se arma la grilla)
+            minLng = -180;
+            maxLng = 180;
+        }
+        return barbershopRepository.findActiveDtosWithinBox(
+                        latitude - latSpan, latitude + latSpan, minLng, maxLng).stream()
+                .filter(filter)
+                .map(barbershop -> new GeoGrid.Hit(barbershop,
+                        GeoGrid.distanceKm(latitude, longitude, barbershop.latitude(), barbershop.longitude())))
+                .filter(hit -> hit.distanceKm() <= radius)
+                .sorted(Comparator.comparingDouble(GeoGrid.Hit::distanceKm))
+                .limit(size)
+                .toList();
+    }
+
+    // 🔹 Abierta a esa hora según su horario; contempla horarios que cruzan la medianoche
+    private static boolean isOpenAt(BarbershopDto barbershop, LocalTime time) {
+        LocalTime open = barbershop.openingTime();
+        LocalTime close = barbershop.closingTime();
+        if (open == null || close == null) {
+            return false;
+        }
+        if (open.isBefore(close)) {
+            return !time.isBefore(open) && time.isBefore(close);
+        }
+        return !time.isBefore(open) || time.isBefore(close);
+    }
+}
@@ -0,0 +1,109 @@
+package com.fadeapp.serviceImpl;
+
+import com.fadeapp.dto.BarbershopDto;
+import com.fadeapp.dto.ServiceNameDto;
+import com.fadeapp.repository.BarbershopRepository;
+import com.fadeapp.repository.ServiceRepository;
+import com.fadeapp.service.BarbershopSearchService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BarbershopSearchServiceImpl implements BarbershopSearchService {
+
+    private final BarbershopRepository barbershopRepository;
+    private final ServiceRepository serviceRepository;
+
+    private final SearchIndex index = new SearchIndex();
+
+    // Lock y no synchronized: las escrituras consultan la base de datos y un hilo virtual
+    // bloqueado dentro de un monitor queda anclado a su hilo portador
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    // Hasta terminar la primera construcción se responde con LIKE por prefijo
+    private volatile boolean ready;
+
+    // 🔹 Las barberías activas que mejor coinciden con la consulta
+    @Override
+    public List<BarbershopDto> search(String query, Integer limit) {
+        int size = (limit == null || limit < 1) ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        if (!ready) {
+            return barbershopRepository.findActiveDtosByNameOrCityPrefix(query.trim(), Limit.of(size));
+        }
+        return index.search(query, size);
+    }
+
+    // 🔹 Reindexar una barbería; dentro de una transacción se espera al commit
+    @Override
+    public void reindexBarbershop(Long barbershopId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reindexNow(barbershopId);
+                }
+            });
+        } else {
+            reindexNow(barbershopId);
+        }
+    }
+
+    // Serializado: una reindexación que empieza después lee datos más nuevos y gana
+    private void reindexNow(Long barbershopId) {
+        writeLock.lock();
+        try {
+            BarbershopDto barbershop = barbershopRepository.findDtoById(barbershopId).orElse(null);
+            if (barbershop == null || !barbershop.status()) {
+                index.remove(barbershopId);
+                return;
+            }
+            List<String> services = serviceRepository.findActiveNamesByBarbershopId(barbershopId).stream()
+                    .map(ServiceNameDto::name)
+                    .toList();
+            index.put(barbershop, services);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // 🔹 Construir el índice al arrancar: dos consultas para todo el catálogo
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        writeLock.lock();
+        try {
+            long start = System.nanoTime();
+            Map<Long, List<String>> servicesByShop = serviceRepository.findActiveNames().stream()
+                    .collect(Collectors.groupingBy(ServiceNameDto::barbershopId,
+                            Collectors.mapping(ServiceNameDto::name, Collectors.toList())));
+
+            index.clear();
+            for (BarbershopDto barbershop : barbershopRepository.findAllDtos()) {
+                if (barbershop.status()) {
+                    index.put(barbershop, servicesByShop.getOrDefault(barbershop.id(), List.of()));
+                }
+            }
+            ready = true;
+            log.info("Índice de búsqueda construido: {} barberías en {} ms",
+                    index.size(), (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+}
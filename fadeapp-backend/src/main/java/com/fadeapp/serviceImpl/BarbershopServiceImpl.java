@@ -1,22 +1,35 @@
 package com.fadeapp.serviceImpl;
 
+import com.fadeapp.cache.BarbershopCatalogCache;
+import com.fadeapp.dto.AppointmentDto;
+import com.fadeapp.dto.BarberDto;
+import com.fadeapp.dto.BarbershopDetailDto;
+import com.fadeapp.dto.BarbershopDto;
+import com.fadeapp.dto.PageResponse;
+import com.fadeapp.dto.ScheduleDto;
+import com.fadeapp.dto.ServiceDto;
+import com.fadeapp.model.Account;
 import com.fadeapp.model.Barbershop;
 import com.fadeapp.model.Barber;
 import com.fadeapp.model.EntityService;
-import com.fadeapp.model.Schedule;
-import com.fadeapp.model.Appointment;
 import com.fadeapp.repository.BarbershopRepository;
 import com.fadeapp.repository.BarberRepository;
+import com.fadeapp.repository.ScheduleRepository;
 import com.fadeapp.repository.ServiceRepository;
 import com.fadeapp.repository.AppointmentRepository;
+import com.fadeapp.service.AccountService;
+import com.fadeapp.service.AvailabilityService;
+import com.fadeapp.service.BarbershopNearbyService;
+import com.fadeapp.service.BarbershopSearchService;
 import com.fadeapp.service.BarbershopService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalTime;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Service
 public class BarbershopServiceImpl implements BarbershopService {
@@ -30,18 +43,42 @@ public class BarbershopServiceImpl implements BarbershopService {
     @Autowired
     private ServiceRepository serviceRepository;
 
+    @Autowired
+    private ScheduleRepository scheduleRepository;
+
     @Autowired
     private AppointmentRepository appointmentRepository;
 
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private BarbershopCatalogCache catalogCache;
+
+    @Autowired
+    private BarbershopSearchService searchService;
+
+    @Autowired
+    private BarbershopNearbyService nearbyService;
+
     // Registrar una nueva barbería
     @Override
+    @Transactional
     public Barbershop register(Barbershop barbershop) {
-        if (barbershopRepository.existsByEmail(barbershop.getEmail())) {
+        if (accountService.existsByEmail(barbershop.getEmail())) {
             throw new RuntimeException("El correo ya está registrado");
         }
         barbershop.setStatus(true);
         barbershop.setRole("BARBERSHOP");
-        return barbershopRepository.save(barbershop);
+        Barbershop saved = barbershopRepository.save(barbershop);
+        accountService.syncBarbershop(saved);
+        catalogCache.evictLists();
+        searchService.reindexBarbershop(saved.getId());
+        nearbyService.reindexBarbershop(saved.getId());
+        return saved;
     }
 
     // Buscar barbería por correo electrónico
@@ -60,8 +97,18 @@ public class BarbershopServiceImpl implements BarbershopService {
         existing.setCity(barbershopDetails.getCity());
         existing.setAddress(barbershopDetails.getAddress());
         existing.setImageUrl(barbershopDetails.getImageUrl());
+        // La ubicación solo se reemplaza si llega completa (también se puede fijar con setLocation)
+        if (barbershopDetails.getLatitude() != null && barbershopDetails.getLongitude() != null) {
+            validateLocation(barbershopDetails.getLatitude(), barbershopDetails.getLongitude());
+            existing.setLatitude(barbershopDetails.getLatitude());
+            existing.setLongitude(barbershopDetails.getLongitude());
+        }
 
-        return barbershopRepository.save(existing);
+        Barbershop saved = barbershopRepository.save(existing);
+        catalogCache.evictBarbershop(id);
+        searchService.reindexBarbershop(id);
+        nearbyService.reindexBarbershop(id);
+        return saved;
     }
 
     // Establecer hora de apertura y cierre
@@ -76,6 +123,24 @@ public class BarbershopServiceImpl implements BarbershopService {
         barbershop.setOpeningTime(open);
         barbershop.setClosingTime(close);
         barbershopRepository.save(barbershop);
+        availabilityService.invalidateBarbershop(barbershopId);
+        catalogCache.evictBarbershop(barbershopId);
+        searchService.reindexBarbershop(barbershopId);
+        nearbyService.reindexBarbershop(barbershopId);
+    }
+
+    // Fijar la ubicación (latitud/longitud) de la barbería
+    @Override
+    public void setLocation(Long barbershopId, Double latitude, Double longitude) {
+        Barbershop barbershop = barbershopRepository.findById(barbershopId)
+                .orElseThrow(() -> new RuntimeException("Barbería no encontrada"));
+
+        validateLocation(latitude, longitude);
+        barbershop.setLatitude(latitude);
+        barbershop.setLongitude(longitude);
+        barbershopRepository.save(barbershop);
+        catalogCache.evictBarbershop(barbershopId);
+        nearbyService.reindexBarbershop(barbershopId);
     }
 
     // Agregar un nuevo servicio
@@ -85,7 +150,10 @@ public class BarbershopServiceImpl implements BarbershopService {
                 .orElseThrow(() -> new RuntimeException("Barbería no encontrada"));
 
         service.setBarbershop(barbershop);
-        return serviceRepository.save(service);
+        EntityService saved = serviceRepository.save(service);
+        catalogCache.evictServices(barbershopId);
+        searchService.reindexBarbershop(barbershopId);
+        return saved;
     }
 
     // Editar un servicio existente
@@ -98,20 +166,25 @@ public class BarbershopServiceImpl implements BarbershopService {
         existing.setPrice(serviceDetails.getPrice());
         existing.setDuration(serviceDetails.getDuration());
 
-        return serviceRepository.save(existing);
+        EntityService saved = serviceRepository.save(existing);
+        catalogCache.evictServices(existing.getBarbershop().getId());
+        searchService.reindexBarbershop(existing.getBarbershop().getId());
+        return saved;
     }
 
     // Eliminar un servicio
     @Override
     public void deleteService(Long serviceId) {
-        if (!serviceRepository.existsById(serviceId)) {
-            throw new RuntimeException("Servicio no encontrado");
-        }
-        serviceRepository.deleteById(serviceId);
+        EntityService existing = serviceRepository.findById(serviceId)
+                .orElseThrow(() -> new RuntimeException("Servicio no encontrado"));
+        serviceRepository.delete(existing);
+        catalogCache.evictServices(existing.getBarbershop().getId());
+        searchService.reindexBarbershop(existing.getBarbershop().getId());
     }
 
     // Agregar un nuevo barbero
     @Override
+    @Transactional
     public Barber addBarber(Long barbershopId, Barber barber) {
         Barbershop barbershop = barbershopRepository.findById(barbershopId)
                 .orElseThrow(() -> new RuntimeException("Barbería no encontrada"));
@@ -129,8 +202,14 @@ public class BarbershopServiceImpl implements BarbershopService {
         if (barber.getSpecialty() == null || barber.getSpecialty().isEmpty()) {
             barber.setSpecialty("General");
         }
+        if (accountService.existsByEmail(barber.getEmail())) {
+            throw new RuntimeException("El correo ya está registrado");
+        }
 
-        return barberRepository.save(barber);
+        Barber saved = barberRepository.save(barber);
+        accountService.syncBarber(saved);
+        catalogCache.evictBarbers(barbershopId);
+        return saved;
     }
 
 
@@ -144,91 +223,120 @@ public class BarbershopServiceImpl implements BarbershopService {
         existing.setSpecialty(barberDetails.getSpecialty());
         existing.setImageUrl(barberDetails.getImageUrl());
 
-        return barberRepository.save(existing);
+        Barber saved = barberRepository.save(existing);
+        evictBarbersOf(saved);
+        return saved;
     }
 
     // Activar o desactivar un barbero
     @Override
+    @Transactional
     public void toggleBarberStatus(Long barberId, boolean active) {
         Barber barber = barberRepository.findById(barberId)
                 .orElseThrow(() -> new RuntimeException("Barbero no encontrado"));
         barber.setStatus(active);
         barberRepository.save(barber);
+        availabilityService.invalidateBarber(barberId);
+        accountService.syncBarber(barber);
+        evictBarbersOf(barber);
     }
 
     // Listar barberos activos de una barbería
     @Override
-    public List<Barber> getActiveBarbers(Long barbershopId) {
-        return barberRepository.findByBarbershopId(barbershopId)
-                .stream()
-                .filter(Barber::isStatus)
-                .collect(Collectors.toList());
+    public List<BarberDto> getActiveBarbers(Long barbershopId) {
+        return barberRepository.findActiveDtosByBarbershopId(barbershopId);
     }
 
     // Obtener horarios disponibles de los barberos
     @Override
-    public List<Schedule> getAvailableSchedules(Long barbershopId) {
-        List<Barber> barbers = barberRepository.findByBarbershopId(barbershopId);
-        return barbers.stream()
-                .flatMap(barber -> barber.getSchedules().stream())
-                .filter(Schedule::isAvailable)
-                .collect(Collectors.toList());
+    public List<ScheduleDto> getAvailableSchedules(Long barbershopId) {
+        return scheduleRepository.findAvailableDtosByBarbershopId(barbershopId);
     }
 
     // Obtener todas las citas de la barbería
     @Override
-    public List<Appointment> getAppointments(Long barbershopId) {
-        return appointmentRepository.findByBarbershopId(barbershopId);
+    public List<AppointmentDto> getAppointments(Long barbershopId) {
+        return appointmentRepository.findDtosByBarbershopId(barbershopId);
     }
 
     // Obtener todas las barberías
     @Override
-    public List<Barbershop> getAll() {
-        return barbershopRepository.findAll();
+    public List<BarbershopDto> getAll() {
+        return catalogCache.list(null, barbershopRepository::findAllDtos);
     }
 
     // Obtener barberías por ciudad
     @Override
-    public List<Barbershop> getByCity(String city) {
-        return barbershopRepository.findByCityContainingIgnoreCase(city);
+    public List<BarbershopDto> getByCity(String city) {
+        return catalogCache.list(city, () -> barbershopRepository.findDtosByCityContaining(city));
     }
 
-    // Obtener una barbería por su ID (con servicios y barberos cargados)
+    // Obtener barberías paginadas por cursor (id)
     @Override
-    public Optional<Barbershop> getById(Long id) {
-        Barbershop barbershop = barbershopRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Barbería no encontrada"));
+    public PageResponse<BarbershopDto> getPage(String city, String cursor, Integer limit) {
+        int size = PageResponse.clampLimit(limit);
+        long afterId = PageResponse.parseIdCursor(cursor);
+        List<BarbershopDto> fetched = (city != null && !city.isEmpty())
+                ? barbershopRepository.findPageByCity(city, afterId, Limit.of(size + 1))
+                : barbershopRepository.findPage(afterId, Limit.of(size + 1));
+        return PageResponse.of(fetched, size, b -> String.valueOf(b.id()));
+    }
+
+    // Obtener una barbería por su ID (con servicios y barberos cargados), desde la caché del catálogo.
+    // Una barbería inexistente se carga como null: no se cachea y el controlador responde 404
+    @Override
+    public Optional<BarbershopDetailDto> getById(Long id) {
+        return Optional.ofNullable(catalogCache.detail(id, () -> loadDetail(id)));
+    }
 
-        // 🔹 Cargar servicios y barberos desde sus repositorios, sin forzar el contexto JPA
-        List<EntityService> services = serviceRepository.findByBarbershopId(barbershop.getId());
-        List<Barber> barbers = barberRepository.findByBarbershopId(barbershop.getId());
+    private BarbershopDetailDto loadDetail(Long id) {
+        BarbershopDto barbershop = barbershopRepository.findDtoById(id).orElse(null);
+        if (barbershop == null) {
+            return null;
+        }
 
-        // 🔹 Establecerlos manualmente (solo en memoria, no persiste)
-        barbershop.setServices(services);
-        barbershop.setBarbers(barbers);
+        // 🔹 Servicios y barberos con una consulta cada uno, sin tocar las colecciones LAZY
+        List<ServiceDto> services = serviceRepository.findDtosByBarbershopId(id);
+        List<BarberDto> barbers = barberRepository.findDtosByBarbershopId(id);
 
-        return Optional.of(barbershop);
+        return new BarbershopDetailDto(barbershop, List.copyOf(services), List.copyOf(barbers));
     }
 
 
     // ✅ Nuevo método corregido
     @Override
-    public List<EntityService> getServicesByBarbershop(Long id) {
-        return serviceRepository.findByBarbershopId(id);
+    public List<ServiceDto> getServicesByBarbershop(Long id) {
+        return catalogCache.services(id, () -> serviceRepository.findDtosByBarbershopId(id));
     }
 
     @Override
+    @Transactional
     public void deleteBarber(Long barberId) {
         Barber barber = barberRepository.findById(barberId)
                 .orElseThrow(() -> new RuntimeException("Barbero no encontrado"));
 
-        // Verificamos si tiene citas asociadas antes de eliminar
-        if (barber.getAppointments() != null && !barber.getAppointments().isEmpty()) {
+        // Verificamos si tiene citas asociadas antes de eliminar (una consulta EXISTS, sin cargar el historial)
+        if (appointmentRepository.existsByBarberId(barberId)) {
             throw new RuntimeException("No se puede eliminar el barbero porque tiene citas asociadas.");
         }
 
         barberRepository.delete(barber);
+        availabilityService.invalidateBarber(barberId);
+        accountService.remove(Account.BARBER, barberId);
+        evictBarbersOf(barber);
     }
 
+    private void evictBarbersOf(Barber barber) {
+        if (barber.getBarbershop() != null) {
+            catalogCache.evictBarbers(barber.getBarbershop().getId());
+        }
+    }
 
+
+
+    private static void validateLocation(Double latitude, Double longitude) {
+        if (latitude == null || longitude == null || Math.abs(latitude) > 90 || Math.abs(longitude) > 180) {
+            throw new RuntimeException("Coordenadas inválidas");
+        }
+    }
 }
@@ -1,13 +1,20 @@
 package com.fadeapp.serviceImpl;
 
+import com.fadeapp.dto.BarberDto;
+import com.fadeapp.dto.BarbershopDto;
+import com.fadeapp.dto.ClientDto;
+import com.fadeapp.dto.PageResponse;
+import com.fadeapp.model.Account;
 import com.fadeapp.model.Client;
-import com.fadeapp.model.Barbershop;
-import com.fadeapp.model.Barber;
+import com.fadeapp.repository.BarberRepository;
 import com.fadeapp.repository.ClientRepository;
 import com.fadeapp.repository.BarbershopRepository;
+import com.fadeapp.service.AccountService;
 import com.fadeapp.service.ClientService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -21,17 +28,26 @@ public class ClientServiceImpl implements ClientService {
     @Autowired
     private BarbershopRepository barbershopRepository;
 
+    @Autowired
+    private BarberRepository barberRepository;
+
+    @Autowired
+    private AccountService accountService;
+
     @Override
+    @Transactional
     public Client register(Client client) {
-        if (clientRepository.existsByEmail(client.getEmail())) {
+        if (accountService.existsByEmail(client.getEmail())) {
             throw new RuntimeException("El correo ya está registrado");
         }
-        return clientRepository.save(client);
+        Client saved = clientRepository.save(client);
+        accountService.syncClient(saved);
+        return saved;
     }
 
     @Override
-    public Optional<Client> findByEmail(String email) {
-        return clientRepository.findByEmail(email);
+    public Optional<ClientDto> findByEmail(String email) {
+        return clientRepository.findDtoByEmail(email);
     }
 
     @Override
@@ -40,35 +56,53 @@ public class ClientServiceImpl implements ClientService {
     }
 
     @Override
-    public List<Client> getAllClients() {
-        return clientRepository.findAll();
+    public List<ClientDto> getAllClients() {
+        return clientRepository.findAllDtos();
     }
 
     @Override
-    public Optional<Client> getClientById(Long id) {
-        return clientRepository.findById(id);
+    public PageResponse<ClientDto> getClientsPage(String cursor, Integer limit) {
+        int size = PageResponse.clampLimit(limit);
+        List<ClientDto> fetched = clientRepository.findPage(PageResponse.parseIdCursor(cursor), Limit.of(size + 1));
+        return PageResponse.of(fetched, size, c -> String.valueOf(c.id()));
     }
 
     @Override
+    public Optional<ClientDto> getClientById(Long id) {
+        return clientRepository.findDtoById(id);
+    }
+
+    @Override
+    @Transactional
     public Client updateClient(Long id, Client clientDetails) {
         Client existingClient = clientRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Cliente no encontrado"));
 
+        // 🔹 El correo nuevo no puede pertenecer a otra cuenta
+        String newEmail = clientDetails.getEmail();
+        if (newEmail != null && !newEmail.equals(existingClient.getEmail()) && accountService.existsByEmail(newEmail)) {
+            throw new RuntimeException("El correo ya está registrado");
+        }
+
         existingClient.setFirstName(clientDetails.getFirstName());
         existingClient.setLastName(clientDetails.getLastName());
         existingClient.setEmail(clientDetails.getEmail());
         existingClient.setPhone(clientDetails.getPhone());
         existingClient.setCity(clientDetails.getCity());
 
-        return clientRepository.save(existingClient);
+        Client saved = clientRepository.save(existingClient);
+        accountService.syncClient(saved);
+        return saved;
     }
 
     @Override
+    @Transactional
     public void deleteClient(Long id) {
         if (!clientRepository.existsById(id)) {
             throw new RuntimeException("Cliente no encontrado");
         }
         clientRepository.deleteById(id);
+        accountService.remove(Account.CLIENT, id);
     }
 
     @Override
@@ -80,15 +114,16 @@ public class ClientServiceImpl implements ClientService {
     }
 
     @Override
-    public List<Barbershop> getBarbershopsByCity(String city) {
-        return barbershopRepository.findByCity(city);
+    public List<BarbershopDto> getBarbershopsByCity(String city) {
+        return barbershopRepository.findDtosByCity(city);
     }
 
     @Override
-    public List<Barber> getBarbersFromBarbershop(Long barbershopId) {
-        Barbershop barbershop = barbershopRepository.findById(barbershopId)
-                .orElseThrow(() -> new RuntimeException("Barbería no encontrada"));
-        return barbershop.getBarbers();
+    public List<BarberDto> getBarbersFromBarbershop(Long barbershopId) {
+        if (!barbershopRepository.existsById(barbershopId)) {
+            throw new RuntimeException("Barbería no encontrada");
+        }
+        return barberRepository.findDtosByBarbershopId(barbershopId);
     }
 
 
@@ -0,0 +1,159 @@
+package com.fadeapp.serviceImpl;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Mapa de disponibilidad de un barbero para un día concreto.
+ * El día se divide en ticks de 5 minutos: {@code open} marca los ticks cubiertos
+ * por sus horarios (recortados al horario de la barbería) y {@code load} cuenta
+ * cuántas citas ocupan cada tick. Un tick está libre si está abierto y sin citas.
+ * Cada cita se ocupa o libera una sola vez por id: un día construido desde la base de datos
+ * ya la incluye cuando llega su evento.
+ */
+final class DaySlots {
+
+    static final int TICK_MINUTES = 5;
+    static final int TICKS_PER_DAY = 24 * 60 / TICK_MINUTES;
+
+    private final Long barbershopId;
+    private final BitSet open = new BitSet(TICKS_PER_DAY);
+    private final BitSet booked = new BitSet(TICKS_PER_DAY);
+    private final byte[] load = new byte[TICKS_PER_DAY];
+    private final Set<Long> appointments = new HashSet<>();
+
+    DaySlots(Long barbershopId) {
+        this.barbershopId = barbershopId;
+    }
+
+    Long getBarbershopId() {
+        return barbershopId;
+    }
+
+    /**
+     * Marca como abierto el intervalo [start, end) de este día. Un fin de 00:00 es el final del día;
+     * un turno nocturno (fin antes del inicio) abre hasta la medianoche y su madrugada pertenece
+     * al día siguiente (ver {@link #openUntil}).
+     */
+    synchronized void open(LocalTime start, LocalTime end) {
+        int from = floorTick(start);
+        int to = crossesMidnight(start, end) ? TICKS_PER_DAY : endOfDay(ceilTick(end));
+        if (from < to) {
+            open.set(from, to);
+        }
+    }
+
+    // 🔹 Madrugada de un turno nocturno que empezó el día anterior: abre [00:00, end)
+    synchronized void openUntil(LocalTime end) {
+        open.set(0, ceilTick(end));
+    }
+
+    // 🔹 Un turno que termina antes de empezar sigue al día siguiente (00:00 como fin es el final del mismo día)
+    static boolean crossesMidnight(LocalTime start, LocalTime end) {
+        return !end.equals(LocalTime.MIDNIGHT) && end.isBefore(start);
+    }
+
+    // 🔹 Recorta lo abierto al horario de atención de la barbería (que puede cruzar la medianoche)
+    synchronized void restrictTo(LocalTime openingTime, LocalTime closingTime) {
+        int from = ceilTick(openingTime);
+        int to = endOfDay(floorTick(closingTime));
+        if (from < to) {
+            open.clear(0, from);
+            open.clear(to, TICKS_PER_DAY);
+        } else if (from > to) {
+            open.clear(to, from);
+        }
+    }
+
+    // 🔹 Ocupa los ticks de una cita (solo la parte de este día: el resto lo ocupa el día siguiente)
+    synchronized void book(Long appointmentId, LocalTime start, int minutes) {
+        if (!appointments.add(appointmentId)) {
+            return;
+        }
+        int from = floorTick(start);
+        int to = Math.min(from + ticksFor(minutes), TICKS_PER_DAY);
+        for (int i = from; i < to; i++) {
+            if (load[i] < Byte.MAX_VALUE) {
+                load[i]++;
+            }
+            booked.set(i);
+        }
+    }
+
+    // 🔹 Libera los ticks de una cita cancelada o eliminada
+    synchronized void release(Long appointmentId, LocalTime start, int minutes) {
+        if (!appointments.remove(appointmentId)) {
+            return;
+        }
+        int from = floorTick(start);
+        int to = Math.min(from + ticksFor(minutes), TICKS_PER_DAY);
+        for (int i = from; i < to; i++) {
+            if (load[i] > 0 && --load[i] == 0) {
+                booked.clear(i);
+            }
+        }
+    }
+
+    // 🔹 Indica si alguna cita ocupa parte del intervalo
+    synchronized boolean isBooked(LocalTime start, int minutes) {
+        int from = floorTick(start);
+        int to = Math.min(from + ticksFor(minutes), TICKS_PER_DAY);
+        int next = booked.nextSetBit(from);
+        return next >= 0 && next < to;
+    }
+
+    /**
+     * Devuelve las horas de inicio donde caben {@code minutes} minutos libres seguidos,
+     * avanzando de {@code stepMinutes} en {@code stepMinutes} desde {@code notBefore}.
+     */
+    synchronized List<LocalTime> freeStarts(int minutes, int stepMinutes, LocalTime notBefore) {
+        BitSet free = (BitSet) open.clone();
+        free.andNot(booked);
+
+        int needed = ticksFor(minutes);
+        int step = Math.max(1, ticksFor(stepMinutes));
+        int first = notBefore != null ? ceilTick(notBefore) : 0;
+
+        List<LocalTime> starts = new ArrayList<>();
+        int tick = free.nextSetBit(first);
+        while (tick >= 0 && tick + needed <= TICKS_PER_DAY) {
+            // Alinear al paso configurado (ej. 9:00, 9:15, 9:30...)
+            int aligned = ((tick + step - 1) / step) * step;
+            int runEnd = free.nextClearBit(aligned);
+            if (aligned < runEnd && runEnd - aligned >= needed) {
+                for (int s = aligned; s + needed <= runEnd; s += step) {
+                    starts.add(toTime(s));
+                }
+            }
+            tick = free.nextSetBit(Math.max(runEnd, aligned + 1));
+        }
+        return starts;
+    }
+
+    static int ticksFor(int minutes) {
+        return (minutes + TICK_MINUTES - 1) / TICK_MINUTES;
+    }
+
+    static LocalTime toTime(int tick) {
+        return LocalTime.MIN.plusMinutes((long) tick * TICK_MINUTES);
+    }
+
+    // 00:00 como hora de cierre es el final del día, no el inicio
+    private static int endOfDay(int tick) {
+        return tick == 0 ? TICKS_PER_DAY : tick;
+    }
+
+    private static int floorTick(LocalTime time) {
+        return (time.getHour() * 60 + time.getMinute()) / TICK_MINUTES;
+    }
+
+    private static int ceilTick(LocalTime time) {
+        // 23:59 o LocalTime.MAX se consideran fin del día
+        int minutes = time.getHour() * 60 + time.getMinute() + (time.getSecond() > 0 || time.getNano() > 0 ? 1 : 0);
+        return Math.min((minutes + TICK_MINUTES - 1) / TICK_MINUTES, TICKS_PER_DAY);
+    }
+}
@@ -0,0 +1,216 @@
+package com.fadeapp.serviceImpl;
+
+import com.fadeapp.dto.BarbershopDto;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * Grilla geográfica en memoria: cada barbería cae en una celda de {@value #CELL_DEGREES}° de lado.
+ * Los k más cercanos se buscan por anillos de celdas alrededor del punto y la búsqueda se corta
+ * en cuanto el anillo ya recorrido garantiza que no queda nada más cerca. Las columnas dan la vuelta
+ * en ±180°; cerca de los polos, donde el radio abarca demasiadas columnas, se recorren directamente
+ * las celdas ocupadas.
+ */
+final class GeoGrid {
+
+    static final double CELL_DEGREES = 0.02;
+
+    // Columnas en una vuelta completa (360°)
+    private static final int COLUMNS = (int) Math.round(360 / CELL_DEGREES);
+
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180;
+
+    record Hit(BarbershopDto barbershop, double distanceKm) {
+    }
+
+    private final Map<Long, List<BarbershopDto>> cells = new HashMap<>();
+    private final Map<Long, Long> cellOf = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // 🔹 Inserta o mueve una barbería (debe tener latitud y longitud)
+    void put(BarbershopDto barbershop) {
+        long cell = cellKey(row(barbershop.latitude()), column(barbershop.longitude()));
+        lock.writeLock().lock();
+        try {
+            unindex(barbershop.id());
+            cells.computeIfAbsent(cell, c -> new ArrayList<>()).add(barbershop);
+            cellOf.put(barbershop.id(), cell);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(Long barbershopId) {
+        lock.writeLock().lock();
+        try {
+            unindex(barbershopId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void clear() {
+        lock.writeLock().lock();
+        try {
+            cells.clear();
+            cellOf.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return cellOf.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 🔹 Las k barberías más cercanas dentro del radio que cumplen el filtro, de la más cercana a la más lejana
+    List<Hit> nearest(double latitude, double longitude, double radiusKm, int limit, Predicate<BarbershopDto> filter) {
+        int row = row(latitude);
+        int column = column(longitude);
+        // Celdas hacia cada lado que puede alcanzar el radio: filas por latitud y columnas por
+        // longitud (más cuanto más cerca del polo), +1 porque el punto no está en el borde de su celda
+        int rows = (int) Math.ceil(latitudeSpan(radiusKm) / CELL_DEGREES) + 1;
+        int columns = (int) Math.ceil(longitudeSpan(latitude, radiusKm) / CELL_DEGREES) + 1;
+        // Coseno más chico de la banda de latitudes del radio: acota la distancia entre columnas
+        double minCos = Math.cos(Math.toRadians(Math.min(90, Math.abs(latitude) + latitudeSpan(radiusKm))));
+
+        PriorityQueue<Hit> farthestFirst = new PriorityQueue<>(limit + 1,
+                Comparator.comparingDouble(Hit::distanceKm).reversed());
+
+        lock.readLock().lock();
+        try {
+            if (2 * columns + 1 >= COLUMNS || (2L * rows + 1) * (2L * columns + 1) > cells.size()) {
+                // El radio da la vuelta al mundo o hay más celdas que recorrer que celdas ocupadas
+                for (List<BarbershopDto> cell : cells.values()) {
+                    collect(cell, latitude, longitude, radiusKm, limit, filter, farthestFirst);
+                }
+            } else {
+                int maxRing = Math.max(rows, columns);
+                for (int ring = 0; ring <= maxRing; ring++) {
+                    int maxDy = Math.min(ring, rows);
+                    int maxDx = Math.min(ring, columns);
+                    for (int dy = -maxDy; dy <= maxDy; dy++) {
+                        if (Math.abs(dy) == ring) {
+                            // Fila del borde: todo el anillo
+                            for (int dx = -maxDx; dx <= maxDx; dx++) {
+                                visit(row + dy, column + dx, latitude, longitude, radiusKm, limit, filter, farthestFirst);
+                            }
+                        } else if (ring <= columns) {
+                            // Demás filas: solo los dos extremos
+                            visit(row + dy, column - ring, latitude, longitude, radiusKm, limit, filter, farthestFirst);
+                            visit(row + dy, column + ring, latitude, longitude, radiusKm, limit, filter, farthestFirst);
+                        }
+                    }
+                    if (farthestFirst.size() == limit && farthestFirst.peek().distanceKm() <= reachedKm(ring, minCos)) {
+                        break;
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Hit> result = new ArrayList<>(farthestFirst);
+        result.sort(Comparator.comparingDouble(Hit::distanceKm));
+        return result;
+    }
+
+    // 🔹 Distancia sobre la esfera (fórmula del haversine) en kilómetros
+    static double distanceKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    // 🔹 Grados de latitud / longitud que abarca un radio alrededor de un punto (caja envolvente)
+    static double latitudeSpan(double radiusKm) {
+        return radiusKm / KM_PER_DEGREE;
+    }
+
+    // Se mide en el borde de la caja más cercano al polo; si el radio alcanza el polo abarca todas
+    static double longitudeSpan(double latitude, double radiusKm) {
+        double edge = Math.abs(latitude) + latitudeSpan(radiusKm);
+        if (edge >= 90) {
+            return 180;
+        }
+        return Math.min(180, radiusKm / (KM_PER_DEGREE * Math.cos(Math.toRadians(edge))));
+    }
+
+    /**
+     * Distancia mínima a una celda fuera del anillo {@code ring}: está al menos a ring celdas
+     * enteras en latitud o en longitud, y por el haversine la segunda es la cota más baja.
+     */
+    private static double reachedKm(int ring, double minCos) {
+        double halfGap = Math.toRadians(ring * CELL_DEGREES) / 2;
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, minCos * Math.sin(halfGap)));
+    }
+
+    private void visit(int row, int column, double latitude, double longitude, double radiusKm,
+                       int limit, Predicate<BarbershopDto> filter, PriorityQueue<Hit> farthestFirst) {
+        List<BarbershopDto> cell = cells.get(cellKey(row, column));
+        if (cell != null) {
+            collect(cell, latitude, longitude, radiusKm, limit, filter, farthestFirst);
+        }
+    }
+
+    private static void collect(List<BarbershopDto> cell, double latitude, double longitude, double radiusKm,
+                                int limit, Predicate<BarbershopDto> filter, PriorityQueue<Hit> farthestFirst) {
+        for (BarbershopDto barbershop : cell) {
+            double distance = distanceKm(latitude, longitude, barbershop.latitude(), barbershop.longitude());
+            if (distance > radiusKm) {
+                continue;
+            }
+            if (farthestFirst.size() == limit && distance >= farthestFirst.peek().distanceKm()) {
+                continue;
+            }
+            if (!filter.test(barbershop)) {
+                continue;
+            }
+            farthestFirst.offer(new Hit(barbershop, distance));
+            if (farthestFirst.size() > limit) {
+                farthestFirst.poll();
+            }
+        }
+    }
+
+    private void unindex(Long barbershopId) {
+        Long cell = cellOf.remove(barbershopId);
+        if (cell == null) {
+            return;
+        }
+        List<BarbershopDto> members = cells.get(cell);
+        members.removeIf(barbershop -> barbershop.id().equals(barbershopId));
+        if (members.isEmpty()) {
+            cells.remove(cell);
+        }
+    }
+
+    private static int row(double latitude) {
+        return (int) Math.floor(latitude / CELL_DEGREES);
+    }
+
+    private static int column(double longitude) {
+        return (int) Math.floor(longitude / CELL_DEGREES);
+    }
+
+    // La columna da la vuelta: -180° y 180° caen en la misma
+    private static long cellKey(int row, int column) {
+        return ((long) row << 32) | (Math.floorMod(column, COLUMNS) & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,104 @@
+package com.fadeapp.serviceImpl;
+
+import com.fadeapp.dto.ScheduleDto;
+import com.fadeapp.model.ScheduleDay;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Índice de intervalos ocupados de un barbero, por día normalizado.
+ * Cada día guarda el tiempo ocupado como bloques disjuntos [inicio, fin) ordenados por inicio:
+ * un cruce se detecta con una sola búsqueda en el árbol (O(log n)), los intervalos contiguos
+ * no se cruzan y uno contenido en otro sí.
+ * Un horario de fecha concreta también se compara con el semanal de su día de la semana
+ * (el "2025-06-02" con el de "Lunes"), y un semanal con las fechas de ese día desde hoy.
+ */
+final class ScheduleIntervals {
+
+    private final Map<ScheduleDay, TreeMap<LocalTime, LocalTime>> days = new HashMap<>();
+
+    // Fechas con horarios, agrupadas por día de la semana
+    private final Map<DayOfWeek, TreeSet<LocalDate>> dates = new EnumMap<>(DayOfWeek.class);
+
+    // 🔹 Índice con los horarios existentes, omitiendo uno (el que se está editando) y los de día inválido
+    static ScheduleIntervals of(Collection<ScheduleDto> schedules, Long excludedId) {
+        ScheduleIntervals intervals = new ScheduleIntervals();
+        for (ScheduleDto schedule : schedules) {
+            ScheduleDay day = ScheduleDay.parse(schedule.day());
+            if (day == null || Objects.equals(schedule.id(), excludedId)
+                    || schedule.startTime() == null || schedule.endTime() == null
+                    || !schedule.startTime().isBefore(schedule.endTime())) {
+                continue;
+            }
+            intervals.add(day, schedule.startTime(), schedule.endTime());
+        }
+        return intervals;
+    }
+
+    // 🔹 Indica si [start, end) se cruza con algo ya ocupado ese día
+    boolean overlaps(ScheduleDay day, LocalTime start, LocalTime end) {
+        if (day.date() != null) {
+            return overlapsOn(day, start, end)
+                    || overlapsOn(new ScheduleDay(day.date().getDayOfWeek(), null), start, end);
+        }
+        if (overlapsOn(day, start, end)) {
+            return true;
+        }
+        // Las fechas ya pasadas no se repiten: no chocan con un horario semanal nuevo
+        TreeSet<LocalDate> sameWeekday = dates.get(day.dayOfWeek());
+        if (sameWeekday != null) {
+            for (LocalDate date : sameWeekday.tailSet(LocalDate.now(), true)) {
+                if (overlapsOn(new ScheduleDay(null, date), start, end)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // 🔹 Marca [start, end) como ocupado, fusionándolo con los bloques que toca
+    void add(ScheduleDay day, LocalTime start, LocalTime end) {
+        if (day.date() != null) {
+            dates.computeIfAbsent(day.date().getDayOfWeek(), d -> new TreeSet<>()).add(day.date());
+        }
+        TreeMap<LocalTime, LocalTime> blocks = days.computeIfAbsent(day, d -> new TreeMap<>());
+        LocalTime from = start;
+        LocalTime to = end;
+
+        Map.Entry<LocalTime, LocalTime> left = blocks.floorEntry(start);
+        if (left != null && !left.getValue().isBefore(start)) {
+            from = left.getKey();
+            to = max(to, left.getValue());
+        }
+        Map<LocalTime, LocalTime> covered = blocks.subMap(from, true, to, true);
+        for (LocalTime blockEnd : covered.values()) {
+            to = max(to, blockEnd);
+        }
+        covered.clear();
+        blocks.put(from, to);
+    }
+
+    // 🔹 Cruce con los bloques de una sola clave (un día de la semana o una fecha)
+    private boolean overlapsOn(ScheduleDay day, LocalTime start, LocalTime end) {
+        TreeMap<LocalTime, LocalTime> blocks = days.get(day);
+        if (blocks == null) {
+            return false;
+        }
+        // Los bloques son disjuntos: el último que empieza antes de "end" es el único candidato
+        Map.Entry<LocalTime, LocalTime> candidate = blocks.lowerEntry(end);
+        return candidate != null && candidate.getValue().isAfter(start);
+    }
+
+    private static LocalTime max(LocalTime a, LocalTime b) {
+        return a.isAfter(b) ? a : b;
+    }
+}
@@ -1,17 +1,43 @@
 package com.fadeapp.serviceImpl;
 
+import com.fadeapp.dto.BulkScheduleResponse;
+import com.fadeapp.dto.ScheduleAvailabilityRequest;
+import com.fadeapp.dto.ScheduleDto;
+import com.fadeapp.dto.WeeklyScheduleRequest;
+import com.fadeapp.dto.WeeklyScheduleRequest.TimeRange;
 import com.fadeapp.model.Schedule;
 import com.fadeapp.model.Appointment;
 import com.fadeapp.model.Barber;
+import com.fadeapp.model.ScheduleDay;
 import com.fadeapp.repository.ScheduleRepository;
 import com.fadeapp.repository.AppointmentRepository;
 import com.fadeapp.repository.BarberRepository;
+import com.fadeapp.service.AvailabilityService;
 import com.fadeapp.service.ScheduleService;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.sequence.SequenceSupport;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 public class ScheduleServiceImpl implements ScheduleService {
@@ -25,6 +51,15 @@ public class ScheduleServiceImpl implements ScheduleService {
     @Autowired
     private BarberRepository barberRepository;
 
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     /**
      * Crear un nuevo horario para un barbero.
      * Valida que no haya superposición con horarios existentes del mismo barbero.
@@ -40,39 +75,97 @@ public class ScheduleServiceImpl implements ScheduleService {
                 .orElseThrow(() -> new RuntimeException("Barbero no encontrado"));
 
         // Validar superposición de horarios
-        List<Schedule> existingSchedules = scheduleRepository.findByBarberId(barberId);
-        for (Schedule s : existingSchedules) {
-            if (s.getDay().equalsIgnoreCase(schedule.getDay())) {
-                boolean overlap = !(schedule.getEndTime().isBefore(s.getStartTime()) ||
-                        schedule.getStartTime().isAfter(s.getEndTime()));
-                if (overlap) {
-                    throw new RuntimeException("El horario se superpone con otro existente");
-                }
-            }
+        ScheduleDay day = validate(schedule.getDay(), schedule.getStartTime(), schedule.getEndTime());
+        if (takenOn(barberId, day, null).overlaps(day, schedule.getStartTime(), schedule.getEndTime())) {
+            throw new RuntimeException("El horario se superpone con otro existente");
         }
 
         schedule.setBarber(barber);
         schedule.setAvailable(true);
-        return scheduleRepository.save(schedule);
+        Schedule saved = scheduleRepository.save(schedule);
+        availabilityService.invalidateBarber(barberId);
+        return saved;
+    }
+
+    /**
+     * Aplicar una plantilla semanal a varios barberos.
+     * Los horarios existentes se leen en una sola consulta, los cruces se validan en memoria
+     * con el índice de intervalos de cada barbero y los nuevos se guardan por lotes.
+     */
+    @Override
+    @Transactional
+    public BulkScheduleResponse createWeeklySchedules(WeeklyScheduleRequest request) {
+        if (request.getBarberIds() == null || request.getBarberIds().isEmpty()) {
+            throw new RuntimeException("Debe especificarse al menos un barbero");
+        }
+        if (request.getDays() == null || request.getDays().isEmpty()
+                || request.getDays().stream().anyMatch(day -> day == null || day.isBlank())) {
+            throw new RuntimeException("Debe especificarse al menos un día válido");
+        }
+        List<TimeRange> shifts = shiftsOf(request);
+
+        Set<Long> barberIds = new LinkedHashSet<>(request.getBarberIds());
+        List<Barber> barbers = barberRepository.findAllById(barberIds);
+        if (barbers.size() != barberIds.size()) {
+            throw new RuntimeException("Barbero no encontrado");
+        }
+
+        // Un día repetido ("Lunes", "lunes", "monday") se aplica una sola vez
+        Map<ScheduleDay, String> days = new LinkedHashMap<>();
+        for (String day : request.getDays()) {
+            days.putIfAbsent(validate(day, request.getStartTime(), request.getEndTime()), day.trim());
+        }
+
+        Map<Long, List<ScheduleDto>> existing = scheduleRepository.findDtosByBarberIdIn(barberIds).stream()
+                .collect(Collectors.groupingBy(ScheduleDto::barberId));
+
+        List<Schedule> created = new ArrayList<>(barbers.size() * days.size() * shifts.size());
+        for (Barber barber : barbers) {
+            ScheduleIntervals taken = ScheduleIntervals.of(existing.getOrDefault(barber.getId(), List.of()), null);
+            days.forEach((key, day) -> {
+                for (TimeRange shift : shifts) {
+                    if (taken.overlaps(key, shift.startTime(), shift.endTime())) {
+                        throw new RuntimeException("El horario se superpone con otro existente ("
+                                + barber.getName() + ", " + day + ")");
+                    }
+                    taken.add(key, shift.startTime(), shift.endTime());
+                }
+                for (TimeRange shift : shifts) {
+                    Schedule schedule = new Schedule();
+                    schedule.setDay(day);
+                    schedule.setStartTime(shift.startTime());
+                    schedule.setEndTime(shift.endTime());
+                    schedule.setAvailable(true);
+                    schedule.setBarber(barber);
+                    created.add(schedule);
+                }
+            });
+        }
+
+        scheduleRepository.saveAll(created);
+        barberIds.forEach(availabilityService::invalidateBarber);
+        return new BulkScheduleResponse(barbers.size(), created.size());
     }
 
     /**
      * Obtener todos los horarios de un barbero.
      */
     @Override
-    public List<Schedule> getSchedulesByBarber(Long barberId) {
-        if (!barberRepository.existsById(barberId)) {
+    public List<ScheduleDto> getSchedulesByBarber(Long barberId) {
+        List<ScheduleDto> schedules = scheduleRepository.findDtosByBarberId(barberId);
+        // Solo si no hay horarios hace falta distinguir "sin horarios" de "barbero inexistente"
+        if (schedules.isEmpty() && !barberRepository.existsById(barberId)) {
             throw new RuntimeException("Barbero no encontrado");
         }
-        return scheduleRepository.findByBarberId(barberId);
+        return schedules;
     }
 
     /**
      * Obtener un horario por su ID.
      */
     @Override
-    public Optional<Schedule> getScheduleById(Long id) {
-        return scheduleRepository.findById(id);
+    public Optional<ScheduleDto> getScheduleById(Long id) {
+        return scheduleRepository.findDtoById(id);
     }
 
     /**
@@ -83,24 +176,111 @@ public class ScheduleServiceImpl implements ScheduleService {
         Schedule existing = scheduleRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Horario no encontrado"));
 
+        // Validar superposición con los demás horarios del barbero (sin contar este)
+        ScheduleDay day = validate(scheduleDetails.getDay(), scheduleDetails.getStartTime(), scheduleDetails.getEndTime());
+        if (takenOn(existing.getBarber().getId(), day, id)
+                .overlaps(day, scheduleDetails.getStartTime(), scheduleDetails.getEndTime())) {
+            throw new RuntimeException("El horario se superpone con otro existente");
+        }
+
         existing.setDay(scheduleDetails.getDay());
         existing.setStartTime(scheduleDetails.getStartTime());
         existing.setEndTime(scheduleDetails.getEndTime());
         existing.setAvailable(scheduleDetails.isAvailable());
 
-        return scheduleRepository.save(existing);
+        Schedule saved = scheduleRepository.save(existing);
+        availabilityService.invalidateBarber(existing.getBarber().getId());
+        return saved;
     }
 
     /**
      * Cambiar la disponibilidad (bloquear o desbloquear) de un horario.
      */
     @Override
-    public Schedule toggleAvailability(Long id, boolean available) {
-        Schedule schedule = scheduleRepository.findById(id)
+    @Transactional
+    public ScheduleDto toggleAvailability(Long id, boolean available) {
+        if (scheduleRepository.updateAvailability(id, available) == 0) {
+            throw new RuntimeException("Horario no encontrado");
+        }
+        ScheduleDto updated = scheduleRepository.findDtoById(id)
                 .orElseThrow(() -> new RuntimeException("Horario no encontrado"));
+        availabilityService.invalidateBarber(updated.barberId());
+        return updated;
+    }
 
-        schedule.setAvailable(available);
-        return scheduleRepository.save(schedule);
+    /**
+     * Bloquear o desbloquear horarios de varios barberos con una sola sentencia UPDATE:
+     * los de fecha concreta dentro del rango y los semanales de los días indicados.
+     * Los horarios semanales no se tocan por estar dentro del rango (se repiten cada semana).
+     */
+    @Override
+    @Transactional
+    public BulkScheduleResponse updateAvailability(ScheduleAvailabilityRequest request) {
+        if (request.getBarberIds() == null || request.getBarberIds().isEmpty()) {
+            throw new RuntimeException("Debe especificarse al menos un barbero");
+        }
+        boolean hasRange = request.getFrom() != null || request.getTo() != null;
+        if (hasRange && (request.getFrom() == null || request.getTo() == null
+                || request.getTo().isBefore(request.getFrom()))) {
+            throw new RuntimeException("El rango de fechas no es válido");
+        }
+
+        Set<DayOfWeek> daysOfWeek = EnumSet.noneOf(DayOfWeek.class);
+        for (String day : (request.getDays() != null) ? request.getDays() : List.<String>of()) {
+            ScheduleDay parsed = ScheduleDay.parse(day);
+            if (parsed == null || parsed.dayOfWeek() == null) {
+                throw new RuntimeException("Día inválido: use el nombre del día de la semana");
+            }
+            daysOfWeek.add(parsed.dayOfWeek());
+        }
+        if (!hasRange && daysOfWeek.isEmpty()) {
+            throw new RuntimeException("Debe especificarse un rango de fechas o al menos un día");
+        }
+
+        Set<Long> barberIds = new LinkedHashSet<>(request.getBarberIds());
+        int updated = scheduleRepository.updateAvailabilityInRange(barberIds,
+                request.getFrom(), request.getTo(), daysOfWeek, request.isAvailable());
+        barberIds.forEach(availabilityService::invalidateBarber);
+        return new BulkScheduleResponse(barberIds.size(), updated);
+    }
+
+    /**
+     * Completar al arrancar el día normalizado de los horarios guardados antes de tenerlo.
+     * Tras la primera vez solo quedan los de texto irreconocible, así que la consulta queda vacía o casi.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void normalizeLegacyDays() {
+        scheduleRepository.findByDayOfWeekIsNullAndDateIsNull().forEach(Schedule::normalizeDay);
+    }
+
+    /**
+     * Llevar la secuencia de ids más allá del mayor id guardado: en las bases creadas cuando
+     * Schedule usaba IDENTITY, schedule_seq arranca en 1 y chocaría con las filas existentes.
+     * Corre al crear el servicio, antes de que el servidor atienda peticiones, porque un bloque
+     * de ids ya reservado por Hibernate seguiría chocando aunque la secuencia se corrigiera después.
+     */
+    @PostConstruct
+    public void alignIdSequence() {
+        Long maxId = scheduleRepository.findMaxId();
+        if (maxId == null) {
+            return;
+        }
+        // Con el optimizador pooled, el valor leído v reserva los ids (v - bloque, v]
+        long safe = maxId + Schedule.ID_ALLOCATION_SIZE;
+        SequenceSupport sequences = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect().getSequenceSupport();
+
+        if (sequences.supportsSequences()) {
+            Long next = jdbcTemplate.queryForObject(sequences.getSequenceNextValString(Schedule.ID_SEQUENCE), Long.class);
+            if (next != null && next <= safe) {
+                jdbcTemplate.execute("ALTER SEQUENCE " + Schedule.ID_SEQUENCE + " RESTART WITH " + (safe + 1));
+            }
+        } else {
+            // MySQL: tabla de una fila con la columna next_val
+            jdbcTemplate.update("UPDATE " + Schedule.ID_SEQUENCE + " SET next_val = ? WHERE next_val <= ?",
+                    safe + 1, safe);
+        }
     }
 
     /**
@@ -126,5 +306,63 @@ public class ScheduleServiceImpl implements ScheduleService {
         }
 
         scheduleRepository.delete(schedule);
+        availabilityService.invalidateBarber(schedule.getBarber().getId());
+    }
+
+    // 🔹 Índice con solo los horarios del barbero que pueden cruzarse con ese día (sin contar el editado)
+    private ScheduleIntervals takenOn(Long barberId, ScheduleDay day, Long excludedId) {
+        List<ScheduleDto> candidates = (day.date() != null)
+                ? scheduleRepository.findDtosForDate(barberId, day.date(), day.date().getDayOfWeek())
+                : scheduleRepository.findDtosForDayOfWeek(barberId, day.dayOfWeek(), LocalDate.now());
+        return ScheduleIntervals.of(candidates, excludedId);
+    }
+
+    // 🔹 Jornada menos descansos: los descansos se ordenan y se recorren una sola vez
+    private static List<TimeRange> shiftsOf(WeeklyScheduleRequest request) {
+        LocalTime start = request.getStartTime();
+        LocalTime end = request.getEndTime();
+        if (start == null || end == null || !start.isBefore(end)) {
+            throw new RuntimeException("La hora de inicio debe ser anterior a la de finalización");
+        }
+
+        List<TimeRange> breaks = (request.getBreaks() != null) ? request.getBreaks() : List.of();
+        for (TimeRange pause : breaks) {
+            if (pause == null || pause.startTime() == null || pause.endTime() == null
+                    || !pause.startTime().isBefore(pause.endTime())
+                    || pause.startTime().isBefore(start) || pause.endTime().isAfter(end)) {
+                throw new RuntimeException("Cada descanso debe estar dentro de la jornada");
+            }
+        }
+
+        List<TimeRange> shifts = new ArrayList<>();
+        LocalTime cursor = start;
+        for (TimeRange pause : breaks.stream().sorted(Comparator.comparing(TimeRange::startTime)).toList()) {
+            if (pause.startTime().isBefore(cursor)) {
+                throw new RuntimeException("Los descansos no pueden superponerse");
+            }
+            if (cursor.isBefore(pause.startTime())) {
+                shifts.add(new TimeRange(cursor, pause.startTime()));
+            }
+            cursor = pause.endTime();
+        }
+        if (cursor.isBefore(end)) {
+            shifts.add(new TimeRange(cursor, end));
+        }
+        if (shifts.isEmpty()) {
+            throw new RuntimeException("Los descansos cubren toda la jornada");
+        }
+        return shifts;
+    }
+
+    // 🔹 Día reconocible y hora de inicio anterior a la de fin; devuelve el día normalizado
+    private static ScheduleDay validate(String day, LocalTime start, LocalTime end) {
+        ScheduleDay parsed = ScheduleDay.parse(day);
+        if (parsed == null) {
+            throw new RuntimeException("Día inválido: use el nombre del día o una fecha (AAAA-MM-DD)");
+        }
+        if (start == null || end == null || !start.isBefore(end)) {
+            throw new RuntimeException("La hora de inicio debe ser anterior a la de finalización");
+        }
+        return parsed;
     }
 }
@@ -0,0 +1,368 @@
+package com.fadeapp.serviceImpl;
+
+import com.fadeapp.dto.BarbershopDto;
+
+import java.text.Normalizer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Índice invertido en memoria para buscar barberías por nombre, ciudad y servicios.
+ * Los términos se guardan normalizados (minúsculas, sin tildes) en un mapa ordenado:
+ * buscar por prefijo es recorrer un rango, y los errores de tipeo se toleran
+ * comparando con los términos que empiezan por la misma letra (distancia de edición acotada).
+ * Todos los términos de la consulta deben coincidir; gana la coincidencia en el nombre.
+ */
+final class SearchIndex {
+
+    // Campos indexados y su peso en la puntuación (máscara de bits por documento)
+    static final int NAME = 1;
+    static final int SERVICE = 2;
+    static final int CITY = 4;
+
+    private static final double NAME_WEIGHT = 3.0;
+    private static final double SERVICE_WEIGHT = 2.0;
+    private static final double CITY_WEIGHT = 1.5;
+
+    // Calidad de la coincidencia de un término de la consulta
+    private static final double EXACT = 1.0;
+    private static final double PREFIX = 0.8;
+    private static final double FUZZY = 0.5;
+
+    // Longitud mínima para tolerar 1 y 2 errores de tipeo
+    private static final int ONE_TYPO_MIN_LENGTH = 4;
+    private static final int TWO_TYPOS_MIN_LENGTH = 8;
+
+    private static final int MAX_QUERY_TERMS = 8;
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^a-z0-9]+");
+
+    // Lista de barberías (por ordinal) que contienen un término, con los campos donde aparece
+    private static final class Postings {
+        private int[] ordinals = new int[4];
+        private byte[] fields = new byte[4];
+        private int size;
+
+        void add(int ordinal, int field) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+                fields = Arrays.copyOf(fields, size * 2);
+            }
+            ordinals[size] = ordinal;
+            fields[size] = (byte) field;
+            size++;
+        }
+
+        void remove(int ordinal) {
+            for (int i = 0; i < size; i++) {
+                if (ordinals[i] == ordinal) {
+                    size--;
+                    ordinals[i] = ordinals[size];
+                    fields[i] = fields[size];
+                    return;
+                }
+            }
+        }
+    }
+
+    // Estado de una consulta: arreglos indexados por ordinal, sin objetos por barbería
+    private static final class Scratch {
+        final double[] total;
+        final double[] best;
+        final byte[] matched;
+        final int[] touched;
+        int touchedCount;
+        int termIndex;
+
+        Scratch(int capacity) {
+            total = new double[capacity];
+            best = new double[capacity];
+            matched = new byte[capacity];
+            touched = new int[capacity];
+        }
+
+        // 🔹 Mejor puntuación del término actual, solo para barberías que coincidieron con los anteriores
+        void score(Postings postings, double quality) {
+            for (int i = 0; i < postings.size; i++) {
+                int ordinal = postings.ordinals[i];
+                if (matched[ordinal] != termIndex) {
+                    continue;
+                }
+                double score = quality * weight(postings.fields[i]);
+                if (best[ordinal] == 0) {
+                    touched[touchedCount++] = ordinal;
+                }
+                if (score > best[ordinal]) {
+                    best[ordinal] = score;
+                }
+            }
+        }
+
+        // 🔹 Cierra el término: suma al total y devuelve cuántas barberías siguen en carrera
+        int commitTerm() {
+            for (int i = 0; i < touchedCount; i++) {
+                int ordinal = touched[i];
+                total[ordinal] += best[ordinal];
+                best[ordinal] = 0;
+                matched[ordinal]++;
+            }
+            termIndex++;
+            return touchedCount;
+        }
+    }
+
+    private final TreeMap<String, Postings> postings = new TreeMap<>();
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private final ArrayDeque<Integer> freeOrdinals = new ArrayDeque<>();
+    private BarbershopDto[] documents = new BarbershopDto[64];
+    private String[][] documentTerms = new String[64][];
+    private int nextOrdinal;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // 🔹 Inserta o reemplaza una barbería con los nombres de sus servicios
+    void put(BarbershopDto barbershop, Collection<String> serviceNames) {
+        Map<String, Integer> terms = new HashMap<>();
+        addTerms(terms, barbershop.name(), NAME);
+        addTerms(terms, barbershop.city(), CITY);
+        serviceNames.forEach(name -> addTerms(terms, name, SERVICE));
+
+        lock.writeLock().lock();
+        try {
+            unindex(barbershop.id());
+            int ordinal = allocate(barbershop.id());
+            documents[ordinal] = barbershop;
+            documentTerms[ordinal] = terms.keySet().toArray(String[]::new);
+            terms.forEach((term, fields) -> postings.computeIfAbsent(term, t -> new Postings()).add(ordinal, fields));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(Long barbershopId) {
+        lock.writeLock().lock();
+        try {
+            unindex(barbershopId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            ordinals.clear();
+            freeOrdinals.clear();
+            Arrays.fill(documents, null);
+            Arrays.fill(documentTerms, null);
+            nextOrdinal = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return ordinals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Términos distintos indexados (un término sin barberías no debe quedar en el mapa)
+    int termCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 🔹 Las k barberías con mejor puntuación para la consulta
+    List<BarbershopDto> search(String query, int limit) {
+        List<String> queryTerms = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (queryTerms.isEmpty()) {
+            return List.of();
+        }
+        if (queryTerms.size() > MAX_QUERY_TERMS) {
+            queryTerms = queryTerms.subList(0, MAX_QUERY_TERMS);
+        }
+
+        lock.readLock().lock();
+        try {
+            Scratch scratch = new Scratch(nextOrdinal);
+            int survivors = 0;
+            for (String term : queryTerms) {
+                scratch.touchedCount = 0;
+                match(term, scratch);
+                survivors = scratch.commitTerm();
+                if (survivors == 0) {
+                    return List.of();
+                }
+            }
+            return top(scratch, survivors, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 🔹 Minúsculas, sin tildes y partido en palabras
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String normalized = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        return Arrays.stream(SEPARATORS.split(normalized))
+                .filter(token -> !token.isEmpty())
+                .toList();
+    }
+
+    private static void addTerms(Map<String, Integer> terms, String text, int field) {
+        for (String token : tokenize(text)) {
+            terms.merge(token, field, (a, b) -> a | b);
+        }
+    }
+
+    private int allocate(Long barbershopId) {
+        Integer free = freeOrdinals.poll();
+        int ordinal = (free != null) ? free : nextOrdinal++;
+        if (ordinal >= documents.length) {
+            documents = Arrays.copyOf(documents, documents.length * 2);
+            documentTerms = Arrays.copyOf(documentTerms, documentTerms.length * 2);
+        }
+        ordinals.put(barbershopId, ordinal);
+        return ordinal;
+    }
+
+    private void unindex(Long barbershopId) {
+        Integer ordinal = ordinals.remove(barbershopId);
+        if (ordinal == null) {
+            return;
+        }
+        for (String term : documentTerms[ordinal]) {
+            Postings docs = postings.get(term);
+            if (docs != null) {
+                docs.remove(ordinal);
+                if (docs.size == 0) {
+                    postings.remove(term);
+                }
+            }
+        }
+        documents[ordinal] = null;
+        documentTerms[ordinal] = null;
+        freeOrdinals.push(ordinal);
+    }
+
+    // 🔹 Coincidencias de un término: exacto, prefijo o con errores de tipeo
+    private void match(String term, Scratch scratch) {
+        for (Map.Entry<String, Postings> entry : postings.subMap(term, true, term + Character.MAX_VALUE, false).entrySet()) {
+            scratch.score(entry.getValue(), entry.getKey().equals(term) ? EXACT : PREFIX);
+        }
+
+        int maxEdits = term.length() >= TWO_TYPOS_MIN_LENGTH ? 2 : term.length() >= ONE_TYPO_MIN_LENGTH ? 1 : 0;
+        if (maxEdits > 0) {
+            String first = term.substring(0, 1);
+            for (Map.Entry<String, Postings> entry : postings.subMap(first, true, first + Character.MAX_VALUE, false).entrySet()) {
+                String indexed = entry.getKey();
+                if (!indexed.startsWith(term) && prefixDistance(term, indexed, maxEdits) <= maxEdits) {
+                    scratch.score(entry.getValue(), FUZZY);
+                }
+            }
+        }
+    }
+
+    private static double weight(int fields) {
+        if ((fields & NAME) != 0) return NAME_WEIGHT;
+        if ((fields & SERVICE) != 0) return SERVICE_WEIGHT;
+        return CITY_WEIGHT;
+    }
+
+    // 🔹 Montículo de tamaño k sobre las barberías que coincidieron con todos los términos
+    private List<BarbershopDto> top(Scratch scratch, int candidates, int limit) {
+        Comparator<Integer> worstFirst = Comparator.<Integer>comparingDouble(ordinal -> scratch.total[ordinal])
+                .thenComparing(ordinal -> documents[ordinal].name(), Comparator.nullsFirst(Comparator.reverseOrder()));
+
+        PriorityQueue<Integer> heap = new PriorityQueue<>(limit + 1, worstFirst);
+        for (int i = 0; i < candidates; i++) {
+            int ordinal = scratch.touched[i];
+            if (heap.size() < limit) {
+                heap.offer(ordinal);
+            } else if (worstFirst.compare(ordinal, heap.peek()) > 0) {
+                heap.poll();
+                heap.offer(ordinal);
+            }
+        }
+
+        List<BarbershopDto> result = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            result.add(documents[heap.poll()]);
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    /**
+     * Distancia de edición (con transposiciones) entre {@code term} y el prefijo
+     * de {@code indexed} que mejor se le parezca; corta en cuanto supera {@code maxEdits}.
+     */
+    static int prefixDistance(String term, String indexed, int maxEdits) {
+        int n = term.length();
+        int m = Math.min(indexed.length(), n + maxEdits);
+        if (m < n - maxEdits) {
+            return maxEdits + 1;
+        }
+
+        int[] previous2 = new int[m + 1];
+        int[] previous = new int[m + 1];
+        int[] current = new int[m + 1];
+        for (int j = 0; j <= m; j++) {
+            previous[j] = j;
+        }
+
+        for (int i = 1; i <= n; i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= m; j++) {
+                int cost = term.charAt(i - 1) == indexed.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && term.charAt(i - 1) == indexed.charAt(j - 2)
+                        && term.charAt(i - 2) == indexed.charAt(j - 1)) {
+                    value = Math.min(value, previous2[j - 2] + 1);
+                }
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > maxEdits) {
+                return maxEdits + 1;
+            }
+            int[] recycled = previous2;
+            previous2 = previous;
+            previous = current;
+            current = recycled;
+        }
+
+        int best = maxEdits + 1;
+        for (int j = Math.max(0, n - maxEdits); j <= m; j++) {
+            best = Math.min(best, previous[j]);
+        }
+        return best;
+    }
+}
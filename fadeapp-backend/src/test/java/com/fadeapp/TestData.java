@@ -0,0 +1,79 @@
+package com.fadeapp;
+
+import com.fadeapp.model.Barber;
+import com.fadeapp.model.Barbershop;
+import com.fadeapp.model.Client;
+import com.fadeapp.model.EntityService;
+import com.fadeapp.repository.BarberRepository;
+import com.fadeapp.repository.BarbershopRepository;
+import com.fadeapp.repository.ClientRepository;
+import com.fadeapp.repository.ServiceRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.test.context.TestComponent;
+
+import java.time.LocalTime;
+import java.util.UUID;
+
+/**
+ * Datos de prueba mínimos para pruebas, benchmarks y cargas, con correos únicos para poder
+ * sembrar varias veces sobre la misma base. En una prueba: @Import(TestData.class); fuera de
+ * las pruebas: context.getAutowireCapableBeanFactory().createBean(TestData.class).
+ */
+@TestComponent
+@RequiredArgsConstructor
+public class TestData {
+
+    public static final String PASSWORD = "secret";
+
+    private final BarbershopRepository barbershopRepository;
+    private final BarberRepository barberRepository;
+    private final ServiceRepository serviceRepository;
+    private final ClientRepository clientRepository;
+
+    // 🔹 Barbería abierta de 8:00 a 20:00
+    public Barbershop seedBarbershop() {
+        Barbershop shop = new Barbershop();
+        shop.setName("Fade Central");
+        shop.setAddress("Calle 10 # 5-20");
+        shop.setCity("Bogotá");
+        shop.setEmail(unique("shop"));
+        shop.setPassword(PASSWORD);
+        shop.setOpeningTime(LocalTime.of(8, 0));
+        shop.setClosingTime(LocalTime.of(20, 0));
+        return barbershopRepository.save(shop);
+    }
+
+    public Barber seedBarber(Barbershop shop) {
+        Barber barber = new Barber();
+        barber.setName("Barbero " + UUID.randomUUID());
+        barber.setEmail(unique("barber"));
+        barber.setBarbershop(shop);
+        return barberRepository.save(barber);
+    }
+
+    // 🔹 Servicio de 30 minutos
+    public EntityService seedService(Barbershop shop) {
+        EntityService service = new EntityService();
+        service.setName("Corte clásico");
+        service.setPrice(25000.0);
+        service.setDuration(30);
+        service.setBarbershop(shop);
+        return serviceRepository.save(service);
+    }
+
+    // 🔹 Contraseña sin hash: para iniciar sesión hay que registrarlo con AuthService
+    public Client seedClient() {
+        Client client = new Client();
+        client.setFirstName("Ana");
+        client.setLastName("Gómez");
+        client.setEmail(unique("client"));
+        client.setPassword(PASSWORD);
+        client.setPhone("3001234567");
+        client.setCity("Bogotá");
+        return clientRepository.save(client);
+    }
+
+    public static String unique(String prefix) {
+        return prefix + "-" + UUID.randomUUID() + "@fadeapp.test";
+    }
+}
@@ -0,0 +1,54 @@
+package com.fadeapp.cache;
+
+import com.fadeapp.dto.BarbershopDetailDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Cargas fallidas de la caché del catálogo: un Error también completa la carga en curso,
+ * y una barbería inexistente responde 404 sin quedar en caché.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class BarbershopCatalogCacheTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private final BarbershopCatalogCache cache = new BarbershopCatalogCache(100, Duration.ofMinutes(1));
+
+    @Test
+    void anErrorInTheLoaderIsNotLeftPending() throws Exception {
+        assertThatThrownBy(() -> cache.detail(1L, () -> {
+            throw new Error("carga rota");
+        })).isInstanceOf(Error.class).hasMessage("carga rota");
+
+        // 🔹 Con el futuro pendiente, la siguiente petición por la misma clave esperaría para siempre
+        BarbershopDetailDto detail = new BarbershopDetailDto(null, List.of(), List.of());
+        CompletableFuture<BarbershopDetailDto> next = CompletableFuture.supplyAsync(() -> cache.detail(1L, () -> detail));
+        assertThat(next.get(5, TimeUnit.SECONDS)).isSameAs(detail);
+    }
+
+    @Test
+    void missingBarbershopAnswers404() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/api/barbershops/{id}", Long.MAX_VALUE))
+                    .andExpect(status().isNotFound());
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.fadeapp.controller;
+
+import com.fadeapp.TestData;
+import com.fadeapp.dto.ScheduleAvailabilityRequest;
+import com.fadeapp.model.Barber;
+import com.fadeapp.model.Barbershop;
+import com.fadeapp.model.EntityService;
+import com.fadeapp.model.Schedule;
+import com.fadeapp.repository.ScheduleRepository;
+import com.fadeapp.service.BarbershopService;
+import com.fadeapp.service.ScheduleService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * ETags de las lecturas del catálogo y de los horarios: 304 mientras nada cambie y una
+ * etiqueta nueva tras cada escritura, incluidas las sentencias UPDATE masivas que suben
+ * la versión a mano.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(TestData.class)
+class ETagTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BarbershopService barbershopService;
+
+    @Autowired
+    private ScheduleService scheduleService;
+
+    @Autowired
+    private ScheduleRepository scheduleRepository;
+
+    @Autowired
+    private TestData data;
+
+    private Barbershop shop;
+    private Barber barber;
+    private EntityService service;
+
+    @BeforeEach
+    void seed() {
+        shop = data.seedBarbershop();
+        barber = data.seedBarber(shop);
+        service = data.seedService(shop);
+
+        Schedule schedule = new Schedule();
+        schedule.setDay(LocalDate.now().plusDays(1).toString());
+        schedule.setStartTime(LocalTime.of(9, 0));
+        schedule.setEndTime(LocalTime.of(12, 0));
+        schedule.setAvailable(true);
+        schedule.setBarber(barber);
+        scheduleRepository.save(schedule);
+    }
+
+    @Test
+    void unchangedReadAnswers304() throws Exception {
+        String etag = etagOf(detail());
+
+        mockMvc.perform(detail().header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void updatingTheBarbershopChangesTheTag() throws Exception {
+        String before = etagOf(detail());
+
+        Barbershop details = new Barbershop();
+        details.setName(shop.getName() + " renovada");
+        details.setCity(shop.getCity());
+        details.setAddress(shop.getAddress());
+        barbershopService.updateBarbershop(shop.getId(), details);
+
+        assertChanged(detail(), before);
+    }
+
+    @Test
+    void updatingAServiceChangesTheTag() throws Exception {
+        String detailBefore = etagOf(detail());
+        String servicesBefore = etagOf(services());
+
+        EntityService details = new EntityService();
+        details.setName(service.getName());
+        details.setPrice(service.getPrice() + 5000);
+        details.setDuration(service.getDuration());
+        barbershopService.updateService(service.getId(), details);
+
+        assertChanged(detail(), detailBefore);
+        assertChanged(services(), servicesBefore);
+    }
+
+    @Test
+    void bulkScheduleUpdateChangesTheTag() throws Exception {
+        String shopBefore = etagOf(shopSchedules());
+        String barberBefore = etagOf(barberSchedules());
+
+        // 🔹 Las filas siguen disponibles: solo cambia la versión que sube la sentencia UPDATE
+        ScheduleAvailabilityRequest request = new ScheduleAvailabilityRequest();
+        request.setBarberIds(List.of(barber.getId()));
+        request.setFrom(LocalDate.now());
+        request.setTo(LocalDate.now().plusDays(7));
+        request.setAvailable(true);
+        assertThat(scheduleService.updateAvailability(request).schedules()).isEqualTo(1);
+
+        assertChanged(shopSchedules(), shopBefore);
+        assertChanged(barberSchedules(), barberBefore);
+    }
+
+    // 🔹 La etiqueta vieja ya no vale: 200 con una etiqueta distinta
+    private void assertChanged(MockHttpServletRequestBuilder request, String before) throws Exception {
+        mockMvc.perform(request.header(HttpHeaders.IF_NONE_MATCH, before))
+                .andExpect(status().isOk());
+        assertThat(etagOf(request)).isNotEqualTo(before);
+    }
+
+    private String etagOf(MockHttpServletRequestBuilder request) throws Exception {
+        String etag = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotBlank();
+        return etag;
+    }
+
+    private MockHttpServletRequestBuilder detail() {
+        return get("/api/barbershops/{id}", shop.getId());
+    }
+
+    private MockHttpServletRequestBuilder services() {
+        return get("/api/barbershops/{id}/services/all", shop.getId());
+    }
+
+    private MockHttpServletRequestBuilder shopSchedules() {
+        return get("/api/barbershops/{id}/schedules", shop.getId());
+    }
+
+    private MockHttpServletRequestBuilder barberSchedules() {
+        return get("/api/schedules/barber/{id}", barber.getId()).with(user("admin"));
+    }
+}
@@ -0,0 +1,152 @@
+package com.fadeapp.controller;
+
+import com.fadeapp.TestData;
+import com.fadeapp.dto.ScheduleAvailabilityRequest;
+import com.fadeapp.model.Barber;
+import com.fadeapp.model.Barbershop;
+import com.fadeapp.model.EntityService;
+import com.fadeapp.model.Schedule;
+import com.fadeapp.repository.ScheduleRepository;
+import com.fadeapp.service.AvailabilityService;
+import com.fadeapp.service.BarberService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Bloqueo masivo de horarios (vacaciones, festivos): las filas del rango quedan no disponibles
+ * para todos los barberos pedidos y solo para ellos, y esos días dejan de ofrecer turnos.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(TestData.class)
+class ScheduleAvailabilityTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    @Autowired
+    private BarberService barberService;
+
+    @Autowired
+    private ScheduleRepository scheduleRepository;
+
+    @Autowired
+    private TestData data;
+
+    private final LocalDate today = LocalDate.now();
+
+    private EntityService service;
+    private Barber first;
+    private Barber second;
+    private Barber untouched;
+
+    @BeforeEach
+    void seed() {
+        Barbershop shop = data.seedBarbershop();
+        service = data.seedService(shop);
+        first = data.seedBarber(shop);
+        second = data.seedBarber(shop);
+        untouched = data.seedBarber(shop);
+
+        // 🔹 Tres días con fecha y un semanal que cae fuera de ellos
+        for (Barber barber : List.of(first, second, untouched)) {
+            for (int offset = 1; offset <= 3; offset++) {
+                seedSchedule(barber, today.plusDays(offset).toString());
+            }
+            seedSchedule(barber, today.plusDays(5).getDayOfWeek().name());
+        }
+    }
+
+    @Test
+    void blockingARangeCoversEveryRequestedBarber() throws Exception {
+        // El día se consulta antes para que la caché de turnos tenga algo que invalidar
+        assertThat(hasSlots(first, today.plusDays(1))).isTrue();
+
+        ScheduleAvailabilityRequest request = new ScheduleAvailabilityRequest();
+        request.setBarberIds(List.of(first.getId(), second.getId()));
+        request.setFrom(today.plusDays(1));
+        request.setTo(today.plusDays(2));
+        request.setAvailable(false);
+
+        mockMvc.perform(put("/api/schedules/availability")
+                        .with(user("admin"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.barbers").value(2))
+                .andExpect(jsonPath("$.schedules").value(4));
+
+        for (Barber barber : List.of(first, second)) {
+            assertThat(availabilityByDay(barber)).containsExactlyInAnyOrderEntriesOf(Map.of(
+                    today.plusDays(1).toString(), false,
+                    today.plusDays(2).toString(), false,
+                    today.plusDays(3).toString(), true,
+                    today.plusDays(5).getDayOfWeek().name(), true));
+            assertThat(hasSlots(barber, today.plusDays(1))).isFalse();
+            assertThat(hasSlots(barber, today.plusDays(2))).isFalse();
+            assertThat(hasSlots(barber, today.plusDays(3))).isTrue();
+        }
+        assertThat(availabilityByDay(untouched)).doesNotContainValue(false);
+        assertThat(hasSlots(untouched, today.plusDays(1))).isTrue();
+    }
+
+    @Test
+    void blockingAWeekdayClosesEveryDateItFallsOn() {
+        LocalDate weekday = today.plusDays(5);
+        assertThat(hasSlots(first, weekday)).isTrue();
+
+        barberService.blockDay(first.getId(), weekday.getDayOfWeek().name().toLowerCase());
+
+        assertThat(availabilityByDay(first)).containsEntry(weekday.getDayOfWeek().name(), false);
+        assertThat(hasSlots(first, weekday)).isFalse();
+        assertThat(hasSlots(first, weekday.plusWeeks(1))).isFalse();
+        assertThat(hasSlots(first, today.plusDays(1))).isTrue();
+        assertThat(hasSlots(second, weekday)).isTrue();
+    }
+
+    private boolean hasSlots(Barber barber, LocalDate date) {
+        return !availabilityService.getAvailableSlots(barber.getId(), service.getId(), date).isEmpty();
+    }
+
+    private Map<String, Boolean> availabilityByDay(Barber barber) {
+        return scheduleRepository.findByBarberId(barber.getId()).stream()
+                .collect(Collectors.toMap(Schedule::getDay, Schedule::isAvailable));
+    }
+
+    private void seedSchedule(Barber barber, String day) {
+        Schedule schedule = new Schedule();
+        schedule.setDay(day);
+        schedule.setStartTime(LocalTime.of(9, 0));
+        schedule.setEndTime(LocalTime.of(12, 0));
+        schedule.setAvailable(true);
+        schedule.setBarber(barber);
+        scheduleRepository.save(schedule);
+    }
+}
@@ -0,0 +1,141 @@
+package com.fadeapp.event;
+
+import com.fadeapp.TestData;
+import com.fadeapp.dto.SlotResponse;
+import com.fadeapp.model.Appointment;
+import com.fadeapp.model.Barber;
+import com.fadeapp.model.Barbershop;
+import com.fadeapp.model.Client;
+import com.fadeapp.model.EntityService;
+import com.fadeapp.model.Schedule;
+import com.fadeapp.repository.ScheduleRepository;
+import com.fadeapp.service.AppointmentService;
+import com.fadeapp.service.AvailabilityService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Reservar, cancelar y volver a reservar la misma hora pasando por los eventos. El oyente se
+ * retiene hasta que la prueba lo suelta, para que el día se construya desde la base de datos
+ * (ya con la cita) antes de que llegue su evento: la cita no debe contarse dos veces.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestData.class)
+class AvailabilityEventListenerTests {
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    @Autowired
+    private ScheduleRepository scheduleRepository;
+
+    @Autowired
+    private TestData data;
+
+    @MockitoSpyBean
+    private AvailabilityEventListener listener;
+
+    private final Semaphore gate = new Semaphore(0);
+    private final Semaphore delivered = new Semaphore(0);
+    private final LocalDate day = LocalDate.now().plusDays(1);
+
+    private Barbershop shop;
+    private Barber barber;
+    private EntityService service;
+    private Client client;
+
+    @BeforeEach
+    void seed() {
+        doAnswer(invocation -> {
+            gate.acquire();
+            try {
+                return invocation.callRealMethod();
+            } finally {
+                delivered.release();
+            }
+        }).when(listener).onEvent(any());
+
+        shop = data.seedBarbershop();
+        barber = data.seedBarber(shop);
+        service = data.seedService(shop);
+        client = data.seedClient();
+
+        Schedule schedule = new Schedule();
+        schedule.setDay(day.toString());
+        schedule.setStartTime(LocalTime.of(9, 0));
+        schedule.setEndTime(LocalTime.of(12, 0));
+        schedule.setAvailable(true);
+        schedule.setBarber(barber);
+        scheduleRepository.save(schedule);
+    }
+
+    @AfterEach
+    void releaseListener() {
+        gate.release(100);
+    }
+
+    @Test
+    void bookCancelAndRebookTheSameSlot() throws Exception {
+        LocalTime ten = LocalTime.of(10, 0);
+
+        Appointment first = appointmentService.createAppointment(request());
+        // 🔹 El día se construye con la cita ya confirmada y antes de que el oyente la registre
+        assertThat(starts()).doesNotContain(ten);
+        deliverNext();
+        assertThat(starts()).doesNotContain(ten);
+
+        appointmentService.updateStatus(first.getId(), "CANCELLED");
+        deliverNext();
+        assertThat(starts()).contains(ten);
+
+        Appointment second = appointmentService.createAppointment(request());
+        deliverNext();
+        assertThat(starts()).doesNotContain(ten);
+
+        appointmentService.updateStatus(second.getId(), "CANCELLED");
+        deliverNext();
+        assertThat(starts()).contains(ten);
+    }
+
+    // 🔹 Deja pasar un evento y espera a que el oyente termine de procesarlo
+    private void deliverNext() throws InterruptedException {
+        gate.release();
+        assertThat(delivered.tryAcquire(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private List<LocalTime> starts() {
+        return availabilityService.getAvailableSlots(barber.getId(), service.getId(), day).stream()
+                .map(SlotResponse::getStart)
+                .toList();
+    }
+
+    private Appointment request() {
+        Appointment appointment = new Appointment();
+        appointment.setDate(day.atTime(10, 0));
+        appointment.setClient(client);
+        appointment.setBarber(barber);
+        appointment.setBarbershop(shop);
+        appointment.setService(service);
+        return appointment;
+    }
+}
@@ -0,0 +1,114 @@
+package com.fadeapp.monitoring;
+
+import com.fadeapp.TestData;
+import com.fadeapp.model.Appointment;
+import com.fadeapp.model.Barber;
+import com.fadeapp.model.Barbershop;
+import com.fadeapp.model.Client;
+import com.fadeapp.model.EntityService;
+import com.fadeapp.repository.AppointmentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Sentencias SQL por endpoint, fijadas para que un N+1 nuevo rompa la prueba. Cada barbero
+ * sembrado tiene un historial de citas: los conteos no deben depender de su tamaño.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(TestData.class)
+class EndpointSqlStatementTests {
+
+    private static final int HISTORY = 40;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private TestData data;
+
+    private Barbershop shop;
+    private Barber barber;
+    private List<Appointment> history;
+
+    @BeforeEach
+    void seed() {
+        shop = data.seedBarbershop();
+        barber = data.seedBarber(shop);
+        EntityService service = data.seedService(shop);
+        Client client = data.seedClient();
+
+        List<Appointment> appointments = new ArrayList<>();
+        LocalDateTime first = LocalDate.now().minusDays(HISTORY).atTime(10, 0);
+        for (int i = 0; i < HISTORY; i++) {
+            Appointment appointment = new Appointment();
+            appointment.setDate(first.plusDays(i));
+            appointment.setEndDate(first.plusDays(i).plusMinutes(30));
+            appointment.setClient(client);
+            appointment.setBarber(barber);
+            appointment.setBarbershop(shop);
+            appointment.setService(service);
+            appointments.add(appointment);
+        }
+        history = appointmentRepository.saveAll(appointments);
+    }
+
+    @Test
+    void barbershopDetailIsServedFromTheCatalogCache() throws Exception {
+        mockMvc.perform(get("/api/barbershops/{id}", shop.getId()))
+                .andExpect(status().isOk())
+                .andExpect(SqlStatements.count(3));
+        mockMvc.perform(get("/api/barbershops/{id}", shop.getId()))
+                .andExpect(status().isOk())
+                .andExpect(SqlStatements.count(0));
+    }
+
+    @Test
+    void availableSchedulesUseOneStatement() throws Exception {
+        mockMvc.perform(get("/api/barbershops/{id}/schedules", shop.getId()))
+                .andExpect(status().isOk())
+                .andExpect(SqlStatements.count(1));
+    }
+
+    @Test
+    void cancellingDoesNotLoadTheHistory() throws Exception {
+        mockMvc.perform(put("/api/appointments/{id}/status", history.get(0).getId())
+                        .param("status", "CANCELLED")
+                        .with(user("client@fadeapp.test")))
+                .andExpect(status().isOk())
+                .andExpect(SqlStatements.count(2));
+    }
+
+    @Test
+    void deletingABarberChecksAppointmentsWithoutLoadingThem() throws Exception {
+        mockMvc.perform(delete("/api/barbershops/barbers/{barberId}", barber.getId()))
+                .andExpect(status().isBadRequest())
+                .andExpect(SqlStatements.count(2));
+
+        Barber idle = data.seedBarber(shop);
+        mockMvc.perform(delete("/api/barbershops/barbers/{barberId}", idle.getId()))
+                .andExpect(status().isOk())
+                .andExpect(SqlStatements.count(6));
+    }
+}
@@ -0,0 +1,41 @@
+package com.fadeapp.monitoring;
+
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Aserciones de MockMvc sobre las sentencias SQL que ejecutó una petición, leídas de lo que
+ * SqlBudgetFilter deja en la petición. Requiere @AutoConfigureMockMvc (que registra los filtros):
+ * <pre>
+ * mockMvc.perform(get("/api/barbershops/{id}", id)).andExpect(SqlStatements.count(3));
+ * </pre>
+ */
+public final class SqlStatements {
+
+    private SqlStatements() {
+    }
+
+    public static ResultMatcher count(int expected) {
+        return result -> assertThat(of(result).statements())
+                .as("sentencias SQL de %s", describe(result))
+                .isEqualTo(expected);
+    }
+
+    public static ResultMatcher atMost(int max) {
+        return result -> assertThat(of(result).statements())
+                .as("sentencias SQL de %s", describe(result))
+                .isLessThanOrEqualTo(max);
+    }
+
+    public static SqlRequestStats of(MvcResult result) {
+        Object stats = result.getRequest().getAttribute(SqlRequestStats.ATTRIBUTE);
+        assertThat(stats).as("SqlBudgetFilter no pasó por la petición").isInstanceOf(SqlRequestStats.class);
+        return (SqlRequestStats) stats;
+    }
+
+    private static String describe(MvcResult result) {
+        return result.getRequest().getMethod() + " " + result.getRequest().getRequestURI();
+    }
+}
@@ -0,0 +1,76 @@
+package com.fadeapp.security;
+
+import com.fadeapp.TestData;
+import com.fadeapp.model.Client;
+import com.fadeapp.service.AuthService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Las estadísticas de la caché del catálogo exigen sesión aunque estén bajo /api/barbershops:
+ * el filtro JWT debe leer el token en esa ruta y dejar pública solo la del catálogo.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CatalogStatsSecurityTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Test
+    void statsAnswerWithAValidToken() throws Exception {
+        String token = jwtUtils.generateToken(registerClient().getEmail(), "CLIENT");
+
+        mockMvc.perform(stats().header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isMap());
+    }
+
+    @Test
+    void statsAreRejectedWithoutAToken() throws Exception {
+        mockMvc.perform(stats())
+                .andExpect(status().is4xxClientError());
+        mockMvc.perform(stats().header(HttpHeaders.AUTHORIZATION, "Bearer invalido"))
+                .andExpect(status().is4xxClientError());
+    }
+
+    @Test
+    void restOfTheCatalogStaysPublic() throws Exception {
+        mockMvc.perform(get("/api/barbershops").servletPath("/api/barbershops"))
+                .andExpect(status().isOk());
+    }
+
+    // El filtro decide por getServletPath(): con el DispatcherServlet en "/" es la ruta completa,
+    // pero MockMvc lo deja vacío si no se indica
+    private static MockHttpServletRequestBuilder stats() {
+        return get("/api/barbershops/catalog/stats").servletPath("/api/barbershops/catalog/stats");
+    }
+
+    private Client registerClient() {
+        Client client = new Client();
+        client.setFirstName("Ana");
+        client.setLastName("Gómez");
+        client.setEmail(TestData.unique("client"));
+        client.setPassword(TestData.PASSWORD);
+        client.setPhone("3001234567");
+        client.setCity("Bogotá");
+        return authService.registerClient(client);
+    }
+}
@@ -0,0 +1,158 @@
+package com.fadeapp.security;
+
+import com.fadeapp.TestData;
+import com.fadeapp.dto.LoginRequest;
+import com.fadeapp.model.Account;
+import com.fadeapp.model.Client;
+import com.fadeapp.service.AccountService;
+import com.fadeapp.service.AuthService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pool de hashing con un hilo y cola de uno: 503 con Retry-After al llenarse, rehash en
+ * segundo plano tras un cambio de costo y correos desconocidos que no gastan un hash.
+ */
+@SpringBootTest(properties = {
+        "fadeapp.security.bcrypt.strength=4",
+        "fadeapp.security.hashing.threads=1",
+        "fadeapp.security.hashing.queue-capacity=1"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PasswordHashingTests {
+
+    private static final int STRENGTH = 4;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private PasswordHasher passwordHasher;
+
+    @MockitoSpyBean
+    private PasswordEncoder passwordEncoder;
+
+    @Test
+    void needsRehashWhenTheCostDiffers() {
+        assertThat(passwordHasher.needsRehash(new BCryptPasswordEncoder(STRENGTH).encode("secret"))).isFalse();
+        assertThat(passwordHasher.needsRehash(new BCryptPasswordEncoder(5).encode("secret"))).isTrue();
+        assertThat(passwordHasher.needsRehash("secret")).isTrue();
+        assertThat(passwordHasher.needsRehash(null)).isFalse();
+    }
+
+    @Test
+    void fullQueueAnswers503WithRetryAfter() throws Exception {
+        Client client = registerClient();
+
+        // 🔹 Un hash ocupa el único hilo y otro la cola
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return invocation.callRealMethod();
+        }).when(passwordEncoder).encode(any());
+        CompletableFuture<String> running = passwordHasher.encodeAsync("a");
+        started.await();
+        CompletableFuture<String> queued = passwordHasher.encodeAsync("b");
+
+        try {
+            for (String email : List.of(client.getEmail(), TestData.unique("unknown"))) {
+                mockMvc.perform(post("/api/auth/login")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(loginJson(email)))
+                        .andExpect(status().isServiceUnavailable())
+                        .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+            }
+        } finally {
+            release.countDown();
+            CompletableFuture.allOf(running, queued).join();
+        }
+    }
+
+    @Test
+    void loginRehashesAPasswordWithAnotherCost() throws Exception {
+        Client client = registerClient();
+        Account account = accountService.findByEmail(client.getEmail()).orElseThrow();
+        accountService.updatePassword(account, new BCryptPasswordEncoder(5).encode(TestData.PASSWORD));
+
+        authService.login(loginRequest(client.getEmail()));
+
+        // 🔹 El rehash es asíncrono: esperar a que la cuenta quede con el costo actual
+        String password = null;
+        for (int i = 0; i < 100; i++) {
+            password = accountService.findByEmail(client.getEmail()).orElseThrow().getPassword();
+            if (!passwordHasher.needsRehash(password)) {
+                break;
+            }
+            Thread.sleep(50);
+        }
+        assertThat(password).startsWith("$2a$0" + STRENGTH + "$");
+        assertThat(passwordEncoder.matches(TestData.PASSWORD, password)).isTrue();
+    }
+
+    @Test
+    void unknownEmailFailsWithoutHashing() {
+        // Sin la calibración del arranque, que sí compara un hash
+        clearInvocations(passwordEncoder);
+
+        assertThatThrownBy(() -> authService.login(loginRequest(TestData.unique("unknown"))))
+                .hasMessage("Credenciales inválidas");
+
+        verify(passwordEncoder, never()).matches(any(), any());
+    }
+
+    // 🔹 Registro por AuthService, para que la cuenta exista con la contraseña hasheada
+    private Client registerClient() {
+        Client client = new Client();
+        client.setFirstName("Ana");
+        client.setLastName("Gómez");
+        client.setEmail(TestData.unique("client"));
+        client.setPassword(TestData.PASSWORD);
+        client.setPhone("3001234567");
+        client.setCity("Bogotá");
+        return authService.registerClient(client);
+    }
+
+    private static LoginRequest loginRequest(String email) {
+        LoginRequest request = new LoginRequest();
+        request.setEmail(email);
+        request.setPassword(TestData.PASSWORD);
+        return request;
+    }
+
+    private static String loginJson(String email) {
+        return "{\"email\":\"" + email + "\",\"password\":\"" + TestData.PASSWORD + "\"}";
+    }
+}
@@ -0,0 +1,76 @@
+package com.fadeapp.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Una carga que leyó la cuenta antes de una invalidación no vuelve a dejarla en caché,
+ * ni siquiera cuando la invalidación llega después del commit.
+ */
+class PrincipalCacheTests {
+
+    private static final String EMAIL = "ana@fadeapp.test";
+
+    private final PrincipalCache cache = new PrincipalCache(100, Duration.ofMinutes(5));
+
+    @Test
+    void loadStartedBeforeAnEvictionIsNotCached() {
+        long stamp = cache.stamp();
+        cache.evict(EMAIL);
+
+        cache.put(EMAIL, user("vieja"), stamp);
+
+        assertThat(cache.get(EMAIL)).isNull();
+    }
+
+    @Test
+    void loadStartedBeforeTheCommitIsDiscardedByTheSecondEviction() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.evict(EMAIL);
+            // 🔹 Lectura antes del commit: todavía ve la contraseña vieja
+            long stamp = cache.stamp();
+
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCommit();
+            }
+            cache.put(EMAIL, user("vieja"), stamp);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(cache.get(EMAIL)).isNull();
+    }
+
+    @Test
+    void loadStartedAfterTheEvictionIsCached() {
+        cache.evict(EMAIL);
+        long stamp = cache.stamp();
+
+        cache.put(EMAIL, user("nueva"), stamp);
+
+        assertThat(cache.get(EMAIL).getPassword()).isEqualTo("nueva");
+    }
+
+    @Test
+    void loadOlderThanTheTtlIsNotCached() throws InterruptedException {
+        PrincipalCache shortLived = new PrincipalCache(100, Duration.ofMillis(20));
+        long stamp = shortLived.stamp();
+        Thread.sleep(40);
+
+        shortLived.put(EMAIL, user("vieja"), stamp);
+
+        assertThat(shortLived.get(EMAIL)).isNull();
+    }
+
+    private static UserDetails user(String password) {
+        return User.withUsername(EMAIL).password(password).roles("CLIENT").build();
+    }
+}
@@ -0,0 +1,194 @@
+package com.fadeapp.serviceImpl;
+
+import com.fadeapp.TestData;
+import com.fadeapp.model.Appointment;
+import com.fadeapp.model.Barber;
+import com.fadeapp.model.Barbershop;
+import com.fadeapp.model.Client;
+import com.fadeapp.model.EntityService;
+import com.fadeapp.repository.AppointmentRepository;
+import com.fadeapp.service.AppointmentService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Prueba de carga: cientos de reservas simultáneas para la misma hora de un barbero
+ * deben dejar exactamente una cita, sin rechazar las reservas de otros barberos.
+ * Reactivar citas canceladas pasa por el mismo bloqueo y la misma verificación.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestData.class)
+class AppointmentBookingConcurrencyTests {
+
+    private static final int ATTEMPTS = 200;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private TestData data;
+
+    @Test
+    void onlyOneBookingWinsTheSameSlot() throws Exception {
+        Barbershop shop = data.seedBarbershop();
+        Barber barber = data.seedBarber(shop);
+        EntityService service = data.seedService(shop);
+        Client client = data.seedClient();
+        LocalDateTime slot = LocalDate.now().plusDays(1).atTime(10, 0);
+
+        List<Callable<Appointment>> tasks = new ArrayList<>();
+        for (int i = 0; i < ATTEMPTS; i++) {
+            // Mitad a la hora exacta, mitad desplazadas 15 min (se cruzan con la de 30 min)
+            LocalDateTime start = (i % 2 == 0) ? slot : slot.plusMinutes(15);
+            tasks.add(() -> appointmentService.createAppointment(request(client, barber, shop, service, start)));
+        }
+
+        Outcome outcome = runConcurrently(tasks);
+
+        assertThat(outcome.succeeded).isEqualTo(1);
+        assertThat(outcome.failures).hasSize(ATTEMPTS - 1)
+                .allMatch(message -> message.equals("El barbero ya tiene una cita en ese horario"));
+        assertThat(appointmentRepository.findByBarberId(barber.getId())).hasSize(1);
+    }
+
+    @Test
+    void otherBarbersStillBookWhileOneSlotIsContended() throws Exception {
+        Barbershop shop = data.seedBarbershop();
+        EntityService service = data.seedService(shop);
+        Client client = data.seedClient();
+        LocalDateTime day = LocalDate.now().plusDays(2).atTime(8, 0);
+
+        Barber contended = data.seedBarber(shop);
+        List<Barber> others = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            others.add(data.seedBarber(shop));
+        }
+
+        List<Callable<Appointment>> tasks = new ArrayList<>();
+        for (int i = 0; i < ATTEMPTS; i++) {
+            tasks.add(() -> appointmentService.createAppointment(request(client, contended, shop, service, day)));
+        }
+        // Cada barbero libre recibe 20 reservas en horas distintas que no se cruzan
+        for (Barber other : others) {
+            for (int slot = 0; slot < 20; slot++) {
+                LocalDateTime start = day.plusMinutes(30L * slot);
+                tasks.add(() -> appointmentService.createAppointment(request(client, other, shop, service, start)));
+            }
+        }
+
+        Outcome outcome = runConcurrently(tasks);
+
+        assertThat(outcome.succeeded).isEqualTo(1 + others.size() * 20);
+        assertThat(outcome.failures).hasSize(ATTEMPTS - 1);
+        assertThat(appointmentRepository.findByBarberId(contended.getId())).hasSize(1);
+        for (Barber other : others) {
+            assertThat(appointmentRepository.findByBarberId(other.getId())).hasSize(20);
+        }
+    }
+
+    @Test
+    void reactivatingACancelledAppointmentCannotDoubleBook() throws Exception {
+        Barbershop shop = data.seedBarbershop();
+        Barber barber = data.seedBarber(shop);
+        EntityService service = data.seedService(shop);
+        Client client = data.seedClient();
+        LocalDateTime slot = LocalDate.now().plusDays(3).atTime(10, 0);
+
+        // 🔹 Varias citas canceladas para la misma hora, que se reactivan a la vez
+        List<Long> cancelled = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Appointment appointment = appointmentService.createAppointment(request(client, barber, shop, service, slot));
+            appointmentService.updateStatus(appointment.getId(), "CANCELLED");
+            cancelled.add(appointment.getId());
+        }
+
+        List<Callable<Appointment>> tasks = new ArrayList<>();
+        for (Long id : cancelled) {
+            tasks.add(() -> appointmentService.updateStatus(id, "CONFIRMED"));
+        }
+        Outcome outcome = runConcurrently(tasks);
+
+        assertThat(outcome.succeeded).isEqualTo(1);
+        assertThat(outcome.failures).hasSize(cancelled.size() - 1)
+                .allMatch(message -> message.equals("El barbero ya tiene una cita en ese horario"));
+        assertThat(appointmentRepository.findByBarberId(barber.getId()))
+                .filteredOn(a -> !"CANCELLED".equals(a.getStatus()))
+                .hasSize(1);
+
+        // Con la hora ya ocupada, tampoco se puede reservar de nuevo
+        Outcome rebook = runConcurrently(List.of(
+                () -> appointmentService.createAppointment(request(client, barber, shop, service, slot))));
+        assertThat(rebook.succeeded).isZero();
+    }
+
+    private record Outcome(int succeeded, List<String> failures) {
+    }
+
+    // 🔹 Lanza todas las tareas a la vez (todas esperan la misma señal de salida)
+    private Outcome runConcurrently(List<Callable<Appointment>> tasks) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(64);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Appointment>> futures = new ArrayList<>();
+            for (Callable<Appointment> task : tasks) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+
+            int succeeded = 0;
+            List<String> failures = new ArrayList<>();
+            for (Future<Appointment> future : futures) {
+                try {
+                    future.get();
+                    succeeded++;
+                } catch (ExecutionException e) {
+                    failures.add(e.getCause().getMessage());
+                }
+            }
+            return new Outcome(succeeded, failures);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Appointment request(Client client, Barber barber, Barbershop shop, EntityService service, LocalDateTime date) {
+        Appointment appointment = new Appointment();
+        appointment.setDate(date);
+        appointment.setClient(reference(new Client(), client.getId()));
+        appointment.setBarber(reference(new Barber(), barber.getId()));
+        appointment.setBarbershop(reference(new Barbershop(), shop.getId()));
+        appointment.setService(reference(new EntityService(), service.getId()));
+        return appointment;
+    }
+
+    private <T> T reference(T entity, Long id) {
+        if (entity instanceof Client c) c.setId(id);
+        if (entity instanceof Barber b) b.setId(id);
+        if (entity instanceof Barbershop s) s.setId(id);
+        if (entity instanceof EntityService e) e.setId(id);
+        return entity;
+    }
+}
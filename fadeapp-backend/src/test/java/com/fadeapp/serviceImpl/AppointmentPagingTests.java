@@ -0,0 +1,159 @@
+package com.fadeapp.serviceImpl;
+
+import com.fadeapp.TestData;
+import com.fadeapp.dto.AppointmentDto;
+import com.fadeapp.dto.AppointmentQuery;
+import com.fadeapp.dto.PageResponse;
+import com.fadeapp.model.Appointment;
+import com.fadeapp.model.Barber;
+import com.fadeapp.model.Barbershop;
+import com.fadeapp.model.Client;
+import com.fadeapp.model.EntityService;
+import com.fadeapp.repository.AppointmentRepository;
+import com.fadeapp.service.AppointmentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Paginación por cursor (date, id) de las citas: varias citas a la misma hora no se saltan
+ * ni se repiten al cortar la página entre ellas, la última página no trae cursor y los
+ * filtros de rango y estado se respetan en todas las páginas.
+ * Las citas se guardan con el repositorio: la paginación no mira cruces de horario.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestData.class)
+class AppointmentPagingTests {
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private TestData data;
+
+    private final LocalDate day = LocalDate.now().plusDays(1);
+
+    private Barbershop shop;
+    private Barber barber;
+    private Client client;
+    private final List<AppointmentDto> saved = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        shop = data.seedBarbershop();
+        barber = data.seedBarber(shop);
+        Barber other = data.seedBarber(shop);
+        EntityService service = data.seedService(shop);
+        client = data.seedClient();
+
+        // 🔹 Siete citas a las 10:00 (la página de 3 se corta dos veces dentro del grupo) y otras antes y después
+        String[] statuses = {"PENDING", "CONFIRMED", "CANCELLED"};
+        for (int i = 0; i < 7; i++) {
+            save(day.atTime(10, 0), (i % 2 == 0) ? barber : other, statuses[i % 3], service);
+        }
+        save(day.atTime(9, 0), barber, "CONFIRMED", service);
+        save(day.atTime(11, 0), other, "PENDING", service);
+        save(day.plusDays(1).atTime(9, 0), barber, "CONFIRMED", service);
+    }
+
+    @Test
+    void equalTimestampsArePagedWithoutGapsOrDuplicates() {
+        List<AppointmentDto> all = readAll(query -> appointmentService.getAppointmentsPageByBarbershop(shop.getId(), query),
+                new AppointmentQuery(), 3);
+
+        assertThat(ids(all)).containsExactlyElementsOf(expected(a -> true));
+    }
+
+    @Test
+    void rangeAndStatusFiltersHoldOnEveryPage() {
+        AppointmentQuery range = new AppointmentQuery();
+        range.setFrom(day.atTime(10, 0));
+        range.setTo(day.atTime(11, 0));
+        assertThat(ids(readAll(query -> appointmentService.getAppointmentsPageByBarbershop(shop.getId(), query), range, 2)))
+                .containsExactlyElementsOf(expected(a -> a.date().equals(day.atTime(10, 0))));
+
+        AppointmentQuery confirmed = new AppointmentQuery();
+        confirmed.setStatus("confirmed");
+        assertThat(ids(readAll(query -> appointmentService.getAppointmentsPageByBarber(barber.getId(), query), confirmed, 1)))
+                .containsExactlyElementsOf(expected(a -> a.barber().id().equals(barber.getId())
+                        && a.status().equals("CONFIRMED")));
+
+        AppointmentQuery both = new AppointmentQuery();
+        both.setFrom(day.atStartOfDay());
+        both.setTo(day.plusDays(1).atStartOfDay());
+        both.setStatus("PENDING");
+        assertThat(ids(readAll(query -> appointmentService.getAppointmentsPageByClient(client.getId(), query), both, 2)))
+                .containsExactlyElementsOf(expected(a -> a.date().toLocalDate().equals(day)
+                        && a.status().equals("PENDING")));
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        AppointmentQuery query = new AppointmentQuery();
+        query.setLimit(saved.size());
+
+        PageResponse<AppointmentDto> page = appointmentService.getAppointmentsPageByBarbershop(shop.getId(), query);
+
+        assertThat(page.getItems()).hasSize(saved.size());
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    // 🔹 Sigue los cursores hasta la última página; cada página llena salvo la última, que no trae cursor
+    private static List<AppointmentDto> readAll(Function<AppointmentQuery, PageResponse<AppointmentDto>> fetch,
+                                                AppointmentQuery query, int limit) {
+        List<AppointmentDto> all = new ArrayList<>();
+        query.setLimit(limit);
+        for (int pages = 0; pages < 50; pages++) {
+            PageResponse<AppointmentDto> page = fetch.apply(query);
+            all.addAll(page.getItems());
+            if (page.getNextCursor() == null) {
+                assertThat(page.getItems().size()).isLessThanOrEqualTo(limit);
+                return all;
+            }
+            assertThat(page.getItems()).hasSize(limit);
+            query.setCursor(page.getNextCursor());
+        }
+        throw new AssertionError("La paginación no terminó");
+    }
+
+    private List<Long> expected(Predicate<AppointmentDto> filter) {
+        return ids(saved.stream()
+                .filter(filter)
+                .sorted(Comparator.comparing(AppointmentDto::date).thenComparing(AppointmentDto::id))
+                .toList());
+    }
+
+    private static List<Long> ids(List<AppointmentDto> appointments) {
+        return appointments.stream().map(AppointmentDto::id).toList();
+    }
+
+    private void save(LocalDateTime start, Barber owner, String status, EntityService service) {
+        Appointment appointment = new Appointment();
+        appointment.setDate(start);
+        appointment.setStatus(status);
+        appointment.setClient(client);
+        appointment.setBarber(owner);
+        appointment.setBarbershop(shop);
+        appointment.setService(service);
+        Appointment stored = appointmentRepository.save(appointment);
+        saved.add(new AppointmentDto(stored.getId(), start, stored.getEndDate(), status, null,
+                new AppointmentDto.Ref(owner.getId(), null), null, null));
+    }
+}
@@ -0,0 +1,81 @@
+package com.fadeapp.serviceImpl;
+
+import com.fadeapp.TestData;
+import com.fadeapp.dto.ScheduleDto;
+import com.fadeapp.model.Barber;
+import com.fadeapp.model.Barbershop;
+import com.fadeapp.model.Schedule;
+import com.fadeapp.repository.ScheduleRepository;
+import com.fadeapp.service.BarbershopService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Regresión del N+1: los horarios disponibles de una barbería se leen con una sola
+ * sentencia SQL, sin importar cuántos barberos tenga.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestData.class)
+class BarbershopScheduleQueryTests {
+
+    private static final int BARBERS = 8;
+    private static final int SCHEDULES_PER_BARBER = 3;
+
+    @Autowired
+    private BarbershopService barbershopService;
+
+    @Autowired
+    private TestData data;
+
+    @Autowired
+    private ScheduleRepository scheduleRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void availableSchedulesAreLoadedWithASingleStatement() {
+        Barbershop shop = data.seedBarbershop();
+        for (int i = 0; i < BARBERS; i++) {
+            Barber barber = data.seedBarber(shop);
+            for (int j = 0; j < SCHEDULES_PER_BARBER; j++) {
+                seedSchedule(barber, LocalTime.of(9 + j, 0), true);
+            }
+            // Un horario bloqueado por barbero que no debe aparecer
+            seedSchedule(barber, LocalTime.of(17, 0), false);
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        var schedules = barbershopService.getAvailableSchedules(shop.getId());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(schedules).hasSize(BARBERS * SCHEDULES_PER_BARBER)
+                .allMatch(ScheduleDto::available)
+                .allMatch(s -> s.barberId() != null);
+    }
+
+
+
+    private void seedSchedule(Barber barber, LocalTime start, boolean available) {
+        Schedule schedule = new Schedule();
+        schedule.setDay("Lunes");
+        schedule.setStartTime(start);
+        schedule.setEndTime(start.plusHours(1));
+        schedule.setAvailable(available);
+        schedule.setBarber(barber);
+        scheduleRepository.save(schedule);
+    }
+}
@@ -0,0 +1,100 @@
+package com.fadeapp.serviceImpl;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Bordes del mapa de un día: fin a las 00:00, turnos y horarios de barbería que cruzan la
+ * medianoche e intervalos vacíos. Ninguno debe fallar ni vaciar el día por error, y la
+ * madrugada de un turno nocturno pertenece al día siguiente.
+ */
+class DaySlotsTests {
+
+    private static final int HOUR = 60;
+
+    @Test
+    void endAtMidnightMeansEndOfDay() {
+        DaySlots slots = new DaySlots(1L);
+        slots.open(time(22), LocalTime.MIDNIGHT);
+
+        assertThat(slots.freeStarts(HOUR, HOUR, null)).containsExactly(time(22), time(23));
+    }
+
+    @Test
+    void overnightShiftOpensOnlyTheNightOfItsOwnDay() {
+        DaySlots slots = new DaySlots(1L);
+        slots.open(time(22), time(2));
+
+        assertThat(DaySlots.crossesMidnight(time(22), time(2))).isTrue();
+        assertThat(slots.freeStarts(HOUR, HOUR, null)).containsExactly(time(22), time(23));
+    }
+
+    @Test
+    void earlyMorningOfAnOvernightShiftOpensOnTheNextDay() {
+        DaySlots nextDay = new DaySlots(1L);
+        nextDay.openUntil(time(2));
+
+        assertThat(nextDay.freeStarts(HOUR, HOUR, null)).containsExactly(time(0), time(1));
+    }
+
+    @Test
+    void emptyIntervalOpensNothing() {
+        DaySlots slots = new DaySlots(1L);
+        slots.open(time(9), time(9));
+
+        assertThat(slots.freeStarts(HOUR, HOUR, null)).isEmpty();
+    }
+
+    @Test
+    void closingAtMidnightKeepsTheEvening() {
+        DaySlots slots = new DaySlots(1L);
+        slots.open(time(8), time(23));
+        slots.restrictTo(time(18), LocalTime.MIDNIGHT);
+
+        assertThat(slots.freeStarts(HOUR, HOUR, null)).containsExactly(time(18), time(19), time(20), time(21), time(22));
+    }
+
+    @Test
+    void overnightBarbershopHoursKeepNightAndEarlyMorning() {
+        DaySlots slots = new DaySlots(1L);
+        slots.open(LocalTime.MIDNIGHT, LocalTime.MIDNIGHT);
+        slots.restrictTo(time(20), time(3));
+
+        List<LocalTime> starts = slots.freeStarts(HOUR, HOUR, null);
+        assertThat(starts).containsExactly(time(0), time(1), time(2), time(20), time(21), time(22), time(23));
+    }
+
+    @Test
+    void bookingInsideAnOvernightShiftIsStillDetected() {
+        DaySlots slots = new DaySlots(1L);
+        slots.open(time(22), time(2));
+        slots.book(1L, time(23), 30);
+
+        assertThat(slots.isBooked(time(23), 30)).isTrue();
+        assertThat(slots.freeStarts(HOUR, HOUR, null)).containsExactly(time(22));
+    }
+
+    @Test
+    void sameAppointmentIsBookedAndReleasedOnce() {
+        DaySlots slots = new DaySlots(1L);
+        slots.open(time(9), time(12));
+
+        // Un día construido desde la base de datos ya incluye la cita cuando llega su evento
+        slots.book(7L, time(10), 30);
+        slots.book(7L, time(10), 30);
+        slots.release(7L, time(10), 30);
+
+        assertThat(slots.isBooked(time(10), 30)).isFalse();
+        slots.release(7L, time(10), 30);
+        slots.book(8L, time(10), 30);
+        assertThat(slots.isBooked(time(10), 30)).isTrue();
+    }
+
+    private static LocalTime time(int hour) {
+        return LocalTime.of(hour, 0);
+    }
+}
@@ -0,0 +1,115 @@
+package com.fadeapp.serviceImpl;
+
+import com.fadeapp.dto.BarbershopDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * La búsqueda por anillos debe devolver lo mismo que recorrer todas las barberías con el
+ * haversine, también junto al antimeridiano y cerca de los polos.
+ */
+class GeoGridTests {
+
+    // Zonas donde se agrupan barberías y consultas: ecuador, latitud media, antimeridiano y polos
+    private static final double[][] CENTERS = {
+            {0, 0}, {4.65, -74.08}, {60, 30}, {-33.9, 151.2}, {0, 179.99}, {10, -179.99}, {89.9, 0}, {-89.95, 120}
+    };
+
+    private final Random random = new Random(42);
+
+    @Test
+    void nearestMatchesABruteForceScan() {
+        List<BarbershopDto> barbershops = randomBarbershops(3000);
+        GeoGrid grid = new GeoGrid();
+        barbershops.forEach(grid::put);
+
+        for (int i = 0; i < 500; i++) {
+            double[] center = CENTERS[random.nextInt(CENTERS.length)];
+            double latitude = randomLatitude(center[0]);
+            double longitude = wrapLongitude(center[1] + random.nextGaussian() * 2);
+            // Radios chicos recorren anillos; los grandes, todas las celdas ocupadas
+            double radiusKm = random.nextBoolean() ? 0.5 + random.nextDouble() * 20 : 1 + random.nextDouble() * 300;
+            int limit = 1 + random.nextInt(20);
+            Predicate<BarbershopDto> filter = random.nextBoolean() ? b -> true : b -> b.id() % 3 != 0;
+
+            List<Long> expected = bruteForce(barbershops, latitude, longitude, radiusKm, limit, filter);
+            List<Long> actual = grid.nearest(latitude, longitude, radiusKm, limit, filter).stream()
+                    .map(hit -> hit.barbershop().id())
+                    .toList();
+
+            assertThat(actual)
+                    .as("(%f, %f) radio %f km, %d resultados", latitude, longitude, radiusKm, limit)
+                    .isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void findsBarbershopsAcrossTheAntimeridian() {
+        GeoGrid grid = new GeoGrid();
+        grid.put(barbershop(1L, -16.5, -179.995));
+        grid.put(barbershop(2L, -16.5, 179.995));
+
+        List<GeoGrid.Hit> hits = grid.nearest(-16.5, 179.999, 5, 10, b -> true);
+
+        assertThat(hits).extracting(hit -> hit.barbershop().id()).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void radiusAroundThePoleStillFindsEverything() {
+        GeoGrid grid = new GeoGrid();
+        grid.put(barbershop(1L, 89.99, 0));
+        grid.put(barbershop(2L, 89.99, 180));
+        grid.put(barbershop(3L, 89.7, 90));
+
+        List<GeoGrid.Hit> hits = grid.nearest(89.99, -90, 50, 10, b -> true);
+
+        assertThat(hits).extracting(hit -> hit.barbershop().id()).containsExactlyInAnyOrder(1L, 2L, 3L);
+    }
+
+    private List<BarbershopDto> randomBarbershops(int count) {
+        List<BarbershopDto> barbershops = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            double[] center = CENTERS[random.nextInt(CENTERS.length)];
+            barbershops.add(barbershop(id, randomLatitude(center[0]),
+                    wrapLongitude(center[1] + random.nextGaussian() * 2)));
+        }
+        return barbershops;
+    }
+
+    private static List<Long> bruteForce(List<BarbershopDto> barbershops, double latitude, double longitude,
+                                         double radiusKm, int limit, Predicate<BarbershopDto> filter) {
+        return barbershops.stream()
+                .filter(filter)
+                .map(b -> new GeoGrid.Hit(b, GeoGrid.distanceKm(latitude, longitude, b.latitude(), b.longitude())))
+                .filter(hit -> hit.distanceKm() <= radiusKm)
+                .sorted(Comparator.comparingDouble(GeoGrid.Hit::distanceKm))
+                .limit(limit)
+                .map(hit -> hit.barbershop().id())
+                .toList();
+    }
+
+    // Sin recortar a ±90: varias barberías justo en el polo empatarían en distancia
+    private double randomLatitude(double center) {
+        double latitude;
+        do {
+            latitude = center + random.nextGaussian();
+        } while (Math.abs(latitude) >= 90);
+        return latitude;
+    }
+
+    private static double wrapLongitude(double longitude) {
+        return ((longitude + 540) % 360) - 180;
+    }
+
+    private static BarbershopDto barbershop(Long id, double latitude, double longitude) {
+        return new BarbershopDto(id, "Barbería " + id, null, null, null, null, null, null,
+                latitude, longitude, true, 0);
+    }
+}
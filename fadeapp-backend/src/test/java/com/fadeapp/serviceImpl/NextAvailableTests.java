@@ -0,0 +1,137 @@
+package com.fadeapp.serviceImpl;
+
+import com.fadeapp.TestData;
+import com.fadeapp.dto.NextAvailableDto;
+import com.fadeapp.model.Appointment;
+import com.fadeapp.model.Barber;
+import com.fadeapp.model.Barbershop;
+import com.fadeapp.model.EntityService;
+import com.fadeapp.model.Schedule;
+import com.fadeapp.repository.AppointmentRepository;
+import com.fadeapp.repository.ScheduleRepository;
+import com.fadeapp.service.AvailabilityService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Primer turno libre por barbero: del más pronto al más tarde entre barberos, sin mirar más
+ * allá del horizonte y con los barberos sin espacio o sin horario al final.
+ * Los horarios usan fechas ISO a partir de mañana para no depender del día ni de la hora.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestData.class)
+class NextAvailableTests {
+
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    @Autowired
+    private ScheduleRepository scheduleRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private TestData data;
+
+    private final LocalDate today = LocalDate.now();
+
+    private Barbershop shop;
+    private EntityService service;
+    private Barber late;
+    private Barber early;
+    private Barber booked;
+    private Barber beyond;
+    private Barber unscheduled;
+
+    @BeforeEach
+    void seed() {
+        shop = data.seedBarbershop();
+        service = data.seedService(shop);
+
+        late = data.seedBarber(shop);
+        seedSchedule(late, today.plusDays(3), LocalTime.of(9, 0), LocalTime.of(12, 0));
+
+        early = data.seedBarber(shop);
+        seedSchedule(early, today.plusDays(1), LocalTime.of(15, 0), LocalTime.of(17, 0));
+
+        // 🔹 Su único turno de mañana ya está tomado: el primero libre es pasado mañana
+        booked = data.seedBarber(shop);
+        seedSchedule(booked, today.plusDays(1), LocalTime.of(10, 0), LocalTime.of(10, 30));
+        seedSchedule(booked, today.plusDays(2), LocalTime.of(11, 0), LocalTime.of(12, 0));
+        seedAppointment(booked, today.plusDays(1).atTime(10, 0));
+
+        beyond = data.seedBarber(shop);
+        seedSchedule(beyond, today.plusDays(5), LocalTime.of(9, 0), LocalTime.of(10, 0));
+
+        unscheduled = data.seedBarber(shop);
+    }
+
+    @Test
+    void earliestSlotComesFirstAcrossBarbers() {
+        List<NextAvailableDto> next = availabilityService.getNextAvailable(shop.getId(), service.getId(), 4);
+
+        assertThat(next.subList(0, 3))
+                .extracting(n -> n.barber().id(), NextAvailableDto::start)
+                .containsExactly(
+                        tuple(early.getId(), today.plusDays(1).atTime(15, 0)),
+                        tuple(booked.getId(), today.plusDays(2).atTime(11, 0)),
+                        tuple(late.getId(), today.plusDays(3).atTime(9, 0)));
+        assertThat(next.get(0).end()).isEqualTo(today.plusDays(1).atTime(15, 30));
+    }
+
+    @Test
+    void horizonCutsOffLaterSlotsAndUnavailableBarbersGoLast() {
+        List<NextAvailableDto> next = availabilityService.getNextAvailable(shop.getId(), service.getId(), 4);
+
+        assertThat(next).hasSize(5);
+        assertThat(next.subList(3, 5))
+                .allMatch(n -> n.start() == null && n.end() == null)
+                .extracting(n -> n.barber().id())
+                .containsExactlyInAnyOrder(beyond.getId(), unscheduled.getId());
+    }
+
+    @Test
+    void longerHorizonReachesTheLaterSlot() {
+        List<NextAvailableDto> next = availabilityService.getNextAvailable(shop.getId(), service.getId(), 6);
+
+        assertThat(next.get(3).barber().id()).isEqualTo(beyond.getId());
+        assertThat(next.get(3).start()).isEqualTo(today.plusDays(5).atTime(9, 0));
+        assertThat(next.get(4).barber().id()).isEqualTo(unscheduled.getId());
+        assertThat(next.get(4).start()).isNull();
+    }
+
+    private void seedSchedule(Barber barber, LocalDate day, LocalTime start, LocalTime end) {
+        Schedule schedule = new Schedule();
+        schedule.setDay(day.toString());
+        schedule.setStartTime(start);
+        schedule.setEndTime(end);
+        schedule.setAvailable(true);
+        schedule.setBarber(barber);
+        scheduleRepository.save(schedule);
+    }
+
+    private void seedAppointment(Barber barber, LocalDateTime start) {
+        Appointment appointment = new Appointment();
+        appointment.setDate(start);
+        appointment.setEndDate(start.plusMinutes(service.getDuration()));
+        appointment.setClient(data.seedClient());
+        appointment.setBarber(barber);
+        appointment.setBarbershop(shop);
+        appointment.setService(service);
+        appointmentRepository.save(appointment);
+    }
+}
@@ -0,0 +1,144 @@
+package com.fadeapp.serviceImpl;
+
+import com.fadeapp.TestData;
+import com.fadeapp.dto.NextAvailableDto;
+import com.fadeapp.dto.SlotResponse;
+import com.fadeapp.model.Appointment;
+import com.fadeapp.model.Barber;
+import com.fadeapp.model.Barbershop;
+import com.fadeapp.model.EntityService;
+import com.fadeapp.model.Schedule;
+import com.fadeapp.repository.AppointmentRepository;
+import com.fadeapp.repository.BarbershopRepository;
+import com.fadeapp.repository.ScheduleRepository;
+import com.fadeapp.repository.ServiceRepository;
+import com.fadeapp.service.AvailabilityService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Turnos y citas que cruzan la medianoche: la madrugada pertenece al día siguiente, tanto en
+ * los horarios de un barbero como en la lista de primeros turnos, y las citas ocupan lo que
+ * se reservó aunque después cambie la duración del servicio.
+ * Las citas se guardan con el repositorio (sin eventos) para no depender del oyente asíncrono.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestData.class)
+class OvernightAvailabilityTests {
+
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    @Autowired
+    private BarbershopRepository barbershopRepository;
+
+    @Autowired
+    private ScheduleRepository scheduleRepository;
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private TestData data;
+
+    private final LocalDate night = LocalDate.now().plusDays(1);
+    private final LocalDate morning = night.plusDays(1);
+
+    private Barbershop shop;
+    private Barber barber;
+    private EntityService service;
+
+    @BeforeEach
+    void seed() {
+        // 🔹 Barbería sin horario de atención: solo cuenta el turno de 22:00 a 02:00 del barbero
+        shop = data.seedBarbershop();
+        shop.setOpeningTime(null);
+        shop.setClosingTime(null);
+        shop = barbershopRepository.save(shop);
+
+        barber = data.seedBarber(shop);
+        service = data.seedService(shop);
+        service.setDuration(60);
+        service = serviceRepository.save(service);
+
+        Schedule schedule = new Schedule();
+        schedule.setDay(night.toString());
+        schedule.setStartTime(LocalTime.of(22, 0));
+        schedule.setEndTime(LocalTime.of(2, 0));
+        schedule.setAvailable(true);
+        schedule.setBarber(barber);
+        scheduleRepository.save(schedule);
+    }
+
+    @Test
+    void earlyMorningOfANightShiftBelongsToTheNextDay() {
+        assertThat(starts(night)).containsExactly(time(22, 0), time(22, 15), time(22, 30), time(22, 45), time(23, 0));
+        assertThat(starts(morning)).containsExactly(time(0, 0), time(0, 15), time(0, 30), time(0, 45), time(1, 0));
+        assertThat(starts(night.minusDays(1))).isEmpty();
+    }
+
+    @Test
+    void bookingAcrossMidnightBlocksTheNextMorning() {
+        book(night.atTime(22, 0));
+        book(night.atTime(23, 30));
+
+        // 🔹 El mismo resultado desde los dos caminos: lista de primeros turnos (en lote) y día a día
+        assertThat(firstFree()).isEqualTo(morning.atTime(0, 30));
+        assertThat(starts(night)).isEmpty();
+        assertThat(starts(morning)).containsExactly(time(0, 30), time(0, 45), time(1, 0));
+    }
+
+    @Test
+    void editingTheServiceDoesNotStretchExistingBookings() {
+        book(night.atTime(22, 0));
+        book(night.atTime(23, 30));
+
+        service.setDuration(90);
+        service = serviceRepository.save(service);
+
+        // La cita de las 23:30 sigue terminando a las 00:30: queda justo un turno de 90 minutos
+        assertThat(firstFree()).isEqualTo(morning.atTime(0, 30));
+        assertThat(starts(morning)).containsExactly(time(0, 30));
+    }
+
+    private List<LocalTime> starts(LocalDate date) {
+        return availabilityService.getAvailableSlots(barber.getId(), service.getId(), date).stream()
+                .map(SlotResponse::getStart)
+                .toList();
+    }
+
+    private LocalDateTime firstFree() {
+        List<NextAvailableDto> next = availabilityService.getNextAvailable(shop.getId(), service.getId(), 3);
+        assertThat(next).hasSize(1);
+        return next.get(0).start();
+    }
+
+    private void book(LocalDateTime start) {
+        Appointment appointment = new Appointment();
+        appointment.setDate(start);
+        appointment.setClient(data.seedClient());
+        appointment.setBarber(barber);
+        appointment.setBarbershop(shop);
+        appointment.setService(service);
+        appointmentRepository.save(appointment);
+    }
+
+    private static LocalTime time(int hour, int minute) {
+        return LocalTime.of(hour, minute);
+    }
+}
@@ -0,0 +1,92 @@
+package com.fadeapp.serviceImpl;
+
+import com.fadeapp.dto.ScheduleDto;
+import com.fadeapp.model.ScheduleDay;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cruces de horarios: los intervalos son [inicio, fin), así que los contiguos no se cruzan
+ * y los contenidos en otro sí; el día se compara ya normalizado.
+ */
+class ScheduleIntervalsTests {
+
+    private static final ScheduleDay MONDAY = ScheduleDay.parse("Lunes");
+
+    @Test
+    void adjacentIntervalsDoNotOverlap() {
+        ScheduleIntervals intervals = ScheduleIntervals.of(List.of(schedule(1L, "Lunes", 9, 12)), null);
+
+        assertThat(intervals.overlaps(MONDAY, time(12), time(14))).isFalse();
+        assertThat(intervals.overlaps(MONDAY, time(7), time(9))).isFalse();
+    }
+
+    @Test
+    void containedAndContainingIntervalsOverlap() {
+        ScheduleIntervals intervals = ScheduleIntervals.of(List.of(
+                schedule(1L, "Lunes", 9, 12),
+                schedule(2L, "lunes", 14, 18)), null);
+
+        assertThat(intervals.overlaps(MONDAY, time(10), time(11))).isTrue();
+        assertThat(intervals.overlaps(MONDAY, time(8), time(19))).isTrue();
+        assertThat(intervals.overlaps(MONDAY, time(11), time(15))).isTrue();
+        assertThat(intervals.overlaps(MONDAY, time(12), time(14))).isFalse();
+    }
+
+    @Test
+    void dayNamesAreNormalizedAndDatesAreSeparateDays() {
+        ScheduleIntervals intervals = ScheduleIntervals.of(List.of(
+                schedule(1L, "Miércoles", 9, 18),
+                schedule(2L, "2030-01-08", 9, 18)), null);
+
+        assertThat(intervals.overlaps(ScheduleDay.parse("miercoles"), time(10), time(11))).isTrue();
+        assertThat(intervals.overlaps(ScheduleDay.parse("WEDNESDAY"), time(10), time(11))).isTrue();
+        assertThat(intervals.overlaps(MONDAY, time(10), time(11))).isFalse();
+        assertThat(intervals.overlaps(ScheduleDay.parse("2030-01-08"), time(17), time(19))).isTrue();
+    }
+
+    @Test
+    void datesAreCheckedAgainstTheWeeklyScheduleOfTheirDay() {
+        // 2030-01-07 y 2020-01-06 son lunes, 2030-01-08 es martes
+        ScheduleIntervals intervals = ScheduleIntervals.of(List.of(
+                schedule(1L, "Lunes", 9, 12),
+                schedule(2L, "2030-01-08", 14, 18),
+                schedule(3L, "2020-01-06", 14, 18)), null);
+
+        assertThat(intervals.overlaps(ScheduleDay.parse("2030-01-07"), time(11), time(13))).isTrue();
+        assertThat(intervals.overlaps(ScheduleDay.parse("2030-01-07"), time(12), time(13))).isFalse();
+        assertThat(intervals.overlaps(ScheduleDay.parse("Martes"), time(17), time(19))).isTrue();
+        assertThat(intervals.overlaps(ScheduleDay.parse("Martes"), time(9), time(14))).isFalse();
+        // Una fecha ya pasada no se repite: no impide el horario semanal
+        assertThat(intervals.overlaps(MONDAY, time(14), time(18))).isFalse();
+    }
+
+    @Test
+    void editedScheduleIsExcludedAndMergedBlocksStayCorrect() {
+        ScheduleIntervals intervals = ScheduleIntervals.of(List.of(
+                schedule(1L, "Lunes", 9, 12),
+                schedule(2L, "Lunes", 11, 13)), 2L);
+
+        assertThat(intervals.overlaps(MONDAY, time(12), time(13))).isFalse();
+
+        intervals.add(MONDAY, time(12), time(13));
+        intervals.add(MONDAY, time(15), time(16));
+        intervals.add(MONDAY, time(8), time(15));
+
+        assertThat(intervals.overlaps(MONDAY, time(14), time(15))).isTrue();
+        assertThat(intervals.overlaps(MONDAY, time(16), time(17))).isFalse();
+        assertThat(intervals.overlaps(MONDAY, time(7), time(8))).isFalse();
+    }
+
+    private static ScheduleDto schedule(Long id, String day, int startHour, int endHour) {
+        return new ScheduleDto(id, day, time(startHour), time(endHour), true, 1L, 0);
+    }
+
+    private static LocalTime time(int hour) {
+        return LocalTime.of(hour, 0);
+    }
+}
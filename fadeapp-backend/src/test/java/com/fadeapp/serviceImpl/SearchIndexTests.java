@@ -0,0 +1,107 @@
+package com.fadeapp.serviceImpl;
+
+import com.fadeapp.dto.BarbershopDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Búsqueda del catálogo: normalización, todos los términos obligatorios, tolerancia a errores
+ * de tipeo según el largo del término y un índice sin restos tras reemplazar o borrar.
+ */
+class SearchIndexTests {
+
+    @Test
+    void prefixDistanceComparesWithTheClosestPrefix() {
+        assertThat(SearchIndex.prefixDistance("barb", "barberia", 1)).isZero();
+        assertThat(SearchIndex.prefixDistance("brab", "barberia", 1)).isEqualTo(1);
+        assertThat(SearchIndex.prefixDistance("barv", "barberia", 1)).isEqualTo(1);
+        assertThat(SearchIndex.prefixDistance("barbreia", "barberia", 2)).isEqualTo(1);
+        assertThat(SearchIndex.prefixDistance("bxrbxria", "barberia", 2)).isEqualTo(2);
+        // Por encima del tope devuelve tope + 1, también si el término indexado es demasiado corto
+        assertThat(SearchIndex.prefixDistance("bxrbxrix", "barberia", 2)).isEqualTo(3);
+        assertThat(SearchIndex.prefixDistance("barberia", "bar", 2)).isEqualTo(3);
+    }
+
+    @Test
+    void accentsAndCaseAreFolded() {
+        assertThat(SearchIndex.tokenize("Peluquería  ÑANDÚ-Estilo")).containsExactly("peluqueria", "nandu", "estilo");
+
+        SearchIndex index = new SearchIndex();
+        index.put(barbershop(1L, "Peluquería Ñandú", "Bogotá"), List.of());
+
+        assertThat(ids(index.search("PELUQUERIA nandu", 10))).containsExactly(1L);
+        assertThat(ids(index.search("bogota", 10))).containsExactly(1L);
+    }
+
+    @Test
+    void everyQueryTermMustMatch() {
+        SearchIndex index = new SearchIndex();
+        index.put(barbershop(1L, "Fade Central", "Bogotá"), List.of("Corte clásico"));
+        index.put(barbershop(2L, "Fade Norte", "Medellín"), List.of("Barba"));
+
+        assertThat(ids(index.search("fade", 10))).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(ids(index.search("fade bogota", 10))).containsExactly(1L);
+        assertThat(ids(index.search("fade barba", 10))).containsExactly(2L);
+        assertThat(index.search("fade cali", 10)).isEmpty();
+    }
+
+    @Test
+    void nameMatchesRankAboveCityMatches() {
+        SearchIndex index = new SearchIndex();
+        index.put(barbershop(1L, "Estilo Norte", "Bogotá"), List.of());
+        index.put(barbershop(2L, "Bogotá Barber", "Cali"), List.of());
+
+        assertThat(ids(index.search("bogota", 10))).containsExactly(2L, 1L);
+        assertThat(ids(index.search("bogota", 1))).containsExactly(2L);
+    }
+
+    @Test
+    void typoBudgetGrowsWithTermLength() {
+        SearchIndex index = new SearchIndex();
+        index.put(barbershop(1L, "Fade", "Cali"), List.of("Barberia"));
+
+        // Menos de 4 letras: sin errores
+        assertThat(index.search("fsd", 10)).isEmpty();
+        // De 4 a 7 letras: un error
+        assertThat(ids(index.search("fsde", 10))).containsExactly(1L);
+        assertThat(index.search("fsdw", 10)).isEmpty();
+        // Desde 8 letras: dos errores, con transposiciones
+        assertThat(ids(index.search("barbreia", 10))).containsExactly(1L);
+        assertThat(ids(index.search("bxrbxria", 10))).containsExactly(1L);
+        assertThat(index.search("bxrbxrix", 10)).isEmpty();
+    }
+
+    @Test
+    void reindexAndRemoveLeaveNoStalePostings() {
+        SearchIndex index = new SearchIndex();
+        index.put(barbershop(1L, "Fade Central", "Bogotá"), List.of("Corte"));
+        index.put(barbershop(1L, "Estilo Norte", "Bogotá"), List.of("Barba"));
+
+        assertThat(index.search("central", 10)).isEmpty();
+        assertThat(index.search("corte", 10)).isEmpty();
+        assertThat(ids(index.search("estilo", 10))).containsExactly(1L);
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.termCount()).isEqualTo(4);
+
+        index.remove(1L);
+        assertThat(index.search("estilo", 10)).isEmpty();
+        assertThat(index.size()).isZero();
+        assertThat(index.termCount()).isZero();
+
+        // El ordinal liberado se reutiliza sin arrastrar términos de la barbería anterior
+        index.put(barbershop(2L, "Barber Shop", "Cali"), List.of());
+        assertThat(ids(index.search("barber", 10))).containsExactly(2L);
+        assertThat(index.search("bogota", 10)).isEmpty();
+    }
+
+    private static List<Long> ids(List<BarbershopDto> barbershops) {
+        return barbershops.stream().map(BarbershopDto::id).toList();
+    }
+
+    private static BarbershopDto barbershop(Long id, String name, String city) {
+        return new BarbershopDto(id, name, null, city, null, null, null, null, null, null, true, 0);
+    }
+}